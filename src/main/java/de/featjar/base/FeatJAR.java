@@ -24,6 +24,7 @@ import de.featjar.base.cli.Commands;
 import de.featjar.base.cli.OptionList;
 import de.featjar.base.computation.Cache;
 import de.featjar.base.computation.FallbackCache;
+import de.featjar.base.data.Problem;
 import de.featjar.base.data.Result;
 import de.featjar.base.extension.AExtensionPoint;
 import de.featjar.base.extension.ExtensionManager;
@@ -181,6 +182,7 @@ public final class FeatJAR extends IO implements AutoCloseable {
             instance.log = null;
             instance.cache = null;
             instance = null;
+            Problem.setCaptureStackTraces(false);
         }
     }
 
@@ -208,6 +210,7 @@ public final class FeatJAR extends IO implements AutoCloseable {
         newLog.setConfiguration(configuration.logConfig);
         log = newLog;
         fallbackLog.flush(m -> log.log(m.getValue(), m.getKey()));
+        Problem.setCaptureStackTraces(configuration.logConfig.isLogging(Log.Verbosity.DEBUG));
 
         cache = getExtension(Cache.class).orElseGet(Cache::new);
         cache.setConfiguration(configuration.cacheConfig);
@@ -21,13 +21,22 @@
 package de.featjar.base.computation;
 
 import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Problem;
 import de.featjar.base.data.Result;
+import de.featjar.base.env.StackTrace;
 import de.featjar.base.tree.structure.ATree;
 import de.featjar.base.tree.structure.ITree;
+import java.io.Serializable;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -42,6 +51,9 @@ public abstract class AComputation<T> extends ATree<IComputation<?>> implements
 
     protected Cache cache = FeatJAR.cache();
 
+    protected long fingerprint;
+    protected boolean isFingerprintValid;
+
     protected AComputation(IComputation<?>... computations) {
         final Integer size = Dependency.getDependencyCount(getClass());
         assert size == computations.length;
@@ -86,7 +98,7 @@ public abstract class AComputation<T> extends ATree<IComputation<?>> implements
     protected AComputation(AComputation<T> other) {}
 
     protected final void checkCancel() {
-        if (Thread.interrupted()) {
+        if (Thread.interrupted() || ForkContext.isCancelled()) {
             throw new CancellationException();
         }
     }
@@ -99,9 +111,7 @@ public abstract class AComputation<T> extends ATree<IComputation<?>> implements
                 return cacheHit.get().get();
             }
         }
-        List<Result<?>> results = getChildren().stream()
-                .map(computation -> computation.computeResult(tryHitCache, tryWriteCache, progressSupplier))
-                .collect(Collectors.toList());
+        List<Result<?>> results = computeChildResults(tryHitCache, tryWriteCache, progressSupplier);
         Progress progress = progressSupplier.get();
         checkCancel();
         try {
@@ -115,6 +125,217 @@ public abstract class AComputation<T> extends ATree<IComputation<?>> implements
         }
     }
 
+    /**
+     * The context of computations forked into a fork/join pool.
+     * Carries a flag that cancels all computations forked on behalf of the same caller, as fork/join tasks do not see
+     * the caller's interrupts.
+     * If {@link Problem#isCaptureStackTraces() stack traces are captured}, also carries the stack trace of the forking
+     * thread, so the {@link Cache.CachePolicy cache policy} is decided as if the forked computations ran in the
+     * forking thread.
+     * Otherwise, the policy only sees the stack trace of the thread a forked computation runs in, as capturing the
+     * stack trace on every fork is expensive.
+     */
+    protected static final class ForkContext {
+        private static final ThreadLocal<ForkContext> currentContext = new ThreadLocal<>();
+
+        private final StackTrace stackTrace;
+        private final AtomicBoolean isCancelled;
+
+        private ForkContext(StackTrace stackTrace, AtomicBoolean isCancelled) {
+            this.stackTrace = stackTrace;
+            this.isCancelled = isCancelled;
+        }
+
+        /**
+         * {@return a context for forking computations from the current thread}
+         *
+         * @param isStackTraceNeeded whether the forked computations may query the cache policy
+         */
+        protected static ForkContext fork(boolean isStackTraceNeeded) {
+            ForkContext context = currentContext.get();
+            return new ForkContext(
+                    isStackTraceNeeded && Problem.isCaptureStackTraces() ? getStackTrace() : null,
+                    context != null ? context.isCancelled : new AtomicBoolean());
+        }
+
+        /**
+         * {@return the stack trace of the current thread, followed by that of the thread that forked it, if captured}
+         */
+        protected static StackTrace getStackTrace() {
+            StackTrace stackTrace = new StackTrace();
+            ForkContext context = currentContext.get();
+            return context != null && context.stackTrace != null ? stackTrace.append(context.stackTrace) : stackTrace;
+        }
+
+        /**
+         * {@return whether the computations forked on behalf of the current thread's caller have been cancelled}
+         */
+        protected static boolean isCancelled() {
+            ForkContext context = currentContext.get();
+            return context != null && context.isCancelled.get();
+        }
+
+        /**
+         * Cancels all computations forked on behalf of the same caller as this context.
+         */
+        protected void cancel() {
+            isCancelled.set(true);
+        }
+
+        /**
+         * {@return the value of the given supplier, called in this context}
+         *
+         * @param supplier the supplier
+         * @param <U>      the type of the value
+         * @throws CancellationException if this context has been cancelled
+         */
+        protected <U> U call(Supplier<U> supplier) {
+            if (isCancelled.get()) {
+                throw new CancellationException();
+            }
+            ForkContext previousContext = currentContext.get();
+            currentContext.set(this);
+            try {
+                return supplier.get();
+            } finally {
+                currentContext.set(previousContext);
+            }
+        }
+    }
+
+    /**
+     * Computes the result of a given computation in a fork/join task.
+     */
+    protected static class ComputeResultTask extends RecursiveTask<Result<?>> {
+        private static final long serialVersionUID = 1L;
+
+        private final IComputation<?> computation;
+        private final boolean tryHitCache;
+        private final boolean tryWriteCache;
+        private final transient Supplier<Progress> progressSupplier;
+        private final transient ForkContext context;
+
+        protected ComputeResultTask(
+                IComputation<?> computation,
+                boolean tryHitCache,
+                boolean tryWriteCache,
+                Supplier<Progress> progressSupplier,
+                ForkContext context) {
+            this.computation = computation;
+            this.tryHitCache = tryHitCache;
+            this.tryWriteCache = tryWriteCache;
+            this.progressSupplier = progressSupplier;
+            this.context = context;
+        }
+
+        @Override
+        protected Result<?> compute() {
+            return context.call(() -> computation.computeResult(tryHitCache, tryWriteCache, progressSupplier));
+        }
+    }
+
+    /**
+     * {@return the results of this computation's dependencies}
+     * If the cache configures a {@link Cache.Configuration#setForkJoinPool(ForkJoinPool) fork/join pool},
+     * all but the first dependency are forked as tasks in that pool, and the first is computed in the current thread.
+     * When the current thread is interrupted while waiting for the pool or a dependency throws an exception, all
+     * forked tasks are cancelled.
+     *
+     * @param tryHitCache      whether the cache should be queried for the dependencies
+     * @param tryWriteCache    whether the results of the dependencies should be cached
+     * @param progressSupplier the progress supplier
+     * @throws CancellationException if the current thread is interrupted while waiting for the pool
+     */
+    protected List<Result<?>> computeChildResults(
+            boolean tryHitCache, boolean tryWriteCache, Supplier<Progress> progressSupplier) {
+        List<? extends IComputation<?>> children = getChildren();
+        Cache.Configuration configuration = getCache().getConfiguration();
+        ForkJoinPool forkJoinPool = configuration != null ? configuration.forkJoinPool : null;
+        if (forkJoinPool == null || children.size() < 2) {
+            return children.stream()
+                    .map(computation -> computation.computeResult(tryHitCache, tryWriteCache, progressSupplier))
+                    .collect(Collectors.toList());
+        }
+        ForkContext context = ForkContext.fork(tryHitCache || tryWriteCache);
+        if (ForkJoinTask.getPool() != forkJoinPool) {
+            ForkJoinTask<List<Result<?>>> task = forkJoinPool.submit(
+                    () -> context.call(() -> computeChildResults(tryHitCache, tryWriteCache, progressSupplier)));
+            try {
+                return task.get();
+            } catch (InterruptedException e) {
+                context.cancel();
+                task.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new CancellationException();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        List<ComputeResultTask> tasks = new ArrayList<>(children.size() - 1);
+        for (int i = 1; i < children.size(); i++) {
+            ComputeResultTask task =
+                    new ComputeResultTask(children.get(i), tryHitCache, tryWriteCache, progressSupplier, context);
+            task.fork();
+            tasks.add(task);
+        }
+        List<Result<?>> results = new ArrayList<>(children.size());
+        boolean isCompleted = false;
+        try {
+            results.add(children.get(0).computeResult(tryHitCache, tryWriteCache, progressSupplier));
+            for (ComputeResultTask task : tasks) {
+                results.add(task.join());
+            }
+            isCompleted = true;
+        } finally {
+            if (!isCompleted) {
+                context.cancel();
+                tasks.forEach(task -> task.cancel(true));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * {@return a checkpoint for resuming this computation, as configured in the cache's configuration}
+     * Should be called in {@link #compute(List, Progress)}, which should then report its progress to
+     * {@link Checkpoint#getProgress()}.
+     *
+     * @param progress the progress passed to {@link #compute(List, Progress)}
+     * @param <S>      the type of the checkpointed state
+     */
+    protected <S extends Serializable> Checkpoint<S> checkpoint(Progress progress) {
+        Cache.Configuration configuration = getCache().getConfiguration();
+        return configuration != null
+                ? new Checkpoint<>(this, progress, configuration.checkpointStore, configuration.checkpointInterval)
+                : new Checkpoint<>(this, progress, null, Duration.ZERO);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Memoized until the children of this computation change.
+     * Like the hash code, it is not invalidated when a descendant changes.
+     */
+    @Override
+    public long getFingerprint() {
+        if (!isFingerprintValid) {
+            fingerprint = IComputation.super.getFingerprint();
+            isFingerprintValid = true;
+        }
+        return fingerprint;
+    }
+
+    @Override
+    protected void invalidateHashCode() {
+        super.invalidateHashCode();
+        isFingerprintValid = false;
+    }
+
     @Override
     public boolean equalsNode(IComputation<?> other) {
         return (getClass() == other.getClass());
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.base.data.Void;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+
+/**
+ * A computation that produces a (potentially huge) list of elements incrementally.
+ * Besides computing the entire list like any other computation, its elements can be
+ * {@link #publish(int, int) published} in chunks, so consumers can process them while they are produced.
+ * Publishing applies backpressure: When the consumers do not keep up, the production is blocked until they
+ * request more chunks.
+ * Thus, only a bounded number of chunks is held in memory at any time.
+ * Published elements are never cached.
+ *
+ * @param <T> the type of the list elements
+ */
+public abstract class AStreamComputation<T> extends AComputation<List<T>> {
+
+    /**
+     * The default number of elements per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    /**
+     * Collects produced elements into chunks and submits them to a publisher.
+     */
+    protected class ChunkEmitter implements Consumer<T> {
+        protected final SubmissionPublisher<List<T>> publisher;
+        protected final int chunkSize;
+        protected List<T> chunk;
+
+        protected ChunkEmitter(SubmissionPublisher<List<T>> publisher, int chunkSize) {
+            this.publisher = publisher;
+            this.chunkSize = chunkSize;
+            chunk = new ArrayList<>(chunkSize);
+        }
+
+        @Override
+        public void accept(T element) {
+            chunk.add(element);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Submits the current chunk, if it is not empty.
+         * Blocks while the publisher's buffer is full.
+         *
+         * @throws CancellationException if all subscribers have cancelled their subscriptions
+         */
+        protected void flush() {
+            if (publisher.isClosed() || !publisher.hasSubscribers()) {
+                throw new CancellationException();
+            }
+            if (!chunk.isEmpty()) {
+                publisher.submit(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+    }
+
+    protected AStreamComputation(IComputation<?>... computations) {
+        super(computations);
+    }
+
+    protected AStreamComputation(Object... computations) {
+        super(computations);
+    }
+
+    protected AStreamComputation(AStreamComputation<T> other) {
+        super(other);
+    }
+
+    /**
+     * Produces the elements of this computation's result and passes them to a given consumer in order.
+     * Should regularly call {@link #checkCancel()}.
+     *
+     * @param dependencyList the results of this computation's dependencies
+     * @param progress       the progress of this computation
+     * @param consumer       the consumer, which may block or throw a {@link CancellationException}
+     * @return a void result, or an empty result if the production failed
+     */
+    protected abstract Result<Void> produce(List<Object> dependencyList, Progress progress, Consumer<T> consumer);
+
+    @Override
+    public Result<List<T>> compute(List<Object> dependencyList, Progress progress) {
+        List<T> elements = new ArrayList<>();
+        Result<Void> result = produce(dependencyList, progress, elements::add);
+        return result.isPresent() ? Result.of(elements, result.getProblems()) : Result.empty(result.getProblems());
+    }
+
+    /**
+     * {@return a publisher of this computation's result in chunks of the default size}
+     */
+    public Flow.Publisher<List<T>> publish() {
+        return publish(DEFAULT_CHUNK_SIZE, Flow.defaultBufferSize());
+    }
+
+    /**
+     * {@return a publisher of this computation's result in chunks}
+     * Every subscriber receives the entire result, which is produced separately for each subscriber as soon as
+     * it subscribes.
+     * Dependencies are computed (and cached) as usual before the production starts.
+     * Production and delivery happen in the executor configured in the cache.
+     * If the production fails, the subscriber receives an error with the production's problems, and chunks that
+     * are still buffered at that point are dropped.
+     *
+     * @param chunkSize      the maximum number of elements per chunk
+     * @param bufferCapacity the maximum number of chunks buffered for the subscriber, rounded up to a power of two
+     */
+    public Flow.Publisher<List<T>> publish(int chunkSize, int bufferCapacity) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunk size must be positive");
+        }
+        return subscriber -> {
+            Executor executor = getExecutor();
+            SubmissionPublisher<List<T>> publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+            publisher.subscribe(subscriber);
+            executor.execute(() -> produce(publisher, chunkSize));
+        };
+    }
+
+    protected Executor getExecutor() {
+        Cache.Configuration configuration = getCache().getConfiguration();
+        return configuration != null && configuration.executor != null
+                ? configuration.executor
+                : ForkJoinPool.commonPool();
+    }
+
+    protected void produce(SubmissionPublisher<List<T>> publisher, int chunkSize) {
+        try {
+            Progress progress = new Progress();
+            Result<Void> result = mergeResults(computeChildResults(true, true, Progress::new))
+                    .flatMap(dependencyList -> {
+                        ChunkEmitter emitter = new ChunkEmitter(publisher, chunkSize);
+                        Result<Void> producedResult = produce(dependencyList, progress, emitter);
+                        if (producedResult.isPresent()) {
+                            emitter.flush();
+                        }
+                        return producedResult;
+                    });
+            if (result.isPresent()) {
+                publisher.close();
+            } else {
+                publisher.closeExceptionally(new RuntimeException(Problem.printProblems(result.getProblems())));
+            }
+        } catch (CancellationException e) {
+            publisher.close();
+        } catch (Exception e) {
+            publisher.closeExceptionally(e);
+        }
+    }
+}
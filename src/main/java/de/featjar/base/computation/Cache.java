@@ -21,25 +21,36 @@
 package de.featjar.base.computation;
 
 import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.CacheSnapshot.ResultCodec;
+import de.featjar.base.data.Pair;
 import de.featjar.base.data.Result;
 import de.featjar.base.env.IBrowsable;
 import de.featjar.base.env.StackTrace;
 import de.featjar.base.extension.IInitializer;
 import de.featjar.base.io.graphviz.GraphVizTreeFormat;
 import de.featjar.base.tree.structure.ITree;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
  * Caches computation results by storing a map of computations to their future results.
+ * The map is partitioned into {@link CacheShard shards} by computation class.
  *
  * @author Sebastian Krieter
  * @author Elias Kuiter
@@ -62,6 +73,8 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
         /**
          * Caches top-level computation results; that is, those not nested in other computations.
          * Nested computations are detected by checking if {@link IComputation#compute(DependencyList, Progress)} is already on the stack.
+         * For computations forked into a fork/join pool, the stack only includes that of the forking thread if
+         * {@link de.featjar.base.data.Problem#isCaptureStackTraces() stack traces are captured}.
          */
         CachePolicy CACHE_TOP_LEVEL =
                 (computation, stackTrace) -> !stackTrace.containsMethodCall(IComputation.class, "compute");
@@ -83,6 +96,34 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
 
         protected Executor executor = Executors.newCachedThreadPool();
 
+        protected ForkJoinPool forkJoinPool;
+
+        protected ICheckpointStore checkpointStore;
+
+        protected ComputationInterner interner;
+
+        protected Duration checkpointInterval = Duration.ofMinutes(1);
+
+        protected ResultCodec resultCodec = ResultCodec.SERIALIZABLE;
+
+        protected Path snapshotPath;
+
+        protected boolean snapshotMemoryMapped;
+
+        protected Duration timeToLive;
+
+        protected Duration refreshAfterWrite;
+
+        protected Duration failureBackoff;
+
+        protected Duration maximumFailureBackoff;
+
+        protected CacheShard.Configuration defaultShardConfiguration = new CacheShard.Configuration();
+
+        protected final Map<Class<?>, CacheShard.Configuration> shardConfigurations = new LinkedHashMap<>();
+
+        protected int localCacheSize;
+
         /**
          * Configures the cache policy.
          *
@@ -94,6 +135,48 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
             return this;
         }
 
+        /**
+         * Configures the shard for all computations that are not assigned to another shard.
+         *
+         * @param defaultShardConfiguration the shard configuration
+         * @return this configuration
+         */
+        public Configuration setDefaultShard(CacheShard.Configuration defaultShardConfiguration) {
+            this.defaultShardConfiguration = defaultShardConfiguration;
+            return this;
+        }
+
+        /**
+         * Configures a separate shard for computations of the given classes and their subclasses.
+         * Passing the same shard configuration again assigns further classes to the same shard.
+         *
+         * @param shardConfiguration the shard configuration
+         * @param computationClasses the computation classes
+         * @return this configuration
+         */
+        public Configuration setShard(CacheShard.Configuration shardConfiguration, Class<?>... computationClasses) {
+            for (Class<?> computationClass : computationClasses) {
+                shardConfigurations.put(computationClass, shardConfiguration);
+            }
+            return this;
+        }
+
+        /**
+         * Configures a small per-thread cache that is queried before the shared cache.
+         * It is looked up by identity and without locking, which speeds up threads that repeatedly query
+         * the same computation instances.
+         * Its entries are invalidated whenever an entry is removed from or replaced in the shared cache.
+         *
+         * @param localCacheSize the number of entries per thread, which is rounded up to a power of two,
+         *                       or {@code 0} to disable the per-thread cache
+         * @return this configuration
+         */
+        public Configuration setLocalCacheSize(int localCacheSize) {
+            this.localCacheSize =
+                    localCacheSize <= 1 ? Math.max(0, localCacheSize) : Integer.highestOneBit(localCacheSize - 1) << 1;
+            return this;
+        }
+
         /**
          * Configures the executor.
          *
@@ -104,6 +187,122 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
             this.executor = executor;
             return this;
         }
+
+        /**
+         * Configures a fork/join pool for synchronous computations.
+         * If set, {@link AComputation#computeResult(boolean, boolean, java.util.function.Supplier)} computes
+         * the dependencies of a computation in parallel in this pool instead of one after another.
+         *
+         * @param forkJoinPool the fork/join pool, or {@code null} to compute dependencies sequentially
+         * @return this configuration
+         */
+        public Configuration setForkJoinPool(ForkJoinPool forkJoinPool) {
+            this.forkJoinPool = forkJoinPool;
+            return this;
+        }
+
+        /**
+         * Configures the interner for {@link IComputation#intern() interning} computations.
+         *
+         * @param interner the interner, or {@code null} to disable interning
+         * @return this configuration
+         */
+        public Configuration setInterner(ComputationInterner interner) {
+            this.interner = interner;
+            return this;
+        }
+
+        /**
+         * Configures where long-running computations save their {@link Checkpoint checkpoints}.
+         *
+         * @param checkpointStore    the checkpoint store, or {@code null} to disable checkpoints
+         * @param checkpointInterval the minimum time between two checkpoints of a computation
+         * @return this configuration
+         */
+        public Configuration setCheckpointStore(ICheckpointStore checkpointStore, Duration checkpointInterval) {
+            this.checkpointStore = checkpointStore;
+            this.checkpointInterval = checkpointInterval;
+            return this;
+        }
+
+        /**
+         * Configures the time after which a completed cache entry expires.
+         * An expired entry is removed when it is hit, so the computation is performed again.
+         *
+         * @param timeToLive the time to live, or {@code null} to keep entries indefinitely
+         * @return this configuration
+         */
+        public Configuration setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * Configures the time after which a completed cache entry is refreshed.
+         * When such an entry is hit, its computation is performed again asynchronously (without using the cache),
+         * while the stale result continues to be served until the new result is available.
+         * Should be shorter than the {@link #setTimeToLive(Duration) time to live}, if any.
+         *
+         * @param refreshAfterWrite the refresh interval, or {@code null} to never refresh entries
+         * @return this configuration
+         */
+        public Configuration setRefreshAfterWrite(Duration refreshAfterWrite) {
+            this.refreshAfterWrite = refreshAfterWrite;
+            return this;
+        }
+
+        /**
+         * Configures negative caching with a constant backoff.
+         *
+         * @param failureBackoff the backoff, or {@code null} to disable negative caching
+         * @return this configuration
+         * @see #setFailureBackoff(Duration, Duration)
+         */
+        public Configuration setFailureBackoff(Duration failureBackoff) {
+            return setFailureBackoff(failureBackoff, failureBackoff);
+        }
+
+        /**
+         * Configures negative caching with an exponential backoff.
+         * A failed computation (i.e., one that was cancelled, threw an exception, or returned an empty result)
+         * is kept in the cache for the backoff period, during which hits return its empty result and problems.
+         * Afterwards, the failed entry is removed so the computation is retried.
+         * Each consecutive failure of the same computation doubles the backoff, up to the given maximum.
+         * If negative caching is disabled, failed entries are removed as soon as they are hit.
+         *
+         * @param failureBackoff        the initial backoff, or {@code null} to disable negative caching
+         * @param maximumFailureBackoff the maximum backoff
+         * @return this configuration
+         */
+        public Configuration setFailureBackoff(Duration failureBackoff, Duration maximumFailureBackoff) {
+            this.failureBackoff = failureBackoff;
+            this.maximumFailureBackoff = maximumFailureBackoff;
+            return this;
+        }
+
+        /**
+         * Configures the codec used to write and read {@link CacheSnapshot cache snapshots}.
+         *
+         * @param resultCodec the result codec
+         * @return this configuration
+         */
+        public Configuration setResultCodec(ResultCodec resultCodec) {
+            this.resultCodec = resultCodec;
+            return this;
+        }
+
+        /**
+         * Configures a {@link CacheSnapshot cache snapshot} that is loaded when this configuration is set.
+         *
+         * @param snapshotPath         the path of the snapshot file, or {@code null} to load no snapshot
+         * @param snapshotMemoryMapped whether to memory-map the snapshot file and decode results lazily
+         * @return this configuration
+         */
+        public Configuration setSnapshot(Path snapshotPath, boolean snapshotMemoryMapped) {
+            this.snapshotPath = snapshotPath;
+            this.snapshotMemoryMapped = snapshotMemoryMapped;
+            return this;
+        }
     }
 
     /**
@@ -112,12 +311,98 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
     protected Configuration configuration;
 
     /**
-     * A cache that maps computations to their future results.
-     * A {@link IComputation} of type {@code T} should be mapped to a {@link FutureResult} of the same type {@code T}.
+     * The shard for all computations that are not assigned to another shard.
+     */
+    protected volatile CacheShard defaultShard = new CacheShard(new CacheShard.Configuration(), this::evict);
+
+    /**
+     * All shards of this cache, including the default shard.
+     */
+    protected volatile List<CacheShard> shards = List.of(defaultShard);
+
+    /**
+     * The shards explicitly configured for computation classes.
      */
-    protected final Map<IComputation<?>, FutureResult<?>> computationMap = new ConcurrentHashMap<>();
+    protected volatile Map<Class<?>, CacheShard> configuredShards = Map.of();
 
-    protected final Map<IComputation<?>, Long> hitStatistics = new HashMap<>();
+    /**
+     * The shard for each computation class encountered so far.
+     */
+    protected volatile Map<Class<?>, CacheShard> shardsByClass = new ConcurrentHashMap<>();
+
+    /**
+     * An entry in a thread-local cache, which is valid as long as its shard's generation does not change.
+     */
+    protected static final class LocalEntry {
+        protected final IComputation<?> computation;
+        protected final FutureResult<?> futureResult;
+        protected final CacheShard shard;
+        protected final long generation;
+        protected final LongAdder hitCounter;
+        protected final boolean hasDeadline;
+        protected final long deadline;
+
+        protected LocalEntry(
+                IComputation<?> computation,
+                FutureResult<?> futureResult,
+                CacheShard shard,
+                long generation,
+                boolean hasDeadline,
+                long deadline) {
+            this.computation = computation;
+            this.futureResult = futureResult;
+            this.shard = shard;
+            this.generation = generation;
+            this.hitCounter = shard.getHitCounter(computation).orElse(null);
+            this.hasDeadline = hasDeadline;
+            this.deadline = deadline;
+        }
+
+        protected boolean isValid() {
+            return shard.getGeneration() == generation && (!hasDeadline || System.nanoTime() - deadline < 0);
+        }
+    }
+
+    /**
+     * The thread-local caches, which are direct-mapped by the identity hash code of computations.
+     * Only used when a {@link Configuration#setLocalCacheSize(int) local cache size} is configured.
+     */
+    protected final ThreadLocal<LocalEntry[]> localEntries = new ThreadLocal<>();
+
+    /**
+     * Tracks when a cache entry was written and whether it is being refreshed.
+     */
+    protected static class EntryTimes {
+        protected volatile long writeTime = System.nanoTime();
+        protected volatile long refreshTime = writeTime;
+        protected final AtomicBoolean isRefreshing = new AtomicBoolean();
+    }
+
+    /**
+     * Write and refresh times of cache entries.
+     * Only maintained when a time to live or refresh interval is configured.
+     */
+    protected final Map<IComputation<?>, EntryTimes> entryTimes = new ConcurrentHashMap<>();
+
+    /**
+     * Tracks consecutive failures of a computation for negative caching.
+     */
+    protected static class FailureTimes {
+        protected int failureCount;
+        protected long retryTime;
+        protected FutureResult<?> failedResult;
+    }
+
+    /**
+     * Failures of computations, which are kept in the cache until their retry time has passed.
+     * Only maintained when negative caching is configured.
+     */
+    protected final Map<IComputation<?>, FailureTimes> failureTimes = new ConcurrentHashMap<>();
+
+    /**
+     * A snapshot of results from another cache, which is queried when a computation is not in this cache.
+     */
+    protected CacheSnapshot snapshot;
 
     /**
      * Creates a cache without configuration.
@@ -161,6 +446,184 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
     public void setConfiguration(Configuration configuration) {
         FeatJAR.log().debug("setting new cache configuration");
         this.configuration = configuration;
+        setShards(configuration);
+        if (configuration.snapshotPath != null) {
+            try {
+                loadSnapshot(configuration.snapshotPath, configuration.snapshotMemoryMapped);
+            } catch (IOException e) {
+                FeatJAR.log().warning("could not load cache snapshot " + configuration.snapshotPath);
+                FeatJAR.log().warning(e);
+            }
+        }
+    }
+
+    private void setShards(Configuration configuration) {
+        List<CacheShard> oldShards = shards;
+        Map<CacheShard.Configuration, CacheShard> newShards = new IdentityHashMap<>();
+        CacheShard newDefaultShard = new CacheShard(configuration.defaultShardConfiguration, this::evict);
+        newShards.put(configuration.defaultShardConfiguration, newDefaultShard);
+        Map<Class<?>, CacheShard> newConfiguredShards = new LinkedHashMap<>();
+        configuration.shardConfigurations.forEach((computationClass, shardConfiguration) ->
+                newConfiguredShards.put(
+                        computationClass,
+                        newShards.computeIfAbsent(shardConfiguration, c -> new CacheShard(c, this::evict))));
+        defaultShard = newDefaultShard;
+        configuredShards = newConfiguredShards;
+        shardsByClass = new ConcurrentHashMap<>();
+        shards = List.copyOf(newShards.values());
+        for (CacheShard oldShard : oldShards) {
+            oldShard.invalidate();
+            for (Map.Entry<IComputation<?>, FutureResult<?>> entry : oldShard.getEntries()) {
+                getShard(entry.getKey()).putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * {@return a snapshot of all cached computations and their future results}
+     *
+     * @deprecated cached results are stored in {@link #shards}, so changes to the returned map have no effect on
+     *             this cache. Use {@link #get(IComputation)}, {@link #put(IComputation, FutureResult)}, and
+     *             {@link #remove(IComputation)} instead.
+     */
+    @Deprecated
+    protected Map<IComputation<?>, FutureResult<?>> getComputationMap() {
+        Map<IComputation<?>, FutureResult<?>> computationMap = new LinkedHashMap<>();
+        for (CacheShard shard : shards) {
+            for (Map.Entry<IComputation<?>, FutureResult<?>> entry : shard.getEntries()) {
+                computationMap.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(computationMap);
+    }
+
+    /**
+     * {@return a snapshot of the number of hits for all cached computations that were hit at least once}
+     *
+     * @deprecated hits are counted in {@link #shards}, so changes to the returned map have no effect on this cache.
+     *             Use {@link #getNumberOfHits(IComputation)} instead.
+     */
+    @Deprecated
+    protected Map<IComputation<?>, Long> getHitStatistics() {
+        Map<IComputation<?>, Long> hitStatistics = new LinkedHashMap<>();
+        for (CacheShard shard : shards) {
+            for (Map.Entry<IComputation<?>, FutureResult<?>> entry : shard.getEntries()) {
+                long hits = shard.getNumberOfHits(entry.getKey());
+                if (hits > 0) {
+                    hitStatistics.put(entry.getKey(), hits);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(hitStatistics);
+    }
+
+    /**
+     * {@return the shard that stores the given computation}
+     *
+     * @param computation the computation
+     */
+    protected CacheShard getShard(IComputation<?> computation) {
+        return shardsByClass.computeIfAbsent(computation.getClass(), this::findShard);
+    }
+
+    private CacheShard findShard(Class<?> computationClass) {
+        Map<Class<?>, CacheShard> configuredShards = this.configuredShards;
+        for (Class<?> c = computationClass; c != null; c = c.getSuperclass()) {
+            CacheShard shard = configuredShards.get(c);
+            if (shard != null) {
+                return shard;
+            }
+        }
+        for (Map.Entry<Class<?>, CacheShard> entry : configuredShards.entrySet()) {
+            if (entry.getKey().isAssignableFrom(computationClass)) {
+                return entry.getValue();
+            }
+        }
+        return defaultShard;
+    }
+
+    private void evict(IComputation<?> computation, FutureResult<?> futureResult) {
+        FeatJAR.log().debug("cache evict for " + computation);
+        entryTimes.remove(computation);
+        failureTimes.remove(computation);
+    }
+
+    /**
+     * Writes all successfully completed results in this cache to a {@link CacheSnapshot snapshot} file.
+     * Only results in {@link CacheShard.Configuration#setPersistent(boolean) persistent} shards are written.
+     * Results are encoded with the configured {@link ResultCodec}; results it does not support are skipped, as are
+     * results of computations that cannot be {@link ComputationSerializer serialized}.
+     *
+     * @param path the path of the snapshot file
+     * @return the number of written results
+     * @throws IOException if the file cannot be written
+     */
+    public int writeSnapshot(Path path) throws IOException {
+        List<Pair<IComputation<?>, byte[]>> results = new ArrayList<>();
+        for (CacheShard shard : shards) {
+            if (!shard.isPersistent()) {
+                continue;
+            }
+            for (Map.Entry<IComputation<?>, FutureResult<?>> entry : shard.getEntries()) {
+                FutureResult<?> futureResult = entry.getValue();
+                if (futureResult == null
+                        || !futureResult.getPromise().isDone()
+                        || futureResult.getPromise().isCancelled()
+                        || futureResult.getPromise().isCompletedExceptionally()) {
+                    continue;
+                }
+                futureResult
+                        .getPromise()
+                        .getNow(Result.empty())
+                        .flatMap(configuration.resultCodec::encode)
+                        .ifPresent(bytes -> results.add(new Pair<>(entry.getKey(), bytes)));
+            }
+        }
+        int count = CacheSnapshot.write(path, results);
+        FeatJAR.log().debug("wrote " + count + " cached results to " + path);
+        return count;
+    }
+
+    /**
+     * Loads a {@link CacheSnapshot snapshot} file.
+     * Computations missing from this cache are then looked up in the snapshot by their fingerprint and serialized
+     * form, and stored in this cache if the current {@link CachePolicy} agrees.
+     * Replaces any previously loaded snapshot.
+     *
+     * @param path         the path of the snapshot file
+     * @param memoryMapped whether to memory-map the snapshot file and decode results lazily
+     * @throws IOException if the file cannot be read
+     */
+    public void loadSnapshot(Path path, boolean memoryMapped) throws IOException {
+        snapshot = CacheSnapshot.read(path, configuration.resultCodec, memoryMapped);
+        FeatJAR.log().debug("loaded " + snapshot.size() + " cached results from " + path);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> FutureResult<T> tryHitSnapshot(IComputation<T> computation) {
+        if (snapshot == null) {
+            return null;
+        }
+        Result<Object> object = snapshot.get(computation);
+        if (object.isEmpty()) {
+            return null;
+        }
+        FutureResult<T> futureResult = new FutureResult<>(Result.of((T) object.get()), Progress.completed(1));
+        if (!shouldCache(computation)) {
+            return futureResult;
+        }
+        FutureResult<?> previousResult = getShard(computation).putIfAbsent(computation, futureResult);
+        if (previousResult != null) {
+            return (FutureResult<T>) previousResult;
+        }
+        trackEntryTimes(computation);
+        return futureResult;
+    }
+
+    private void trackEntryTimes(IComputation<?> computation) {
+        if (configuration != null && (configuration.timeToLive != null || configuration.refreshAfterWrite != null)) {
+            entryTimes.put(computation, new EntryTimes());
+        }
     }
 
     /**
@@ -171,25 +634,44 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
      */
     @SuppressWarnings("unchecked")
     public <T> Result<FutureResult<T>> tryHit(IComputation<T> computation) {
-        FutureResult<T> futureResult;
-        synchronized (computationMap) {
-            futureResult = (FutureResult<T>) computationMap.get(computation);
-            if (futureResult != null
-                    && (futureResult.getPromise().isCancelled()
-                            || futureResult.getPromise().isCompletedExceptionally())) {
-                computationMap.put(computation, null);
-                futureResult = null;
+        LocalEntry[] localEntries = getLocalEntries();
+        int localIndex = 0;
+        if (localEntries != null) {
+            localIndex = System.identityHashCode(computation) & (localEntries.length - 1);
+            LocalEntry localEntry = localEntries[localIndex];
+            if (localEntry != null
+                    && localEntry.computation == computation
+                    && localEntry.hitCounter != null
+                    && localEntry.isValid()) {
+                localEntry.hitCounter.increment();
+                return Result.of((FutureResult<T>) localEntry.futureResult);
             }
         }
+        CacheShard shard = getShard(computation);
+        long generation = shard.getGeneration();
+        FutureResult<T> futureResult = (FutureResult<T>) shard.get(computation);
+        if (futureResult != null && isFailed(futureResult)) {
+            futureResult = tryHitFailure(computation, futureResult);
+        } else if (futureResult != null && !failureTimes.isEmpty() && futureResult.getPromise().isDone()) {
+            failureTimes.remove(computation);
+        }
+        if (futureResult != null && isExpired(computation, futureResult)) {
+            FeatJAR.log().debug("cache entry expired for " + computation);
+            shard.remove(computation, futureResult);
+            entryTimes.remove(computation);
+            futureResult = null;
+        }
+        if (futureResult == null) {
+            futureResult = tryHitSnapshot(computation);
+        }
         if (futureResult != null) {
+            if (isRefreshDue(computation, futureResult)) {
+                refresh(computation);
+            }
             //            FeatJAR.log().debug("cache hit for " + computation);
-            synchronized (hitStatistics) {
-                Long count = hitStatistics.get(computation);
-                if (count == null) {
-                    hitStatistics.put(computation, 1L);
-                } else {
-                    hitStatistics.put(computation, count + 1);
-                }
+            shard.hit(computation);
+            if (localEntries != null && futureResult.getPromise().isDone() && !isFailed(futureResult)) {
+                localEntries[localIndex] = createLocalEntry(computation, futureResult, shard, generation);
             }
             return Result.of(futureResult);
         }
@@ -197,20 +679,153 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
         return Result.empty();
     }
 
+    private LocalEntry[] getLocalEntries() {
+        int localCacheSize = configuration != null ? configuration.localCacheSize : 0;
+        if (localCacheSize == 0) {
+            return null;
+        }
+        LocalEntry[] entries = localEntries.get();
+        if (entries == null || entries.length != localCacheSize) {
+            entries = new LocalEntry[localCacheSize];
+            localEntries.set(entries);
+        }
+        return entries;
+    }
+
+    private LocalEntry createLocalEntry(
+            IComputation<?> computation, FutureResult<?> futureResult, CacheShard shard, long generation) {
+        EntryTimes times = entryTimes.isEmpty() ? null : entryTimes.get(computation);
+        boolean hasDeadline = false;
+        long deadline = 0;
+        if (times != null && configuration.timeToLive != null) {
+            hasDeadline = true;
+            deadline = times.writeTime + configuration.timeToLive.toNanos();
+        }
+        if (times != null && configuration.refreshAfterWrite != null) {
+            long refreshDeadline = times.refreshTime + configuration.refreshAfterWrite.toNanos();
+            deadline = hasDeadline && deadline - refreshDeadline < 0 ? deadline : refreshDeadline;
+            hasDeadline = true;
+        }
+        return new LocalEntry(computation, futureResult, shard, generation, hasDeadline, deadline);
+    }
+
+    private static boolean isFailed(FutureResult<?> futureResult) {
+        return futureResult.getPromise().isDone()
+                && (futureResult.getPromise().isCancelled()
+                        || futureResult.getPromise().isCompletedExceptionally()
+                        || futureResult.getPromise().getNow(Result.empty()).isEmpty());
+    }
+
+    /**
+     * {@return the failed result to serve for the given computation, or {@code null} if it should be retried}
+     * Removes the failed entry if negative caching is disabled or the backoff has passed.
+     *
+     * @param computation  the computation
+     * @param futureResult the failed future result
+     * @param <T>          the type of the computation result
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> FutureResult<T> tryHitFailure(IComputation<T> computation, FutureResult<T> futureResult) {
+        if (configuration.failureBackoff == null) {
+            getShard(computation).remove(computation, futureResult);
+            return null;
+        }
+        long now = System.nanoTime();
+        FailureTimes times = failureTimes.computeIfAbsent(computation, c -> new FailureTimes());
+        synchronized (times) {
+            if (times.failedResult == null) {
+                long backoff = configuration.failureBackoff.toNanos();
+                long maximumBackoff = Math.max(backoff, configuration.maximumFailureBackoff.toNanos());
+                for (int i = 0; i < times.failureCount && backoff < maximumBackoff; i++) {
+                    backoff *= 2;
+                }
+                times.failureCount++;
+                times.retryTime = now + Math.min(backoff, maximumBackoff);
+                times.failedResult = new FutureResult<>(futureResult.get(), Progress.completed(1));
+                FeatJAR.log().debug("cache failure #" + times.failureCount + " for " + computation);
+            }
+            if (now - times.retryTime < 0) {
+                return (FutureResult<T>) times.failedResult;
+            }
+            times.failedResult = null;
+        }
+        getShard(computation).remove(computation, futureResult);
+        return null;
+    }
+
+    private boolean isExpired(IComputation<?> computation, FutureResult<?> futureResult) {
+        if (configuration.timeToLive == null || !futureResult.getPromise().isDone()) {
+            return false;
+        }
+        EntryTimes times = entryTimes.get(computation);
+        return times != null && System.nanoTime() - times.writeTime >= configuration.timeToLive.toNanos();
+    }
+
+    private boolean isRefreshDue(IComputation<?> computation, FutureResult<?> futureResult) {
+        if (configuration.refreshAfterWrite == null || !futureResult.getPromise().isDone()) {
+            return false;
+        }
+        EntryTimes times = entryTimes.get(computation);
+        return times != null
+                && !times.isRefreshing.get()
+                && System.nanoTime() - times.refreshTime >= configuration.refreshAfterWrite.toNanos();
+    }
+
+    /**
+     * Refreshes the cached result for a given computation by performing the computation again asynchronously.
+     * Until the new result is available, the current result continues to be served.
+     * If the new result is empty, the current result is kept.
+     * Does nothing if the computation has not been cached or is already being refreshed.
+     *
+     * @param computation the computation
+     * @param <T>         the type of the computation result
+     * @return whether a refresh has been started
+     */
+    public <T> boolean refresh(IComputation<T> computation) {
+        if (!has(computation)) return false;
+        EntryTimes times = entryTimes.computeIfAbsent(computation, c -> new EntryTimes());
+        if (!times.isRefreshing.compareAndSet(false, true)) return false;
+        FeatJAR.log().debug("cache refresh for " + computation);
+        times.refreshTime = System.nanoTime();
+        FutureResult<T> refreshedResult = computation.computeFutureResult(false, false);
+        refreshedResult.getPromise().whenComplete((result, throwable) -> {
+            if (throwable == null && result != null && result.isPresent()) {
+                if (getShard(computation).replace(computation, refreshedResult)) {
+                    times.writeTime = System.nanoTime();
+                    times.refreshTime = times.writeTime;
+                }
+            }
+            times.isRefreshing.set(false);
+        });
+        return true;
+    }
+
     /**
      * Stores the given future result for the given computation if the current {@link CachePolicy} agrees.
+     * The cache policy of the computation's shard takes precedence over this cache's policy.
      *
      * @param computation  the computation
      * @param futureResult the future result
      * @param <T>          the type of the computation result
      */
     public <T> void tryWrite(IComputation<T> computation, FutureResult<T> futureResult) {
-        if (configuration.cachePolicy.shouldCache(computation, new StackTrace())) {
+        if (shouldCache(computation)) {
             FeatJAR.log().debug("cache write for " + computation);
             put(computation, futureResult);
         }
     }
 
+    /**
+     * {@return whether the current {@link CachePolicy} agrees to store the given computation}
+     *
+     * @param computation the computation
+     */
+    protected boolean shouldCache(IComputation<?> computation) {
+        return getShard(computation)
+                .getCachePolicy(configuration.cachePolicy)
+                .shouldCache(computation, AComputation.ForkContext.getStackTrace());
+    }
+
     /**
      * {@return whether the given computation has been cached in this cache}
      *
@@ -218,7 +833,7 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
      * @param <T>         the type of the computation result
      */
     public <T> boolean has(IComputation<T> computation) {
-        return computationMap.containsKey(computation);
+        return getShard(computation).has(computation);
     }
 
     /**
@@ -229,7 +844,7 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
      */
     @SuppressWarnings("unchecked")
     public <T> Result<FutureResult<T>> get(IComputation<T> computation) {
-        return Result.ofNullable((FutureResult<T>) computationMap.get(computation));
+        return Result.ofNullable((FutureResult<T>) getShard(computation).get(computation));
     }
 
     /**
@@ -242,9 +857,9 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
      * @return whether the operation affected this cache
      */
     public <T> boolean put(IComputation<T> computation, FutureResult<T> futureResult) {
-        if (has(computation)) // once set, immutable
+        if (getShard(computation).putIfAbsent(computation, futureResult) != null) // once set, immutable
         return false;
-        computationMap.put(computation, futureResult);
+        trackEntryTimes(computation);
         return true;
     }
 
@@ -257,9 +872,10 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
      * @return whether the operation affected this cache
      */
     public <T> boolean remove(IComputation<T> computation) {
-        if (!has(computation)) return false;
+        if (!getShard(computation).remove(computation)) return false;
         FeatJAR.log().debug("cache remove for " + computation);
-        computationMap.remove(computation);
+        entryTimes.remove(computation);
+        failureTimes.remove(computation);
         return true;
     }
 
@@ -268,7 +884,11 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
      */
     public void clear() {
         FeatJAR.log().debug("clearing cache");
-        computationMap.clear();
+        for (CacheShard shard : shards) {
+            shard.clear();
+        }
+        entryTimes.clear();
+        failureTimes.clear();
     }
 
     /**
@@ -277,11 +897,7 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
      * @param computation the computation
      */
     public Long getNumberOfHits(IComputation<?> computation) {
-        Long hits;
-        synchronized (hitStatistics) {
-            hits = hitStatistics.get(computation);
-        }
-        return Result.ofNullable(hits).orElse(0L);
+        return getShard(computation).getNumberOfHits(computation);
     }
 
     /**
@@ -308,7 +924,12 @@ public class Cache implements IInitializer, IBrowsable<GraphVizTreeFormat<ICompu
      * Is sorted by hash code to guarantee determinism.
      */
     public List<IComputation<?>> getCachedComputations() {
-        ArrayList<IComputation<?>> computations = new ArrayList<>(computationMap.keySet());
+        ArrayList<IComputation<?>> computations = new ArrayList<>();
+        for (CacheShard shard : shards) {
+            for (Map.Entry<IComputation<?>, FutureResult<?>> entry : shard.getEntries()) {
+                computations.add(entry.getKey());
+            }
+        }
         computations.sort(Comparator.comparingInt(ITree::hashCodeTree));
         return computations;
     }
@@ -0,0 +1,544 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import de.featjar.base.computation.Cache.CachePolicy;
+import de.featjar.base.data.Result;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * A partition of a {@link Cache} that stores the future results of computations of certain classes.
+ * Each shard has its own {@link CachePolicy}, capacity, and {@link EvictionStrategy},
+ * and its own map, so computations of unrelated classes do not contend for the same locks.
+ * Unbounded shards are backed by a {@link ConcurrentHashMap}, bounded shards by a synchronized {@link LinkedHashMap}.
+ * Each shard has a generation counter that is incremented whenever an entry is removed or replaced,
+ * so copies of its entries (e.g., in a thread-local cache) can be invalidated cheaply.
+ * Completed results can be retained through soft or weak references (see {@link Retention}),
+ * so the garbage collector may reclaim them; a reclaimed entry behaves as if it had never been cached.
+ */
+public class CacheShard {
+
+    /**
+     * Specifies which entry a bounded shard evicts when its capacity is exceeded.
+     */
+    public enum EvictionStrategy {
+        /**
+         * Evicts the least recently used entry.
+         */
+        LRU,
+        /**
+         * Evicts the least recently written entry.
+         */
+        FIFO
+    }
+
+    /**
+     * Specifies how a shard retains completed results.
+     * Results that are not completed yet, or that completed exceptionally, are always retained strongly.
+     */
+    public enum Retention {
+        /**
+         * Retains results until they are removed or evicted.
+         */
+        STRONG,
+        /**
+         * Retains results through soft references, which the garbage collector clears when memory runs low.
+         */
+        SOFT,
+        /**
+         * Retains results through weak references, so they are only cached as long as they are reachable elsewhere.
+         */
+        WEAK
+    }
+
+    /**
+     * Configures a cache shard.
+     * The same configuration can be used for several computation classes, which then share one shard.
+     */
+    public static class Configuration {
+        protected CachePolicy cachePolicy;
+
+        protected int capacity = -1;
+
+        protected EvictionStrategy evictionStrategy = EvictionStrategy.LRU;
+
+        protected boolean persistent = true;
+
+        protected Retention retention = Retention.STRONG;
+
+        /**
+         * Configures the cache policy.
+         *
+         * @param cachePolicy the cache policy, or {@code null} to use the cache's policy
+         * @return this configuration
+         */
+        public Configuration setCachePolicy(CachePolicy cachePolicy) {
+            this.cachePolicy = cachePolicy;
+            return this;
+        }
+
+        /**
+         * Configures the maximum number of entries.
+         *
+         * @param capacity the capacity, or a negative number for an unbounded shard
+         * @return this configuration
+         */
+        public Configuration setCapacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Configures the eviction strategy, which is only relevant for bounded shards.
+         *
+         * @param evictionStrategy the eviction strategy
+         * @return this configuration
+         */
+        public Configuration setEvictionStrategy(EvictionStrategy evictionStrategy) {
+            this.evictionStrategy = evictionStrategy;
+            return this;
+        }
+
+        /**
+         * Configures whether the shard's entries are written to {@link CacheSnapshot cache snapshots}.
+         *
+         * @param persistent whether the shard is persistent
+         * @return this configuration
+         */
+        public Configuration setPersistent(boolean persistent) {
+            this.persistent = persistent;
+            return this;
+        }
+
+        /**
+         * Configures how completed results are retained.
+         * Soft retention caches results for as long as memory permits, without a fixed capacity.
+         *
+         * @param retention the retention
+         * @return this configuration
+         */
+        public Configuration setRetention(Retention retention) {
+            this.retention = retention;
+            return this;
+        }
+    }
+
+    /**
+     * A completed result that is retained through a soft or weak reference.
+     */
+    protected static final class ReferenceEntry {
+        protected final Reference<Result<?>> result;
+        protected volatile WeakReference<FutureResult<?>> futureResult;
+
+        protected ReferenceEntry(Reference<Result<?>> result, FutureResult<?> futureResult) {
+            this.result = result;
+            this.futureResult = new WeakReference<>(futureResult);
+        }
+
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        protected FutureResult<?> get() {
+            FutureResult<?> view = futureResult.get();
+            if (view != null) {
+                return view;
+            }
+            Result<?> result = this.result.get();
+            if (result == null) {
+                return null;
+            }
+            view = new FutureResult(result, Progress.completed(1));
+            futureResult = new WeakReference<>(view);
+            return view;
+        }
+
+        protected boolean matches(FutureResult<?> futureResult) {
+            if (futureResult == null) {
+                return false;
+            }
+            if (this.futureResult.get() == futureResult) {
+                return true;
+            }
+            Result<?> result = this.result.get();
+            return result != null
+                    && futureResult.getPromise().isDone()
+                    && !futureResult.getPromise().isCompletedExceptionally()
+                    && futureResult.getPromise().getNow(null) == result;
+        }
+    }
+
+    private static final class SoftResultReference extends SoftReference<Result<?>> {
+        private final IComputation<?> computation;
+
+        private SoftResultReference(
+                Result<?> result, ReferenceQueue<Result<?>> queue, IComputation<?> computation) {
+            super(result, queue);
+            this.computation = computation;
+        }
+    }
+
+    private static final class WeakResultReference extends WeakReference<Result<?>> {
+        private final IComputation<?> computation;
+
+        private WeakResultReference(
+                Result<?> result, ReferenceQueue<Result<?>> queue, IComputation<?> computation) {
+            super(result, queue);
+            this.computation = computation;
+        }
+    }
+
+    protected final Configuration configuration;
+
+    /**
+     * Maps computations to their future results, or to {@link ReferenceEntry reference entries} for completed
+     * results that are not retained strongly.
+     * A {@link IComputation} of type {@code T} should be mapped to a {@link FutureResult} of the same type {@code T}.
+     */
+    protected final Map<IComputation<?>, Object> computationMap;
+
+    protected final Map<IComputation<?>, LongAdder> hitStatistics = new ConcurrentHashMap<>();
+
+    protected final AtomicLong generation = new AtomicLong();
+
+    protected final ReferenceQueue<Result<?>> referenceQueue = new ReferenceQueue<>();
+
+    protected final BiConsumer<IComputation<?>, FutureResult<?>> evictionListener;
+
+    /**
+     * Creates a cache shard.
+     *
+     * @param configuration    the configuration
+     * @param evictionListener called with each entry evicted due to the capacity or reclaimed by the garbage
+     *                         collector, possibly while the shard is locked; the future result may be {@code null}
+     */
+    public CacheShard(
+            Configuration configuration, BiConsumer<IComputation<?>, FutureResult<?>> evictionListener) {
+        this.configuration = configuration;
+        this.evictionListener = evictionListener;
+        if (configuration.capacity < 0) {
+            computationMap = new ConcurrentHashMap<>();
+        } else {
+            int capacity = configuration.capacity;
+            computationMap = Collections.synchronizedMap(new LinkedHashMap<IComputation<?>, Object>(
+                    16, 0.75f, configuration.evictionStrategy == EvictionStrategy.LRU) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<IComputation<?>, Object> eldest) {
+                    if (size() > capacity) {
+                        hitStatistics.remove(eldest.getKey());
+                        generation.incrementAndGet();
+                        evictionListener.accept(eldest.getKey(), unwrap(eldest.getValue()));
+                        return true;
+                    }
+                    return false;
+                }
+            });
+        }
+    }
+
+    /**
+     * {@return this shard's configuration}
+     */
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * {@return this shard's cache policy, or the given default if none is configured}
+     *
+     * @param defaultCachePolicy the default cache policy
+     */
+    public CachePolicy getCachePolicy(CachePolicy defaultCachePolicy) {
+        return configuration.cachePolicy != null ? configuration.cachePolicy : defaultCachePolicy;
+    }
+
+    /**
+     * {@return whether this shard's entries are written to cache snapshots}
+     */
+    public boolean isPersistent() {
+        return configuration.persistent;
+    }
+
+    private static FutureResult<?> unwrap(Object value) {
+        return value instanceof ReferenceEntry ? ((ReferenceEntry) value).get() : (FutureResult<?>) value;
+    }
+
+    private static boolean matches(Object value, FutureResult<?> futureResult) {
+        return value instanceof ReferenceEntry ? ((ReferenceEntry) value).matches(futureResult) : value == futureResult;
+    }
+
+    private Object wrap(IComputation<?> computation, FutureResult<?> futureResult) {
+        if (configuration.retention == Retention.STRONG
+                || !futureResult.getPromise().isDone()
+                || futureResult.getPromise().isCancelled()
+                || futureResult.getPromise().isCompletedExceptionally()) {
+            return futureResult;
+        }
+        Result<?> result = futureResult.getPromise().getNow(null);
+        if (result == null) {
+            return futureResult;
+        }
+        return new ReferenceEntry(
+                configuration.retention == Retention.SOFT
+                        ? new SoftResultReference(result, referenceQueue, computation)
+                        : new WeakResultReference(result, referenceQueue, computation),
+                futureResult);
+    }
+
+    private void retainWhenDone(IComputation<?> computation, FutureResult<?> futureResult) {
+        if (configuration.retention != Retention.STRONG && !futureResult.getPromise().isDone()) {
+            futureResult.getPromise().whenComplete((result, throwable) -> {
+                if (throwable == null) {
+                    computationMap.replace(computation, futureResult, wrap(computation, futureResult));
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes all entries whose results have been reclaimed by the garbage collector.
+     */
+    public void expungeReclaimedEntries() {
+        Reference<? extends Result<?>> reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            IComputation<?> computation = reference instanceof SoftResultReference
+                    ? ((SoftResultReference) reference).computation
+                    : ((WeakResultReference) reference).computation;
+            Object value = computationMap.get(computation);
+            if (value instanceof ReferenceEntry
+                    && ((ReferenceEntry) value).result == reference
+                    && computationMap.remove(computation, value)) {
+                hitStatistics.remove(computation);
+                generation.incrementAndGet();
+                evictionListener.accept(computation, null);
+            }
+        }
+    }
+
+    /**
+     * {@return the future result for the given computation, or {@code null} if not cached}
+     *
+     * @param computation the computation
+     */
+    public FutureResult<?> get(IComputation<?> computation) {
+        return unwrap(computationMap.get(computation));
+    }
+
+    /**
+     * {@return whether the given computation is cached in this shard}
+     *
+     * @param computation the computation
+     */
+    public boolean has(IComputation<?> computation) {
+        return get(computation) != null;
+    }
+
+    /**
+     * Stores a future result for the given computation, if not already cached.
+     *
+     * @param computation  the computation
+     * @param futureResult the future result
+     * @return the previously cached future result, or {@code null} if the given future result was stored
+     */
+    public FutureResult<?> putIfAbsent(IComputation<?> computation, FutureResult<?> futureResult) {
+        if (configuration.retention == Retention.STRONG) {
+            return (FutureResult<?>) computationMap.putIfAbsent(computation, futureResult);
+        }
+        expungeReclaimedEntries();
+        Object value = wrap(computation, futureResult);
+        while (true) {
+            Object previousValue = computationMap.putIfAbsent(computation, value);
+            if (previousValue == null) {
+                retainWhenDone(computation, futureResult);
+                return null;
+            }
+            FutureResult<?> previousResult = unwrap(previousValue);
+            if (previousResult != null) {
+                return previousResult;
+            }
+            if (computationMap.replace(computation, previousValue, value)) {
+                generation.incrementAndGet();
+                retainWhenDone(computation, futureResult);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Replaces the future result for the given computation, if cached.
+     *
+     * @param computation  the computation
+     * @param futureResult the future result
+     * @return whether the future result was replaced
+     */
+    public boolean replace(IComputation<?> computation, FutureResult<?> futureResult) {
+        boolean isReplaced = computationMap.replace(computation, wrap(computation, futureResult)) != null;
+        generation.incrementAndGet();
+        if (isReplaced) {
+            retainWhenDone(computation, futureResult);
+        }
+        return isReplaced;
+    }
+
+    /**
+     * Removes the future result for the given computation, if cached.
+     *
+     * @param computation the computation
+     * @return whether the future result was removed
+     */
+    public boolean remove(IComputation<?> computation) {
+        hitStatistics.remove(computation);
+        boolean isRemoved = unwrap(computationMap.remove(computation)) != null;
+        generation.incrementAndGet();
+        return isRemoved;
+    }
+
+    /**
+     * Removes the future result for the given computation, if it is the given future result.
+     *
+     * @param computation  the computation
+     * @param futureResult the future result
+     * @return whether the future result was removed
+     */
+    public boolean remove(IComputation<?> computation, FutureResult<?> futureResult) {
+        Object value = computationMap.get(computation);
+        boolean isRemoved = value != null && matches(value, futureResult) && computationMap.remove(computation, value);
+        if (isRemoved) {
+            hitStatistics.remove(computation);
+        }
+        generation.incrementAndGet();
+        return isRemoved;
+    }
+
+    /**
+     * Removes all entries from this shard.
+     */
+    public void clear() {
+        computationMap.clear();
+        hitStatistics.clear();
+        generation.incrementAndGet();
+    }
+
+    /**
+     * {@return the current generation of this shard}
+     * Changes whenever an entry is removed from or replaced in this shard.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Invalidates all copies of this shard's entries by incrementing its generation.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * {@return the number of entries in this shard}
+     * May include entries whose results have been reclaimed, but not yet expunged.
+     */
+    public int size() {
+        expungeReclaimedEntries();
+        return computationMap.size();
+    }
+
+    /**
+     * {@return a copy of the entries in this shard}
+     * Entries whose results have been reclaimed are omitted.
+     */
+    public List<Map.Entry<IComputation<?>, FutureResult<?>>> getEntries() {
+        expungeReclaimedEntries();
+        List<Map.Entry<IComputation<?>, Object>> values;
+        if (computationMap instanceof ConcurrentHashMap) {
+            values = new ArrayList<>(computationMap.entrySet());
+        } else {
+            synchronized (computationMap) {
+                values = new ArrayList<>(computationMap.size());
+                for (Map.Entry<IComputation<?>, Object> entry : computationMap.entrySet()) {
+                    values.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+                }
+            }
+        }
+        List<Map.Entry<IComputation<?>, FutureResult<?>>> entries = new ArrayList<>(values.size());
+        for (Map.Entry<IComputation<?>, Object> entry : values) {
+            FutureResult<?> futureResult = unwrap(entry.getValue());
+            if (futureResult != null) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), futureResult));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Counts a hit for the given computation.
+     *
+     * @param computation the computation
+     */
+    public void hit(IComputation<?> computation) {
+        getHitCounter(computation).ifPresent(LongAdder::increment);
+    }
+
+    /**
+     * {@return the counter of hits for the given computation}
+     * Counters only exist while the computation is cached in this shard, so no counter is returned for a
+     * computation that is not cached.
+     *
+     * @param computation the computation
+     */
+    public Result<LongAdder> getHitCounter(IComputation<?> computation) {
+        LongAdder hits = hitStatistics.get(computation);
+        if (hits != null) {
+            return Result.of(hits);
+        }
+        if (!computationMap.containsKey(computation)) {
+            return Result.empty();
+        }
+        hits = hitStatistics.computeIfAbsent(computation, c -> new LongAdder());
+        if (!computationMap.containsKey(computation)) {
+            hitStatistics.remove(computation, hits);
+            return Result.empty();
+        }
+        return Result.of(hits);
+    }
+
+    /**
+     * {@return the number of hits for the given computation}
+     *
+     * @param computation the computation
+     */
+    public long getNumberOfHits(IComputation<?> computation) {
+        LongAdder hits = hitStatistics.get(computation);
+        return hits != null ? hits.sum() : 0L;
+    }
+}
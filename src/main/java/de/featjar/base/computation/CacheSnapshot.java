@@ -0,0 +1,340 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Pair;
+import de.featjar.base.data.Result;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of completed computation results, stored in a file.
+ * Results are identified by their computation's {@link IComputation#getFingerprint() fingerprint}
+ * and encoded with a {@link ResultCodec}, so they can be loaded into the {@link Cache} of another JVM instance.
+ * As fingerprints may collide, each result is stored together with its serialized computation, which is verified
+ * on lookup, and only results of {@link ComputationSerializer serializable} computations are stored.
+ * A snapshot file consists of a header, an index of fingerprints sorted in ascending order, and the serialized
+ * computations and encoded results.
+ * A snapshot can either be loaded entirely into memory or be memory-mapped, in which case results are only
+ * decoded when they are looked up.
+ * Only result objects are stored; problems attached to a result are discarded.
+ */
+public class CacheSnapshot {
+
+    /**
+     * Encodes and decodes computation results for a {@link CacheSnapshot}.
+     */
+    public interface ResultCodec {
+        /**
+         * Encodes {@link Serializable} results with Java's object serialization.
+         * Results that are not serializable are skipped.
+         */
+        ResultCodec SERIALIZABLE = new ResultCodec() {
+            @Override
+            public Result<byte[]> encode(Object object) {
+                if (!(object instanceof Serializable)) {
+                    return Result.empty();
+                }
+                ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(byteStream)) {
+                    out.writeObject(object);
+                } catch (IOException e) {
+                    return Result.empty(e);
+                }
+                return Result.of(byteStream.toByteArray());
+            }
+
+            @Override
+            public Result<Object> decode(ByteBuffer buffer) {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return Result.of(in.readObject());
+                } catch (IOException | ClassNotFoundException e) {
+                    return Result.empty(e);
+                }
+            }
+        };
+
+        /**
+         * {@return the given computation result encoded as bytes, or an empty result if it is not supported}
+         *
+         * @param object the computation result
+         */
+        Result<byte[]> encode(Object object);
+
+        /**
+         * {@return the computation result decoded from the remaining bytes in the given buffer}
+         *
+         * @param buffer the buffer
+         */
+        Result<Object> decode(ByteBuffer buffer);
+    }
+
+    private static final int MAGIC = 0x464A4353;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int INDEX_ENTRY_SIZE = 2 * Long.BYTES + 2 * Integer.BYTES;
+
+    private final ResultCodec codec;
+    private final int size;
+    private final ByteBuffer mappedBuffer;
+    private final Map<Long, List<Pair<byte[], Object>>> loadedResults;
+
+    private CacheSnapshot(
+            ResultCodec codec,
+            int size,
+            ByteBuffer mappedBuffer,
+            Map<Long, List<Pair<byte[], Object>>> loadedResults) {
+        this.codec = codec;
+        this.size = size;
+        this.mappedBuffer = mappedBuffer;
+        this.loadedResults = loadedResults;
+    }
+
+    /**
+     * Writes a snapshot file.
+     * Each result is stored together with its {@link ComputationSerializer serialized} computation, which is
+     * compared on lookup, so a result is never returned for another computation with the same fingerprint.
+     * Results of computations that cannot be serialized are skipped.
+     * If several results have the same computation, only the first is written.
+     *
+     * @param path    the path of the snapshot file
+     * @param results pairs of computations and encoded results
+     * @return the number of written results
+     * @throws IOException if the file cannot be written
+     */
+    public static int write(Path path, List<Pair<IComputation<?>, byte[]>> results) throws IOException {
+        List<Entry> entries = new ArrayList<>(results.size());
+        for (Pair<IComputation<?>, byte[]> result : results) {
+            ComputationSerializer.serialize(result.getKey())
+                    .ifPresent(key ->
+                            entries.add(new Entry(result.getKey().getFingerprint(), key, result.getValue())));
+        }
+        entries.sort(Comparator.comparingLong(entry -> entry.fingerprint));
+        List<Entry> distinctEntries = new ArrayList<>(entries.size());
+        int start = 0;
+        for (Entry entry : entries) {
+            if (!distinctEntries.isEmpty()
+                    && distinctEntries.get(distinctEntries.size() - 1).fingerprint != entry.fingerprint) {
+                start = distinctEntries.size();
+            }
+            boolean isDuplicate = false;
+            for (int i = start; i < distinctEntries.size() && !isDuplicate; i++) {
+                isDuplicate = Arrays.equals(distinctEntries.get(i).key, entry.key);
+            }
+            if (!isDuplicate) {
+                distinctEntries.add(entry);
+            }
+        }
+        try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(distinctEntries.size());
+            long offset = 0;
+            for (Entry entry : distinctEntries) {
+                out.writeLong(entry.fingerprint);
+                out.writeLong(offset);
+                out.writeInt(entry.key.length);
+                out.writeInt(entry.value.length);
+                offset += entry.key.length + entry.value.length;
+            }
+            for (Entry entry : distinctEntries) {
+                out.write(entry.key);
+                out.write(entry.value);
+            }
+        }
+        return distinctEntries.size();
+    }
+
+    private static class Entry {
+        private final long fingerprint;
+        private final byte[] key;
+        private final byte[] value;
+
+        private Entry(long fingerprint, byte[] key, byte[] value) {
+            this.fingerprint = fingerprint;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Reads a snapshot file.
+     *
+     * @param path         the path of the snapshot file
+     * @param codec        the codec for decoding results
+     * @param memoryMapped whether to memory-map the file and decode results lazily,
+     *                     instead of decoding all results immediately
+     * @return the snapshot
+     * @throws IOException if the file cannot be read or is not a snapshot file
+     */
+    public static CacheSnapshot read(Path path, ResultCodec codec, boolean memoryMapped) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = memoryMapped
+                    ? channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    : ByteBuffer.wrap(Files.readAllBytes(path));
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("not a cache snapshot: " + path);
+        }
+        int size = buffer.getInt(2 * Integer.BYTES);
+        if (size < 0 || buffer.limit() < HEADER_SIZE + (long) size * INDEX_ENTRY_SIZE) {
+            throw new IOException("truncated cache snapshot: " + path);
+        }
+        if (memoryMapped) {
+            return new CacheSnapshot(codec, size, buffer, null);
+        }
+        Map<Long, List<Pair<byte[], Object>>> loadedResults = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            long fingerprint = getFingerprint(buffer, i);
+            Result<byte[]> key = getKey(buffer, size, i);
+            if (key.isPresent()) {
+                decode(buffer, size, i, codec).ifPresent(result -> loadedResults
+                        .computeIfAbsent(fingerprint, f -> new ArrayList<>(1))
+                        .add(new Pair<>(key.get(), result)));
+            }
+        }
+        return new CacheSnapshot(codec, size, null, loadedResults);
+    }
+
+    private static long getFingerprint(ByteBuffer buffer, int index) {
+        return buffer.getLong(HEADER_SIZE + index * INDEX_ENTRY_SIZE);
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int size, int index, boolean isKey) {
+        int indexEntry = HEADER_SIZE + index * INDEX_ENTRY_SIZE;
+        long offset = HEADER_SIZE + (long) size * INDEX_ENTRY_SIZE + buffer.getLong(indexEntry + Long.BYTES);
+        int keyLength = buffer.getInt(indexEntry + 2 * Long.BYTES);
+        int length = isKey ? keyLength : buffer.getInt(indexEntry + 2 * Long.BYTES + Integer.BYTES);
+        if (!isKey) {
+            offset += keyLength;
+        }
+        if (offset < 0 || length < 0 || offset + length > buffer.limit()) {
+            return null;
+        }
+        ByteBuffer slice = buffer.duplicate();
+        slice.position((int) offset);
+        slice.limit((int) offset + length);
+        return slice.slice();
+    }
+
+    private static Result<byte[]> getKey(ByteBuffer buffer, int size, int index) {
+        ByteBuffer slice = slice(buffer, size, index, true);
+        if (slice == null) {
+            return Result.empty();
+        }
+        byte[] key = new byte[slice.remaining()];
+        slice.get(key);
+        return Result.of(key);
+    }
+
+    private static Result<Object> decode(ByteBuffer buffer, int size, int index, ResultCodec codec) {
+        ByteBuffer slice = slice(buffer, size, index, false);
+        if (slice == null) {
+            return Result.empty();
+        }
+        Result<Object> result = codec.decode(slice);
+        if (result.isEmpty()) {
+            FeatJAR.log().warning("could not decode cached result at index " + index);
+        }
+        return result;
+    }
+
+    /**
+     * {@return the number of results in this snapshot}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return the result stored for the given computation, if any}
+     * Candidates are looked up by the computation's {@link IComputation#getFingerprint() fingerprint} and only
+     * returned if their stored computation equals the serialized given computation.
+     *
+     * @param computation the computation
+     */
+    public Result<Object> get(IComputation<?> computation) {
+        long fingerprint = computation.getFingerprint();
+        if (loadedResults != null) {
+            List<Pair<byte[], Object>> candidates = loadedResults.get(fingerprint);
+            if (candidates == null) {
+                return Result.empty();
+            }
+            Result<byte[]> key = ComputationSerializer.serialize(computation);
+            if (key.isEmpty()) {
+                return Result.empty();
+            }
+            for (Pair<byte[], Object> candidate : candidates) {
+                if (Arrays.equals(candidate.getKey(), key.get())) {
+                    return Result.of(candidate.getValue());
+                }
+            }
+            return Result.empty();
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getFingerprint(mappedBuffer, middle) < fingerprint) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (size == 0 || getFingerprint(mappedBuffer, low) != fingerprint) {
+            return Result.empty();
+        }
+        Result<byte[]> key = ComputationSerializer.serialize(computation);
+        if (key.isEmpty()) {
+            return Result.empty();
+        }
+        ByteBuffer expectedKey = ByteBuffer.wrap(key.get());
+        for (int i = low; i < size && getFingerprint(mappedBuffer, i) == fingerprint; i++) {
+            ByteBuffer candidateKey = slice(mappedBuffer, size, i, true);
+            if (candidateKey != null && candidateKey.equals(expectedKey)) {
+                return decode(mappedBuffer, size, i, codec);
+            }
+        }
+        return Result.empty();
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Range;
+import de.featjar.base.data.Result;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Periodically persists the intermediate state of a long-running computation in an {@link ICheckpointStore},
+ * so it can be resumed after a crash or restart.
+ * Checkpoints are driven by {@link Progress}: The computation reports its progress on {@link #getProgress()},
+ * and whenever its current step changes and the configured interval has passed since the last checkpoint,
+ * the current state is obtained from the {@link #setState(Supplier) state supplier} and saved together with
+ * the current step.
+ * Thus, the state supplier is called in the computation's own thread and should return a consistent snapshot.
+ * A typical computation restores its state with {@link #restore()}, continues from there, and calls
+ * {@link #complete()} when finished.
+ * If no checkpoint store is configured in the computation's {@link Cache.Configuration}, checkpoints are disabled.
+ * Checkpoints are identified by the {@link ComputationSerializer serialized} computation, which is stored with
+ * each checkpoint and verified when restoring it, so a checkpoint is never restored for another computation.
+ * Thus, computations that cannot be serialized do not save checkpoints.
+ *
+ * @param <S> the type of the state
+ */
+public class Checkpoint<S extends Serializable> {
+
+    /**
+     * Reports progress to another progress and saves checkpoints at its milestones.
+     */
+    protected class CheckpointProgress extends Progress {
+        protected CheckpointProgress(Progress progress) {
+            super(progress instanceof Progress.Null ? Range.atLeast(0) : progress.range);
+        }
+
+        @Override
+        public void setCurrentStep(int currentStep) {
+            boolean isMilestone = currentStep != getCurrentStep();
+            super.setCurrentStep(currentStep);
+            if (isMilestone) {
+                onMilestone(currentStep);
+            }
+        }
+
+        /**
+         * Sets the current step without saving a checkpoint.
+         *
+         * @param currentStep the current step
+         */
+        protected void restoreCurrentStep(int currentStep) {
+            super.setCurrentStep(currentStep);
+        }
+    }
+
+    protected final IComputation<?> computation;
+    protected final ICheckpointStore checkpointStore;
+    protected final long intervalNanos;
+    protected final CheckpointProgress progress;
+    protected Supplier<S> state;
+    protected long lastSaveTime = System.nanoTime();
+    protected Result<byte[]> key;
+    protected long fingerprint;
+
+    /**
+     * Creates a checkpoint for a given computation.
+     *
+     * @param computation     the computation
+     * @param progress        the progress passed to the computation
+     * @param checkpointStore the checkpoint store, or {@code null} to disable checkpoints
+     * @param interval        the minimum time between two checkpoints
+     */
+    public Checkpoint(
+            IComputation<?> computation, Progress progress, ICheckpointStore checkpointStore, Duration interval) {
+        this.computation = computation;
+        this.checkpointStore = checkpointStore;
+        this.intervalNanos = interval.toNanos();
+        this.progress = new CheckpointProgress(progress);
+    }
+
+    /**
+     * {@return the progress the computation should report to}
+     * Forwards all progress to the progress passed to the computation.
+     */
+    public Progress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Sets the supplier of the computation's current state, which is called when a checkpoint is saved.
+     *
+     * @param state the state supplier
+     * @return this checkpoint
+     */
+    public Checkpoint<S> setState(Supplier<S> state) {
+        this.state = state;
+        return this;
+    }
+
+    /**
+     * {@return the serialized computation, which identifies its checkpoints}
+     */
+    protected Result<byte[]> getKey() {
+        if (key == null) {
+            key = ComputationSerializer.serialize(computation);
+            if (key.isPresent()) {
+                fingerprint = ComputationSerializer.getFingerprint(key.get());
+            } else {
+                FeatJAR.log().debug(() -> "checkpoints are disabled for unserializable computation " + computation);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * {@return the fingerprint of the serialized computation, under which its checkpoints are stored}
+     * Unlike {@link IComputation#getFingerprint()}, this fingerprint does not depend on the JVM instance.
+     */
+    protected long getFingerprint() {
+        getKey();
+        return fingerprint;
+    }
+
+    /**
+     * {@return the state of the last checkpoint, if any}
+     * Also restores the current step of the progress, without saving a checkpoint.
+     */
+    @SuppressWarnings("unchecked")
+    public Result<S> restore() {
+        if (checkpointStore == null || getKey().isEmpty()) {
+            return Result.empty();
+        }
+        return checkpointStore.load(getFingerprint()).flatMap(bytes -> {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                byte[] storedKey = new byte[in.readInt()];
+                in.readFully(storedKey);
+                if (!Arrays.equals(storedKey, key.get())) {
+                    return Result.empty(new Problem(() -> "checkpoint belongs to another computation than "
+                            + computation));
+                }
+                int currentStep = in.readInt();
+                S restoredState = (S) in.readObject();
+                lastSaveTime = System.nanoTime();
+                progress.restoreCurrentStep(currentStep);
+                FeatJAR.log().debug(() -> "restored checkpoint at step " + currentStep + " for " + computation);
+                return Result.of(restoredState);
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                return Result.empty(e);
+            }
+        });
+    }
+
+    protected void onMilestone(int currentStep) {
+        if (checkpointStore != null && state != null && System.nanoTime() - lastSaveTime >= intervalNanos) {
+            save(currentStep);
+        }
+    }
+
+    /**
+     * Saves a checkpoint with the current state, regardless of the interval.
+     *
+     * @return whether the checkpoint was saved
+     */
+    public boolean save() {
+        return checkpointStore != null && state != null && save(progress.getCurrentStep());
+    }
+
+    protected boolean save(int currentStep) {
+        lastSaveTime = System.nanoTime();
+        if (getKey().isEmpty()) {
+            return false;
+        }
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try {
+            try (ObjectOutputStream out = new ObjectOutputStream(byteStream)) {
+                out.writeInt(key.get().length);
+                out.write(key.get());
+                out.writeInt(currentStep);
+                out.writeObject(state.get());
+            }
+            checkpointStore.save(getFingerprint(), byteStream.toByteArray());
+            FeatJAR.log().debug(() -> "saved checkpoint at step " + currentStep + " for " + computation);
+            return true;
+        } catch (IOException e) {
+            FeatJAR.log().warning(e);
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the last checkpoint, as the computation has completed.
+     */
+    public void complete() {
+        if (checkpointStore != null && getKey().isPresent()) {
+            try {
+                checkpointStore.delete(getFingerprint());
+            } catch (IOException e) {
+                FeatJAR.log().warning(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash-conses computation trees, so structurally equal computations share a single canonical instance.
+ * A computation is canonical if all its children are canonical, so two computations are structurally equal
+ * if their nodes are {@link IComputation#equalsNode(IComputation) equal} and their children are identical.
+ * Thus, interning a computation only compares its node with candidates with the same
+ * {@link IComputation#getFingerprint() fingerprint}, and equality checks of canonical computations
+ * (e.g., in the {@link Cache}) reduce to identity checks.
+ * Canonical computations are only weakly referenced, so they are discarded when no longer used elsewhere.
+ * Canonical computations must not be modified, as they may be shared by several trees.
+ * Interning modifies the interned tree in place (see {@link #intern(IComputation)}), so trees should be interned
+ * before they are shared, for example right after they are constructed.
+ */
+public class ComputationInterner {
+
+    /**
+     * A weak reference to a canonical computation, chained with other computations of the same fingerprint.
+     */
+    protected static class Entry extends WeakReference<IComputation<?>> {
+        protected final long fingerprint;
+        protected Entry next;
+
+        protected Entry(IComputation<?> computation, long fingerprint, Entry next, ReferenceQueue<Object> queue) {
+            super(computation, queue);
+            this.fingerprint = fingerprint;
+            this.next = next;
+        }
+    }
+
+    protected final Map<Long, Entry> entries = new HashMap<>();
+    protected final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
+
+    /**
+     * {@return the canonical instance of the given computation}
+     * Replaces the children of the given computation with their canonical instances, if necessary.
+     * This is done in place with {@link IComputation#replaceChild(int, de.featjar.base.tree.structure.ITree) replaceChild}
+     * for the given computation and all its descendants, so the modification is visible to anyone holding one of
+     * these nodes, even if the given computation itself is not canonical.
+     * If no structurally equal computation has been interned yet, the given computation becomes canonical.
+     *
+     * @param computation the computation
+     * @param <T>         the type of the computation result
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> IComputation<T> intern(IComputation<T> computation) {
+        expungeDiscardedEntries();
+        return (IComputation<T>) internTree(computation);
+    }
+
+    protected IComputation<?> internTree(IComputation<?> computation) {
+        List<? extends IComputation<?>> children = computation.getChildren();
+        for (int i = 0; i < children.size(); i++) {
+            IComputation<?> child = children.get(i);
+            IComputation<?> canonicalChild = internTree(child);
+            if (canonicalChild != child) {
+                computation.replaceChild(i, canonicalChild);
+            }
+        }
+        long fingerprint = computation.getFingerprint();
+        Entry head = entries.get(fingerprint);
+        for (Entry entry = head; entry != null; entry = entry.next) {
+            IComputation<?> candidate = entry.get();
+            if (candidate == computation) {
+                return candidate;
+            }
+            if (candidate != null && isStructurallyEqual(candidate, computation)) {
+                return candidate;
+            }
+        }
+        entries.put(fingerprint, new Entry(computation, fingerprint, head, referenceQueue));
+        return computation;
+    }
+
+    protected static boolean isStructurallyEqual(IComputation<?> canonical, IComputation<?> computation) {
+        if (canonical.getClass() != computation.getClass() || !canonical.equalsNode(computation)) {
+            return false;
+        }
+        List<? extends IComputation<?>> canonicalChildren = canonical.getChildren();
+        List<? extends IComputation<?>> children = computation.getChildren();
+        if (canonicalChildren.size() != children.size()) {
+            return false;
+        }
+        for (int i = 0; i < children.size(); i++) {
+            if (canonicalChildren.get(i) != children.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected void expungeDiscardedEntries() {
+        Object reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            Entry discardedEntry = (Entry) reference;
+            Entry head = entries.get(discardedEntry.fingerprint);
+            Entry previous = null;
+            for (Entry entry = head; entry != null; previous = entry, entry = entry.next) {
+                if (entry == discardedEntry) {
+                    if (previous != null) {
+                        previous.next = entry.next;
+                    } else if (entry.next != null) {
+                        entries.put(discardedEntry.fingerprint, entry.next);
+                    } else {
+                        entries.remove(discardedEntry.fingerprint);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@return the number of canonical computations, including those discarded but not yet expunged}
+     */
+    public synchronized int size() {
+        expungeDiscardedEntries();
+        int size = 0;
+        for (Entry head : entries.values()) {
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Discards all canonical computations.
+     * Computations interned afterwards are not shared with computations interned before.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        while (referenceQueue.poll() != null) {}
+    }
+}
@@ -0,0 +1,476 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.CacheSnapshot.ResultCodec;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records and replays the executions of computations in {@link FutureResult#compute(IComputation, boolean, boolean,
+ * java.util.function.Supplier)}.
+ * While recording, every executed computation node is appended to the recording file as soon as it completes, with
+ * its {@link ComputationSerializer serialized} computation, its {@link IComputation#getFingerprint() fingerprint},
+ * the fingerprints of its dependencies, its scheduling order, its timing, and its encoded result.
+ * Thus, a crash only loses the executions that have not completed yet, and recording does not keep executions in
+ * memory.
+ * As the inputs of a node are the results of its dependencies, they are not stored separately.
+ * While replaying, the recorded results are returned instead of performing the computations, and single
+ * computations can be {@link #replay(IComputation) performed in isolation} with their recorded inputs
+ * (e.g., for benchmarking).
+ * A recorded result is only returned for a computation that equals the serialized recorded computation, so
+ * recordings can be replayed in other JVM instances and results of computations with colliding fingerprints are
+ * never mixed up.
+ * Results of computations that cannot be serialized are recorded, but not replayed.
+ * At most one recorder is active at a time.
+ */
+public class ComputationRecorder implements AutoCloseable {
+
+    /**
+     * An execution of a computation node.
+     */
+    public static class Execution {
+        protected final long sequenceNumber;
+        protected final long fingerprint;
+        protected final String computationClass;
+        protected final long startNanos;
+        protected final long durationNanos;
+        protected final long[] dependencyFingerprints;
+        protected final byte[] computation;
+        protected final byte[] result;
+
+        protected Execution(
+                long sequenceNumber,
+                long fingerprint,
+                String computationClass,
+                long startNanos,
+                long durationNanos,
+                long[] dependencyFingerprints,
+                byte[] computation,
+                byte[] result) {
+            this.sequenceNumber = sequenceNumber;
+            this.fingerprint = fingerprint;
+            this.computationClass = computationClass;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+            this.dependencyFingerprints = dependencyFingerprints;
+            this.computation = computation;
+            this.result = result;
+        }
+
+        /**
+         * {@return the position of this execution in the order in which executions started}
+         */
+        public long getSequenceNumber() {
+            return sequenceNumber;
+        }
+
+        /**
+         * {@return the fingerprint of the executed computation}
+         */
+        public long getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * {@return the class name of the executed computation}
+         */
+        public String getComputationClass() {
+            return computationClass;
+        }
+
+        /**
+         * {@return the start time of this execution, relative to the start of the recording}
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        /**
+         * {@return the duration of this execution}
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * {@return whether the executed computation was recorded}
+         * Computations are not recorded if they cannot be serialized, in which case this execution is not replayed.
+         */
+        public boolean hasComputation() {
+            return computation != null;
+        }
+
+        /**
+         * {@return whether the result of this execution was recorded}
+         * Results are not recorded if they are empty or cannot be encoded.
+         */
+        public boolean hasResult() {
+            return result != null;
+        }
+    }
+
+    private static final int MAGIC = 0x464A5252;
+    private static final int VERSION = 2;
+
+    private static volatile ComputationRecorder activeRecorder;
+
+    protected final Path path;
+    protected final ResultCodec resultCodec;
+    protected final boolean isReplaying;
+    protected final long startTime = System.nanoTime();
+    protected final AtomicLong sequenceNumber = new AtomicLong();
+    protected final List<Execution> executions = new ArrayList<>();
+    protected final Map<Long, List<Execution>> executionsByFingerprint = new HashMap<>();
+    protected DataOutputStream out;
+    protected IOException writeException;
+
+    private ComputationRecorder(Path path, ResultCodec resultCodec, boolean isReplaying) {
+        this.path = path;
+        this.resultCodec = resultCodec;
+        this.isReplaying = isReplaying;
+    }
+
+    /**
+     * Starts recording computations, replacing any active recorder.
+     * Executions are appended to the recording file as they complete.
+     *
+     * @param path        the path of the recording file
+     * @param resultCodec the codec for encoding results
+     * @return the recorder
+     * @throws IOException if the file cannot be written
+     */
+    public static ComputationRecorder record(Path path, ResultCodec resultCodec) throws IOException {
+        ComputationRecorder recorder = new ComputationRecorder(path, resultCodec, false);
+        recorder.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+        recorder.out.writeInt(MAGIC);
+        recorder.out.writeInt(VERSION);
+        recorder.out.flush();
+        activeRecorder = recorder;
+        return recorder;
+    }
+
+    /**
+     * Starts recording computations, encoding results with {@link ResultCodec#SERIALIZABLE}.
+     *
+     * @param path the path of the recording file
+     * @return the recorder
+     * @throws IOException if the file cannot be written
+     */
+    public static ComputationRecorder record(Path path) throws IOException {
+        return record(path, ResultCodec.SERIALIZABLE);
+    }
+
+    /**
+     * Starts replaying computations from a recording file, replacing any active recorder.
+     * Computations whose results are not in the recording are performed as usual.
+     * If the recording ends with an incomplete execution (e.g., because the recording JVM instance crashed), that
+     * execution is ignored.
+     *
+     * @param path        the path of the recording file
+     * @param resultCodec the codec for decoding results
+     * @return the recorder
+     * @throws IOException if the file cannot be read
+     */
+    public static ComputationRecorder replay(Path path, ResultCodec resultCodec) throws IOException {
+        ComputationRecorder recorder = new ComputationRecorder(path, resultCodec, true);
+        recorder.read();
+        activeRecorder = recorder;
+        return recorder;
+    }
+
+    /**
+     * Starts replaying computations from a recording file, decoding results with {@link ResultCodec#SERIALIZABLE}.
+     *
+     * @param path the path of the recording file
+     * @return the recorder
+     * @throws IOException if the file cannot be read
+     */
+    public static ComputationRecorder replay(Path path) throws IOException {
+        return replay(path, ResultCodec.SERIALIZABLE);
+    }
+
+    /**
+     * {@return the result of the given computation for the given dependency list, recorded or replayed by the
+     * active recorder, if any}
+     *
+     * @param computation    the computation
+     * @param dependencyList the dependency list
+     * @param progress       the progress
+     * @param <T>            the type of the computation result
+     */
+    protected static <T> Result<T> compute(
+            IComputation<T> computation, List<Object> dependencyList, Progress progress) {
+        ComputationRecorder recorder = activeRecorder;
+        if (recorder == null) {
+            return computation.compute(dependencyList, progress);
+        }
+        return recorder.isReplaying
+                ? recorder.computeReplaying(computation, dependencyList, progress)
+                : recorder.computeRecording(computation, dependencyList, progress);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Result<T> computeReplaying(
+            IComputation<T> computation, List<Object> dependencyList, Progress progress) {
+        Result<Object> result = getResult(computation);
+        return result.isPresent() ? (Result<T>) result : computation.compute(dependencyList, progress);
+    }
+
+    private <T> Result<T> computeRecording(
+            IComputation<T> computation, List<Object> dependencyList, Progress progress) {
+        long sequenceNumber = this.sequenceNumber.getAndIncrement();
+        long start = System.nanoTime();
+        Result<T> result = computation.compute(dependencyList, progress);
+        long duration = System.nanoTime() - start;
+        List<? extends IComputation<?>> children = computation.getChildren();
+        long[] dependencyFingerprints = new long[children.size()];
+        for (int i = 0; i < dependencyFingerprints.length; i++) {
+            dependencyFingerprints[i] = children.get(i).getFingerprint();
+        }
+        write(new Execution(
+                sequenceNumber,
+                computation.getFingerprint(),
+                computation.getClass().getName(),
+                start - startTime,
+                duration,
+                dependencyFingerprints,
+                ComputationSerializer.serialize(computation).orElse(null),
+                result.flatMap(resultCodec::encode).orElse(null)));
+        return result;
+    }
+
+    /**
+     * {@return the replayed executions, in the order in which they started}
+     * Recorded executions are not kept in memory, but can be read by {@link #replay(Path) replaying} the recording.
+     */
+    public List<Execution> getExecutions() {
+        return Collections.unmodifiableList(executions);
+    }
+
+    /**
+     * {@return the recorded execution of the given computation, if any}
+     * Prefers executions with a recorded result.
+     *
+     * @param computation the computation
+     */
+    protected Result<Execution> getExecution(IComputation<?> computation) {
+        Result<byte[]> key = ComputationSerializer.serialize(computation);
+        if (key.isEmpty()) {
+            return Result.empty();
+        }
+        List<Execution> candidates = executionsByFingerprint.get(ComputationSerializer.getFingerprint(key.get()));
+        if (candidates == null) {
+            return Result.empty();
+        }
+        Execution execution = null;
+        for (Execution candidate : candidates) {
+            if (Arrays.equals(candidate.computation, key.get()) && (execution == null || !execution.hasResult())) {
+                execution = candidate;
+            }
+        }
+        return Result.ofNullable(execution);
+    }
+
+    /**
+     * {@return the recorded result of the given computation, if any}
+     *
+     * @param computation the computation
+     */
+    public Result<Object> getResult(IComputation<?> computation) {
+        return getExecution(computation)
+                .filter(Execution::hasResult)
+                .flatMap(execution -> resultCodec.decode(ByteBuffer.wrap(execution.result)));
+    }
+
+    /**
+     * {@return the result of performing only the given computation with the recorded results of its dependencies}
+     * Does not use the cache and does not compute any dependencies.
+     *
+     * @param computation the computation
+     * @param <T>         the type of the computation result
+     */
+    public <T> Result<T> replay(IComputation<T> computation) {
+        List<Result<?>> dependencyResults = new ArrayList<>();
+        for (IComputation<?> child : computation.getChildren()) {
+            Result<Execution> execution = getExecution(child);
+            if (execution.isEmpty()) {
+                return Result.empty(new Problem(() -> "no recorded result for " + child));
+            }
+            dependencyResults.add(
+                    execution.get().hasResult()
+                            ? resultCodec.decode(ByteBuffer.wrap(execution.get().result))
+                            : Result.empty());
+        }
+        return computation.mergeResults(dependencyResults).flatMap(list -> computation.compute(list, new Progress()));
+    }
+
+    /**
+     * Stops this recorder, if it is active.
+     * If recording, closes the recording file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (activeRecorder == this) {
+            activeRecorder = null;
+        }
+        if (!isReplaying) {
+            synchronized (this) {
+                if (out != null) {
+                    out.close();
+                    out = null;
+                    FeatJAR.log().debug(() -> "recorded " + sequenceNumber.get() + " computations to " + path);
+                }
+                if (writeException != null) {
+                    throw writeException;
+                }
+            }
+        }
+    }
+
+    protected synchronized void write(Execution execution) {
+        if (out == null || writeException != null) {
+            return;
+        }
+        try {
+            out.writeLong(execution.sequenceNumber);
+            out.writeLong(execution.fingerprint);
+            out.writeUTF(execution.computationClass);
+            out.writeLong(execution.startNanos);
+            out.writeLong(execution.durationNanos);
+            out.writeInt(execution.dependencyFingerprints.length);
+            for (long dependencyFingerprint : execution.dependencyFingerprints) {
+                out.writeLong(dependencyFingerprint);
+            }
+            writeBytes(out, execution.computation);
+            writeBytes(out, execution.result);
+            out.flush();
+        } catch (IOException e) {
+            FeatJAR.log().warning(e);
+            writeException = e;
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes != null ? bytes.length : -1);
+        if (bytes != null) {
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    protected void read() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("not a computation recording: " + path);
+            }
+            while (true) {
+                long sequenceNumber;
+                try {
+                    sequenceNumber = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                Execution execution;
+                try {
+                    long fingerprint = in.readLong();
+                    String computationClass = in.readUTF();
+                    long startNanos = in.readLong();
+                    long durationNanos = in.readLong();
+                    long[] dependencyFingerprints = new long[in.readInt()];
+                    for (int j = 0; j < dependencyFingerprints.length; j++) {
+                        dependencyFingerprints[j] = in.readLong();
+                    }
+                    byte[] computation = readBytes(in);
+                    byte[] result = readBytes(in);
+                    execution = new Execution(
+                            sequenceNumber,
+                            fingerprint,
+                            computationClass,
+                            startNanos,
+                            durationNanos,
+                            dependencyFingerprints,
+                            computation,
+                            result);
+                } catch (EOFException e) {
+                    FeatJAR.log().warning("ignoring incomplete execution at the end of " + path);
+                    break;
+                }
+                executions.add(execution);
+                if (execution.computation != null) {
+                    executionsByFingerprint
+                            .computeIfAbsent(
+                                    ComputationSerializer.getFingerprint(execution.computation),
+                                    fingerprint -> new ArrayList<>(1))
+                            .add(execution);
+                }
+            }
+        }
+        executions.sort(Comparator.comparingLong(Execution::getSequenceNumber));
+        FeatJAR.log().debug(() -> "loaded " + executions.size() + " recorded computations from " + path);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ComputationRecorder{%s, %s, executions=%d}",
+                Objects.toString(path),
+                isReplaying ? "replaying" : "recording",
+                isReplaying ? executions.size() : sequenceNumber.get());
+    }
+
+    /**
+     * {@return the active recorder, if any}
+     */
+    public static Result<ComputationRecorder> getActiveRecorder() {
+        return Result.ofNullable(activeRecorder);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serializes computations into bytes and back, so they can be sent to another JVM instance.
+ * A computation tree is serialized node by node, storing the class name and the children of each node.
+ * This relies on the convention that all parameters of a computation are declared as dependencies:
+ * A serializable computation extends {@link AComputation}, does not store parameters in fields, and has a public
+ * constructor that takes its dependencies as arguments (or as an array).
+ * The values of {@link ComputeConstant constant computations} must be {@link Serializable}.
+ */
+public class ComputationSerializer {
+    private static final int MAGIC = 0x464A4343;
+
+    private ComputationSerializer() {}
+
+    /**
+     * {@return the given computation serialized into bytes, or an empty result if it is not serializable}
+     *
+     * @param computation the computation
+     */
+    public static Result<byte[]> serialize(IComputation<?> computation) {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(byteStream)) {
+            out.writeInt(MAGIC);
+            Result<?> result = write(out, computation);
+            if (result.isEmpty()) {
+                return Result.empty(result.getProblems());
+            }
+        } catch (IOException e) {
+            return Result.empty(e);
+        }
+        return Result.of(byteStream.toByteArray());
+    }
+
+    /**
+     * {@return the computation deserialized from the given bytes}
+     *
+     * @param bytes the bytes
+     */
+    public static Result<IComputation<?>> deserialize(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readInt() != MAGIC) {
+                return Result.empty(new Problem("not a serialized computation"));
+            }
+            return read(in);
+        } catch (IOException e) {
+            return Result.empty(e);
+        }
+    }
+
+    /**
+     * {@return a fingerprint of the given serialized computation that is stable across JVM instances}
+     * Unlike {@link IComputation#getFingerprint()}, it does not depend on the string representation of constants.
+     * Different computations may have the same fingerprint, so they must be compared exactly.
+     *
+     * @param bytes the serialized computation
+     */
+    public static long getFingerprint(byte[] bytes) {
+        long fingerprint = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            fingerprint = (fingerprint ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return fingerprint;
+    }
+
+    private static Result<?> write(DataOutputStream out, IComputation<?> computation) throws IOException {
+        Class<?> computationClass = computation.getClass();
+        if (computation instanceof ComputeConstant) {
+            Object value = ((ComputeConstant<?>) computation).value;
+            if (!(value instanceof Serializable)) {
+                return Result.empty(new Problem(
+                        () -> "cannot serialize constant of class " + value.getClass().getName()));
+            }
+            ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(byteStream)) {
+                objectOut.writeObject(value);
+            }
+            out.writeUTF(computationClass.getName());
+            out.writeInt(-1);
+            out.writeInt(byteStream.size());
+            byteStream.writeTo(out);
+            return Result.ofVoid();
+        }
+        Result<?> check = checkSerializable(computationClass);
+        if (check.isEmpty()) {
+            return check;
+        }
+        List<? extends IComputation<?>> children = computation.getChildren();
+        out.writeUTF(computationClass.getName());
+        out.writeInt(children.size());
+        for (IComputation<?> child : children) {
+            Result<?> result = write(out, child);
+            if (result.isEmpty()) {
+                return result;
+            }
+        }
+        return Result.ofVoid();
+    }
+
+    private static Result<?> checkSerializable(Class<?> computationClass) {
+        if (!AComputation.class.isAssignableFrom(computationClass)) {
+            return Result.empty(new Problem(() -> "cannot serialize computation " + computationClass.getName()));
+        }
+        for (Class<?> c = computationClass; c != AComputation.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                    return Result.empty(new Problem(() -> "cannot serialize computation " + computationClass.getName()
+                            + ", as it stores a parameter in field " + field.getName()));
+                }
+            }
+        }
+        return Result.ofVoid();
+    }
+
+    private static Result<IComputation<?>> read(DataInputStream in) throws IOException {
+        String className = in.readUTF();
+        Class<?> computationClass;
+        try {
+            computationClass = Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException e) {
+            return Result.empty(e);
+        }
+        if (!AComputation.class.isAssignableFrom(computationClass)
+                && !ComputeConstant.class.isAssignableFrom(computationClass)) {
+            return Result.empty(new Problem(() -> "cannot deserialize computation " + className));
+        }
+        int childCount = in.readInt();
+        if (childCount < 0) {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return Result.of(new ComputeConstant<>(objectIn.readObject()));
+            } catch (ClassNotFoundException e) {
+                return Result.empty(e);
+            }
+        }
+        Result<?> check = checkSerializable(computationClass);
+        if (check.isEmpty()) {
+            return Result.empty(check.getProblems());
+        }
+        List<IComputation<?>> children = new ArrayList<>(childCount);
+        for (int i = 0; i < childCount; i++) {
+            Result<IComputation<?>> child = read(in);
+            if (child.isEmpty()) {
+                return child;
+            }
+            children.add(child.get());
+        }
+        return instantiate(computationClass, children);
+    }
+
+    private static Result<IComputation<?>> instantiate(Class<?> computationClass, List<IComputation<?>> children) {
+        for (Constructor<?> constructor : computationClass.getConstructors()) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Object[] arguments = null;
+            if (parameterTypes.length == 1
+                    && parameterTypes[0].isArray()
+                    && parameterTypes[0].getComponentType().isAssignableFrom(IComputation.class)) {
+                arguments = new Object[] {children.toArray(new IComputation<?>[0])};
+            } else if (parameterTypes.length == children.size()) {
+                boolean isMatching = true;
+                for (Class<?> parameterType : parameterTypes) {
+                    isMatching &= parameterType.isAssignableFrom(IComputation.class);
+                }
+                if (isMatching) {
+                    arguments = children.toArray();
+                }
+            }
+            if (arguments != null) {
+                try {
+                    return Result.of((IComputation<?>) constructor.newInstance(arguments));
+                } catch (ReflectiveOperationException e) {
+                    return Result.empty(e);
+                }
+            }
+        }
+        return Result.empty(new Problem(() -> "no constructor of " + computationClass.getName() + " takes "
+                + children.size() + " dependencies"));
+    }
+}
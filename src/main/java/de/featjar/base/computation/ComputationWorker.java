@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.CacheSnapshot.ResultCodec;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.base.log.Log;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Performs computations sent by a {@link ComputationWorkerPool} in a separate JVM instance.
+ * Requests and responses are exchanged over standard input and output.
+ * A request consists of the length of a {@link ComputationSerializer serialized computation} and its bytes.
+ * A response consists of a flag whether a result is present, the result encoded with
+ * {@link ResultCodec#SERIALIZABLE}, and the result's problems.
+ * Anything else the computation writes to standard output is redirected to standard error.
+ */
+public class ComputationWorker {
+
+    private ComputationWorker() {}
+
+    /**
+     * Reads computations from standard input and writes their results to standard output until the input ends.
+     *
+     * @param arguments ignored
+     * @throws IOException if an I/O exception occurs
+     */
+    public static void main(String[] arguments) throws IOException {
+        PrintStream protocolOut = System.out;
+        System.setOut(System.err);
+        FeatJAR.Configuration configuration = FeatJAR.configure();
+        configuration.logConfig.logToStream(
+                System.err, Log.Verbosity.ERROR, Log.Verbosity.WARNING, Log.Verbosity.MESSAGE);
+        FeatJAR.initialize(configuration);
+        System.setOut(System.err);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(protocolOut))) {
+            while (true) {
+                byte[] request;
+                try {
+                    request = new byte[in.readInt()];
+                } catch (EOFException e) {
+                    return;
+                }
+                in.readFully(request);
+                Result<?> result;
+                try {
+                    result = ComputationSerializer.deserialize(request)
+                            .flatMap(computation -> computation.computeResult(false, false));
+                } catch (Exception e) {
+                    result = Result.empty(e);
+                }
+                writeResult(out, result);
+                out.flush();
+            }
+        } finally {
+            FeatJAR.deinitialize();
+        }
+    }
+
+    /**
+     * Writes a computation result.
+     *
+     * @param out    the output stream
+     * @param result the result
+     * @throws IOException if an I/O exception occurs
+     */
+    protected static void writeResult(DataOutputStream out, Result<?> result) throws IOException {
+        List<Problem> problems = new ArrayList<>(result.getProblems());
+        Result<byte[]> bytes = result.flatMap(ResultCodec.SERIALIZABLE::encode);
+        if (result.isPresent() && bytes.isEmpty()) {
+            problems.add(new Problem("cannot encode result of class " + result.get().getClass().getName()));
+            problems.addAll(bytes.getProblems());
+        }
+        out.writeBoolean(bytes.isPresent());
+        if (bytes.isPresent()) {
+            out.writeInt(bytes.get().length);
+            out.write(bytes.get());
+        }
+        out.writeInt(problems.size());
+        for (Problem problem : problems) {
+            out.writeUTF(problem.getSeverity().name());
+            writeString(out, problem.getMessage());
+        }
+    }
+
+    /**
+     * {@return a computation result read from the given input stream}
+     *
+     * @param in the input stream
+     * @throws IOException if an I/O exception occurs
+     */
+    protected static Result<Object> readResult(DataInputStream in) throws IOException {
+        Result<Object> result = Result.empty();
+        if (in.readBoolean()) {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            result = ResultCodec.SERIALIZABLE.decode(ByteBuffer.wrap(bytes));
+        }
+        int problemCount = in.readInt();
+        List<Problem> problems = new ArrayList<>(result.getProblems());
+        for (int i = 0; i < problemCount; i++) {
+            Problem.Severity severity = Problem.Severity.valueOf(in.readUTF());
+            problems.add(new Problem(readString(in), severity));
+        }
+        return Result.ofNullable(result.orElse(null), problems);
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = String.valueOf(string).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.base.env.Process;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Performs computations in a pool of {@link ComputationWorker worker} JVM instances on the same machine.
+ * Computations are {@link ComputationSerializer serialized} and sent to a worker, which performs them without
+ * cache and sends back their results.
+ * Thus, computations that crash or use a lot of memory are isolated from the calling JVM instance.
+ * A worker that crashes is replaced by a new one when the next computation is sent.
+ * Results must be {@link java.io.Serializable}.
+ */
+public class ComputationWorkerPool implements AutoCloseable {
+
+    /**
+     * A worker JVM instance and the streams for communicating with it.
+     */
+    protected static class Worker {
+        protected final java.lang.Process process;
+        protected final DataOutputStream in;
+        protected final DataInputStream out;
+
+        protected Worker(java.lang.Process process) {
+            this.process = process;
+            in = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            out = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        }
+
+        protected Result<Object> compute(byte[] request) {
+            try {
+                in.writeInt(request.length);
+                in.write(request);
+                in.flush();
+                return ComputationWorker.readResult(out);
+            } catch (IOException e) {
+                process.destroyForcibly();
+                return Result.empty(new Problem(() -> "worker process crashed: " + e.getMessage()));
+            }
+        }
+
+        protected void destroy() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                FeatJAR.log().warning(e);
+            }
+            process.destroy();
+        }
+    }
+
+    protected final List<String> jvmArguments;
+    protected final ResourcePool<Worker> workers;
+    protected volatile boolean isClosed;
+
+    /**
+     * Creates a worker pool.
+     * Workers are started on demand.
+     *
+     * @param size the maximum number of workers
+     */
+    public ComputationWorkerPool(int size) {
+        this(size, List.of());
+    }
+
+    /**
+     * Creates a worker pool.
+     * Workers are started on demand, with the class path of the current JVM instance.
+     *
+     * @param size         the maximum number of workers
+     * @param jvmArguments additional arguments for the worker JVM instances (e.g., {@code -Xmx4g})
+     */
+    public ComputationWorkerPool(int size, List<String> jvmArguments) {
+        this.jvmArguments = List.copyOf(jvmArguments);
+        workers = new ResourcePool<>(this::startWorker, size)
+                .setValidator(worker -> worker.process.isAlive())
+                .setDestroyer(Worker::destroy);
+    }
+
+    protected Worker startWorker() {
+        List<String> arguments = new ArrayList<>(jvmArguments);
+        arguments.add("-cp");
+        arguments.add(System.getProperty("java.class.path"));
+        arguments.add(ComputationWorker.class.getName());
+        Path javaPath = Path.of(System.getProperty("java.home"), "bin", "java");
+        try {
+            return new Worker(new Process(javaPath, arguments).start(line -> FeatJAR.log().warning(() -> line)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * {@return the result of the given computation, performed in a worker}
+     * Blocks until a worker is available.
+     *
+     * @param computation the computation
+     * @param <T>         the type of the computation result
+     */
+    public <T> Result<T> computeResult(IComputation<T> computation) {
+        return computeResult(computation, null);
+    }
+
+    /**
+     * {@return the result of the given computation, performed in a worker}
+     * Blocks until a worker is available or the given timeout has passed.
+     *
+     * @param computation the computation
+     * @param timeout     the timeout for waiting for a worker, or {@code null} to wait indefinitely
+     * @param <T>         the type of the computation result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> computeResult(IComputation<T> computation, Duration timeout) {
+        if (isClosed) {
+            return Result.empty(new Problem("worker pool is closed"));
+        }
+        Result<byte[]> request = ComputationSerializer.serialize(computation);
+        if (request.isEmpty()) {
+            return Result.empty(request.getProblems());
+        }
+        Result<Object> response = workers.use(worker -> worker.compute(request.get()), timeout);
+        if (isClosed) {
+            workers.clear();
+        }
+        return response.flatMap(result -> (Result<T>) result);
+    }
+
+    /**
+     * {@return the statistics of this pool's workers}
+     */
+    public ResourcePool.Statistics getStatistics() {
+        return workers.getStatistics();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Stops all idle workers.
+     * Workers that are currently performing a computation are stopped as soon as they have finished it, and no new
+     * computations are accepted.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        workers.clear();
+    }
+}
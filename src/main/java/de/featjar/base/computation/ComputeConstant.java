@@ -23,6 +23,7 @@ package de.featjar.base.computation;
 import de.featjar.base.data.Result;
 import de.featjar.base.tree.structure.ALeafNode;
 import de.featjar.base.tree.structure.ITree;
+import java.security.SecureRandom;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -36,6 +37,8 @@ import java.util.function.Supplier;
  * @author Elias Kuiter
  */
 public class ComputeConstant<T> extends ALeafNode<IComputation<?>> implements IComputation<T> {
+    private static final long INSTANCE_NONCE = new SecureRandom().nextLong();
+
     // todo: T should implement Serializable and overload hashCode and equals
     protected final T value;
 
@@ -64,6 +67,27 @@ public class ComputeConstant<T> extends ALeafNode<IComputation<?>> implements IC
         return Objects.hash(getClass(), value);
     }
 
+    /**
+     * {@inheritDoc}
+     * Includes the string representation of the value if its class overrides {@link Object#toString()}.
+     * Otherwise, the fingerprint is unique to this JVM instance, so it never matches in another instance.
+     * As string representations may be lossy, different values can have the same fingerprint.
+     */
+    @Override
+    public String getNodeFingerprint() {
+        Class<?> valueClass = value.getClass();
+        try {
+            if (valueClass.getMethod("toString").getDeclaringClass() != Object.class) {
+                return String.format("%s(%s, %s)", getClass().getName(), valueClass.getName(), value);
+            }
+        } catch (NoSuchMethodException e) {
+            // cannot happen, as every class has a toString method
+        }
+        return String.format(
+                "%s(%s, %s@%d)",
+                getClass().getName(), valueClass.getName(), INSTANCE_NONCE, System.identityHashCode(value));
+    }
+
     @Override
     public ITree<IComputation<?>> cloneNode() {
         return new ComputeConstant<>(value);
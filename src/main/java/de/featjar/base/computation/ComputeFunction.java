@@ -80,6 +80,11 @@ public class ComputeFunction<T, U> extends AComputation<U> {
         return Objects.hash(super.hashCodeNode(), klass, scope);
     }
 
+    @Override
+    public String getNodeFingerprint() {
+        return super.getNodeFingerprint() + "(" + klass.getName() + ", " + scope + ")";
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s, %s)", super.toString(), klass.getSimpleName(), scope);
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.base.env.Process;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.function.Predicate;
+
+/**
+ * Retries a computation that fails transiently (e.g., an external process that runs out of resources, which can be
+ * detected with {@link RetryPolicy#PROCESS_PROBLEMS}).
+ * Has the same dependencies as the retried computation, which are only computed once.
+ * Only {@link IComputation#compute(List, Progress)} of the retried computation is performed again, with an
+ * exponential backoff between attempts.
+ * Two retry computations are equal if their retried computations are equal, regardless of their retry policies,
+ * as retrying does not change the result.
+ *
+ * @param <T> the type of the computation result
+ */
+public class ComputeRetry<T> extends AComputation<T> {
+
+    /**
+     * Specifies when and how often to retry a computation.
+     */
+    public static class RetryPolicy {
+        /**
+         * Considers problems caused by I/O exceptions as transient.
+         */
+        public static final Predicate<Problem> IO_PROBLEMS = problem -> problem.getException() instanceof IOException;
+
+        /**
+         * Considers problems caused by a failing external {@link Process} as transient.
+         */
+        public static final Predicate<Problem> PROCESS_PROBLEMS =
+                problem -> problem.getException() instanceof Process.ExitException;
+
+        protected int maximumAttempts = 3;
+
+        protected Duration backoff = Duration.ofMillis(100);
+
+        protected Duration maximumBackoff = Duration.ofSeconds(10);
+
+        protected Predicate<Problem> isTransient = problem -> true;
+
+        /**
+         * Configures the maximum number of attempts, including the first one.
+         *
+         * @param maximumAttempts the maximum number of attempts
+         * @return this policy
+         */
+        public RetryPolicy setMaximumAttempts(int maximumAttempts) {
+            this.maximumAttempts = Math.max(1, maximumAttempts);
+            return this;
+        }
+
+        /**
+         * Configures the backoff before the first retry, which doubles with every further retry up to a maximum.
+         *
+         * @param backoff        the initial backoff
+         * @param maximumBackoff the maximum backoff
+         * @return this policy
+         */
+        public RetryPolicy setBackoff(Duration backoff, Duration maximumBackoff) {
+            this.backoff = Objects.requireNonNull(backoff);
+            this.maximumBackoff = Objects.requireNonNull(maximumBackoff);
+            return this;
+        }
+
+        /**
+         * Configures which problems are transient.
+         * A failed attempt is only retried if at least one of its problems is transient.
+         * By default, all problems are considered transient.
+         *
+         * @param isTransient the predicate
+         * @return this policy
+         */
+        public RetryPolicy setTransient(Predicate<Problem> isTransient) {
+            this.isTransient = Objects.requireNonNull(isTransient);
+            return this;
+        }
+
+        /**
+         * {@return the backoff before the given retry}
+         *
+         * @param retry the retry, starting at one
+         */
+        public Duration getBackoff(int retry) {
+            Duration currentBackoff = backoff;
+            for (int i = 1; i < retry && currentBackoff.compareTo(maximumBackoff) < 0; i++) {
+                currentBackoff = currentBackoff.multipliedBy(2);
+            }
+            return currentBackoff.compareTo(maximumBackoff) < 0 ? currentBackoff : maximumBackoff;
+        }
+
+        /**
+         * {@return whether a failed result should be retried}
+         *
+         * @param result the failed result
+         */
+        public boolean isTransient(Result<?> result) {
+            return result.getProblems().stream().anyMatch(isTransient);
+        }
+    }
+
+    protected final IComputation<T> computation;
+    protected final RetryPolicy retryPolicy;
+
+    /**
+     * Creates a retry computation.
+     *
+     * @param computation the retried computation
+     * @param retryPolicy the retry policy
+     */
+    public ComputeRetry(IComputation<T> computation, RetryPolicy retryPolicy) {
+        super();
+        this.computation = Objects.requireNonNull(computation);
+        this.retryPolicy = Objects.requireNonNull(retryPolicy);
+        setChildren(computation.getChildren());
+    }
+
+    protected ComputeRetry(ComputeRetry<T> other) {
+        super(other);
+        this.computation = other.computation;
+        this.retryPolicy = other.retryPolicy;
+    }
+
+    /**
+     * {@return the retried computation}
+     */
+    public IComputation<T> getComputation() {
+        return computation;
+    }
+
+    @Override
+    public Result<List<Object>> mergeResults(List<? extends Result<?>> results) {
+        return computation.mergeResults(results);
+    }
+
+    @Override
+    public Result<T> compute(List<Object> dependencyList, Progress progress) {
+        for (int attempt = 1; ; attempt++) {
+            Result<T> result;
+            try {
+                result = computation.compute(dependencyList, progress);
+            } catch (CancellationException e) {
+                throw e;
+            } catch (Exception e) {
+                result = Result.empty(e);
+            }
+            if (result.isPresent() || attempt >= retryPolicy.maximumAttempts || !retryPolicy.isTransient(result)) {
+                return result;
+            }
+            Duration backoff = retryPolicy.getBackoff(attempt);
+            int failedAttempt = attempt;
+            FeatJAR.log()
+                    .debug(() -> "attempt " + failedAttempt + " of " + computation + " failed, retrying in " + backoff);
+            try {
+                Thread.sleep(backoff.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException();
+            }
+        }
+    }
+
+    @Override
+    public Result<T> getIntermediateResult() {
+        return computation.getIntermediateResult();
+    }
+
+    @Override
+    public boolean equalsNode(IComputation<?> other) {
+        return getClass() == other.getClass() && computation.equalsNode(((ComputeRetry<?>) other).computation);
+    }
+
+    @Override
+    public int hashCodeNode() {
+        return Objects.hash(getClass(), computation.hashCodeNode());
+    }
+
+    @Override
+    public String getNodeFingerprint() {
+        return getClass().getName() + "(" + computation.getNodeFingerprint() + ")";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%s)", super.toString(), computation);
+    }
+}
@@ -59,6 +59,10 @@ public class FallbackCache extends Cache {
         return false;
     }
 
+    public <T> boolean refresh(IComputation<T> computation) {
+        return false;
+    }
+
     public void clear() {}
 
     public Long getNumberOfHits(IComputation<?> computation) {
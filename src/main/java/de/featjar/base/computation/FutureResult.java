@@ -80,7 +80,7 @@ public class FutureResult<T> implements Supplier<Result<T>> {
         if (Thread.interrupted()) {
             throw new CancellationException();
         }
-        return computation.compute(args, progress);
+        return ComputationRecorder.compute(computation, args, progress);
     }
 
     /**
@@ -109,13 +109,12 @@ public class FutureResult<T> implements Supplier<Result<T>> {
 
         if (tryHitCache) {
             Result<FutureResult<U>> cacheHit = FeatJAR.cache().tryHit(computation);
-            if (cacheHit.isPresent()) {
-                Result<U> result = cacheHit.get().getPromise().getNow(Result.<U>empty());
-                if (result.isPresent()) {
-                    return new FutureResult<>(
-                            DependentPromise.from(CompletableTask.completed(result, getExecutor()), PromiseOrigin.ALL),
-                            progress);
-                }
+            if (cacheHit.isPresent() && cacheHit.get().getPromise().isDone()) {
+                // may be an empty result if failures are cached
+                Result<U> result = cacheHit.get().get();
+                return new FutureResult<>(
+                        DependentPromise.from(CompletableTask.completed(result, getExecutor()), PromiseOrigin.ALL),
+                        progress);
             }
         }
 
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import de.featjar.base.data.Result;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Persists {@link Checkpoint checkpoints} of long-running computations, so they can be resumed in another
+ * JVM instance.
+ * Checkpoints are identified by a fingerprint of their serialized computation.
+ * As fingerprints may collide, a {@link Checkpoint} verifies that a loaded checkpoint belongs to its computation.
+ */
+public interface ICheckpointStore {
+
+    /**
+     * Stores checkpoints as files in a directory.
+     * Files are replaced atomically, so a crash while saving does not corrupt the previous checkpoint.
+     */
+    class FileCheckpointStore implements ICheckpointStore {
+        protected final Path directory;
+
+        /**
+         * Creates a file checkpoint store.
+         *
+         * @param directory the directory, which is created if necessary
+         */
+        public FileCheckpointStore(Path directory) {
+            this.directory = directory;
+        }
+
+        protected Path getPath(long fingerprint) {
+            return directory.resolve(String.format("%016x.checkpoint", fingerprint));
+        }
+
+        @Override
+        public void save(long fingerprint, byte[] checkpoint) throws IOException {
+            Files.createDirectories(directory);
+            Path temporaryPath = Files.createTempFile(directory, null, ".tmp");
+            try {
+                Files.write(temporaryPath, checkpoint);
+                Files.move(
+                        temporaryPath,
+                        getPath(fingerprint),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryPath);
+            }
+        }
+
+        @Override
+        public Result<byte[]> load(long fingerprint) {
+            try {
+                return Result.of(Files.readAllBytes(getPath(fingerprint)));
+            } catch (NoSuchFileException e) {
+                return Result.empty();
+            } catch (IOException e) {
+                return Result.empty(e);
+            }
+        }
+
+        @Override
+        public void delete(long fingerprint) throws IOException {
+            Files.deleteIfExists(getPath(fingerprint));
+        }
+    }
+
+    /**
+     * Saves a checkpoint, replacing any previous checkpoint of the same computation.
+     *
+     * @param fingerprint the fingerprint of the computation
+     * @param checkpoint  the checkpoint
+     * @throws IOException if the checkpoint cannot be saved
+     */
+    void save(long fingerprint, byte[] checkpoint) throws IOException;
+
+    /**
+     * {@return the last saved checkpoint of a computation, if any}
+     *
+     * @param fingerprint the fingerprint of the computation
+     */
+    Result<byte[]> load(long fingerprint);
+
+    /**
+     * Deletes the checkpoint of a computation, if any.
+     *
+     * @param fingerprint the fingerprint of the computation
+     * @throws IOException if the checkpoint cannot be deleted
+     */
+    void delete(long fingerprint) throws IOException;
+}
@@ -326,9 +326,73 @@ public interface IComputation<T> extends Supplier<Result<T>>, IDependent {
         });
     }
 
-    // todo: serialization scheme. may require that all inputs (all dependencies) implement Serializable.
+    /**
+     * {@return a computation that retries this computation if it fails transiently}
+     * The dependencies of this computation are not retried.
+     *
+     * @param retryPolicy the retry policy
+     */
+    default IComputation<T> retry(ComputeRetry.RetryPolicy retryPolicy) {
+        return new ComputeRetry<>(this, retryPolicy);
+    }
+
+    /**
+     * {@return a computation that retries this computation with an exponential backoff if it fails}
+     * The dependencies of this computation are not retried.
+     *
+     * @param maximumAttempts the maximum number of attempts, including the first one
+     */
+    default IComputation<T> retry(int maximumAttempts) {
+        return retry(new ComputeRetry.RetryPolicy().setMaximumAttempts(maximumAttempts));
+    }
+
+    /**
+     * {@return a fingerprint of this computation's node (not its children) that is stable across JVM instances}
+     * Must distinguish all nodes that are not {@link #equalsNode(IComputation) equal}.
+     * As all parameters of a computation should be declared as dependencies, the class name suffices by default.
+     * Should be overridden by computations that store parameters in fields (e.g., {@link ComputeFunction}).
+     */
+    default String getNodeFingerprint() {
+        return getClass().getName();
+    }
+
+    /**
+     * {@return a fingerprint of this computation (and its children) that is stable across JVM instances}
+     * Relies on {@link #getNodeFingerprint()}.
+     * Different computations may have the same fingerprint, so it must only be used to find candidates (e.g., in
+     * {@link CacheSnapshot cache snapshots}), which are then compared exactly.
+     */
+    default long getFingerprint() {
+        long fingerprint = 0xcbf29ce484222325L;
+        String nodeFingerprint = getNodeFingerprint();
+        for (int i = 0; i < nodeFingerprint.length(); i++) {
+            fingerprint = (fingerprint ^ nodeFingerprint.charAt(i)) * 0x100000001b3L;
+        }
+        for (IComputation<?> child : getChildren()) {
+            fingerprint = (fingerprint ^ child.getFingerprint()) * 0x9e3779b97f4a7c15L;
+            fingerprint ^= fingerprint >>> 31;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * {@return the canonical instance of this computation, as determined by the interner configured in the cache}
+     * If no interner is configured, returns this computation.
+     * Should be called right after constructing a computation, as this computation's children may be replaced by
+     * their canonical instances.
+     */
+    default IComputation<T> intern() {
+        Cache.Configuration configuration = getCache().getConfiguration();
+        return configuration != null && configuration.interner != null ? configuration.interner.intern(this) : this;
+    }
+
+    /**
+     * {@return this computation serialized into bytes, or an empty array if it is not serializable}
+     * Can be deserialized with {@link ComputationSerializer#deserialize(byte[])}.
+     * Use {@link ComputationSerializer#serialize(IComputation)} to learn why a computation is not serializable.
+     */
     default byte[] serialize() {
-        return new byte[] {};
+        return ComputationSerializer.serialize(this).orElse(new byte[0]);
     }
 
     // TODO: validate whether a computation is sensible.
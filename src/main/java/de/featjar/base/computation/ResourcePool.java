@@ -20,46 +20,444 @@
  */
 package de.featjar.base.computation;
 
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Problem;
 import de.featjar.base.data.Result;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+/**
+ * A bounded pool of expensive resources (e.g., solver instances) that are created on demand.
+ * A borrowing thread first tries the resource it used last, then any idle resource, and only then
+ * creates a new resource or waits for one to be released.
+ * Resources are claimed with a compare-and-set on their state, so borrowing an available resource never blocks.
+ * Idle resources can be evicted after a timeout and validated before they are handed out.
+ *
+ * @param <T> the type of the pooled resources
+ */
 public class ResourcePool<T> {
 
-    private final BlockingQueue<T> pool;
-    private Supplier<T> supplier;
+    private static final int IDLE = 0;
+    private static final int IN_USE = 1;
+    private static final int REMOVED = 2;
 
-    private int maxObjectsToCreate;
+    private static final class Entry<T> {
+        private final T resource;
+        private final AtomicInteger state = new AtomicInteger(IN_USE);
+        private volatile long lastReleased;
+
+        private Entry(T resource) {
+            this.resource = resource;
+        }
+
+        private boolean claim() {
+            return state.get() == IDLE && state.compareAndSet(IDLE, IN_USE);
+        }
+    }
 
+    /**
+     * A snapshot of the statistics of a resource pool.
+     */
+    public static class Statistics {
+        private final int size;
+        private final int resources;
+        private final int inUse;
+        private final long borrows;
+        private final long threadLocalHits;
+        private final long timeouts;
+        private final long created;
+        private final long removed;
+        private final long totalWaitNanos;
+        private final long maximumWaitNanos;
+
+        private Statistics(
+                int size,
+                int resources,
+                int inUse,
+                long borrows,
+                long threadLocalHits,
+                long timeouts,
+                long created,
+                long removed,
+                long totalWaitNanos,
+                long maximumWaitNanos) {
+            this.size = size;
+            this.resources = resources;
+            this.inUse = inUse;
+            this.borrows = borrows;
+            this.threadLocalHits = threadLocalHits;
+            this.timeouts = timeouts;
+            this.created = created;
+            this.removed = removed;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maximumWaitNanos = maximumWaitNanos;
+        }
+
+        /**
+         * {@return the maximum number of resources in the pool}
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * {@return the number of currently existing resources}
+         */
+        public int getResources() {
+            return resources;
+        }
+
+        /**
+         * {@return the number of currently borrowed resources}
+         */
+        public int getInUse() {
+            return inUse;
+        }
+
+        /**
+         * {@return the fraction of the pool's capacity that is currently borrowed}
+         */
+        public double getUtilization() {
+            return size == 0 ? 0 : (double) inUse / size;
+        }
+
+        /**
+         * {@return the number of successful borrows}
+         */
+        public long getBorrows() {
+            return borrows;
+        }
+
+        /**
+         * {@return the number of borrows that reused the resource last used by the same thread}
+         */
+        public long getThreadLocalHits() {
+            return threadLocalHits;
+        }
+
+        /**
+         * {@return the number of borrows that timed out}
+         */
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        /**
+         * {@return the number of created resources}
+         */
+        public long getCreated() {
+            return created;
+        }
+
+        /**
+         * {@return the number of resources removed due to eviction or a failed health check}
+         */
+        public long getRemoved() {
+            return removed;
+        }
+
+        /**
+         * {@return the average time in nanoseconds a borrow waited for a free slot}
+         */
+        public double getAverageWaitNanos() {
+            return borrows == 0 ? 0 : (double) totalWaitNanos / borrows;
+        }
+
+        /**
+         * {@return the maximum time in nanoseconds a borrow waited for a free slot}
+         */
+        public long getMaximumWaitNanos() {
+            return maximumWaitNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "ResourcePool.Statistics{resources=%d/%d, utilization=%.2f, borrows=%d, threadLocalHits=%d, timeouts=%d, created=%d, removed=%d, averageWaitNanos=%.0f, maximumWaitNanos=%d}",
+                    resources,
+                    size,
+                    getUtilization(),
+                    borrows,
+                    threadLocalHits,
+                    timeouts,
+                    created,
+                    removed,
+                    getAverageWaitNanos(),
+                    maximumWaitNanos);
+        }
+    }
+
+    private final Supplier<T> supplier;
+    private final int size;
+
+    private final Semaphore slots;
+    private final CopyOnWriteArrayList<Entry<T>> entries = new CopyOnWriteArrayList<>();
+    private final AtomicInteger resourceCount = new AtomicInteger();
+    private final ThreadLocal<Entry<T>> lastUsed = new ThreadLocal<>();
+
+    private Predicate<T> validator;
+    private Consumer<T> destroyer;
+    private long idleTimeoutNanos = -1;
+    private final AtomicLong lastEviction = new AtomicLong(System.nanoTime());
+
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder threadLocalHits = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder removed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maximumWaitNanos = new AtomicLong();
+
+    /**
+     * Creates a resource pool.
+     *
+     * @param supplier creates a new resource
+     * @param size     the maximum number of resources
+     */
     public ResourcePool(Supplier<T> supplier, int size) {
-        this.supplier = supplier;
-        pool = new ArrayBlockingQueue<>(size, true);
-        maxObjectsToCreate = size;
-    }
-
-    public <R> Result<R> use(Function<T, R> funtion) {
-        if (maxObjectsToCreate > 0) {
-            synchronized (pool) {
-                if (maxObjectsToCreate > 0) {
-                    --maxObjectsToCreate;
-                    pool.offer(supplier.get());
-                } else {
-                    supplier = null;
-                }
-            }
+        if (size <= 0) throw new IllegalArgumentException(String.valueOf(size));
+        this.supplier = Objects.requireNonNull(supplier);
+        this.size = size;
+        slots = new Semaphore(size);
+    }
+
+    /**
+     * Sets a health check that is performed on an idle resource before it is handed out.
+     * Resources that fail the check are removed from the pool and replaced.
+     *
+     * @param validator the validator, or {@code null} to disable health checks
+     * @return this pool
+     */
+    public ResourcePool<T> setValidator(Predicate<T> validator) {
+        this.validator = validator;
+        return this;
+    }
+
+    /**
+     * Sets a function that releases a resource when it is removed from the pool.
+     *
+     * @param destroyer the destroyer, or {@code null} to simply discard removed resources
+     * @return this pool
+     */
+    public ResourcePool<T> setDestroyer(Consumer<T> destroyer) {
+        this.destroyer = destroyer;
+        return this;
+    }
+
+    /**
+     * Sets the time after which an idle resource is evicted from the pool.
+     * Eviction is performed by {@link #evictIdle()}, which is also triggered by borrows at most once per timeout.
+     *
+     * @param idleTimeout the idle timeout, or {@code null} to keep idle resources indefinitely
+     * @return this pool
+     */
+    public ResourcePool<T> setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeoutNanos = idleTimeout == null ? -1 : idleTimeout.toNanos();
+        return this;
+    }
+
+    /**
+     * Applies a function to a resource of this pool.
+     * Blocks until a resource is available.
+     *
+     * @param function the function
+     * @param <R>      the type of the function's result
+     * @return the function's result, or an empty result if the function fails
+     */
+    public <R> Result<R> use(Function<T, R> function) {
+        return use(function, null);
+    }
+
+    /**
+     * Applies a function to a resource of this pool.
+     * Blocks until a resource is available or the given timeout has passed.
+     *
+     * @param function the function
+     * @param timeout  the timeout, or {@code null} to wait indefinitely
+     * @param <R>      the type of the function's result
+     * @return the function's result, or an empty result if the function fails or the timeout has passed
+     */
+    public <R> Result<R> use(Function<T, R> function, Duration timeout) {
+        Result<Entry<T>> entry = borrow(timeout);
+        if (entry.isEmpty()) {
+            return Result.empty(entry.getProblems());
         }
-        T resource = null;
         try {
-            resource = pool.take();
-            return Result.ofNullable(funtion.apply(resource));
+            return Result.ofNullable(function.apply(entry.get().resource));
         } catch (Exception e) {
             return Result.empty(e);
         } finally {
-            if (resource != null) {
-                pool.offer(resource);
+            release(entry.get());
+        }
+    }
+
+    private Result<Entry<T>> borrow(Duration timeout) {
+        long start = System.nanoTime();
+        try {
+            if (!slots.tryAcquire()) {
+                if (timeout == null) {
+                    slots.acquire();
+                } else if (!slots.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                    timeouts.increment();
+                    return Result.empty(new Problem(() -> "no resource available after " + timeout));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.empty(e);
+        }
+        long waitNanos = System.nanoTime() - start;
+        totalWaitNanos.add(waitNanos);
+        maximumWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        borrows.increment();
+
+        try {
+            tryEvictIdle();
+            Entry<T> entry = lastUsed.get();
+            if (entry != null && entry.claim()) {
+                if (isValid(entry)) {
+                    threadLocalHits.increment();
+                    return Result.of(entry);
+                }
+            }
+            while (true) {
+                for (Entry<T> candidate : entries) {
+                    if (candidate.claim() && isValid(candidate)) {
+                        return Result.of(candidate);
+                    }
+                }
+                int count = resourceCount.get();
+                if (count < size && resourceCount.compareAndSet(count, count + 1)) {
+                    try {
+                        entry = new Entry<>(supplier.get());
+                    } catch (RuntimeException e) {
+                        resourceCount.decrementAndGet();
+                        throw e;
+                    }
+                    entries.add(entry);
+                    created.increment();
+                    return Result.of(entry);
+                }
+                Thread.onSpinWait();
+            }
+        } catch (RuntimeException e) {
+            slots.release();
+            return Result.empty(e);
+        }
+    }
+
+    private boolean isValid(Entry<T> entry) {
+        if (validator == null) {
+            return true;
+        }
+        boolean valid;
+        try {
+            valid = validator.test(entry.resource);
+        } catch (Exception e) {
+            FeatJAR.log().warning(e);
+            valid = false;
+        }
+        if (!valid) {
+            entry.state.set(REMOVED);
+            remove(entry);
+        }
+        return valid;
+    }
+
+    private void release(Entry<T> entry) {
+        entry.lastReleased = System.nanoTime();
+        entry.state.set(IDLE);
+        lastUsed.set(entry);
+        slots.release();
+    }
+
+    private void remove(Entry<T> entry) {
+        if (entries.remove(entry)) {
+            resourceCount.decrementAndGet();
+            removed.increment();
+            if (destroyer != null) {
+                try {
+                    destroyer.accept(entry.resource);
+                } catch (Exception e) {
+                    FeatJAR.log().warning(e);
+                }
+            }
+        }
+    }
+
+    private void tryEvictIdle() {
+        if (idleTimeoutNanos >= 0) {
+            long now = System.nanoTime();
+            long last = lastEviction.get();
+            if (now - last >= idleTimeoutNanos && lastEviction.compareAndSet(last, now)) {
+                evictIdle();
+            }
+        }
+    }
+
+    /**
+     * Removes all resources that have been idle for longer than the configured idle timeout.
+     *
+     * @return the number of evicted resources
+     */
+    public int evictIdle() {
+        if (idleTimeoutNanos < 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Entry<T> entry : entries) {
+            if (now - entry.lastReleased >= idleTimeoutNanos && entry.state.compareAndSet(IDLE, REMOVED)) {
+                remove(entry);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Removes all idle resources from this pool.
+     * Borrowed resources are not affected.
+     */
+    public void clear() {
+        for (Entry<T> entry : entries) {
+            if (entry.state.compareAndSet(IDLE, REMOVED)) {
+                remove(entry);
             }
         }
     }
+
+    /**
+     * {@return the maximum number of resources in this pool}
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * {@return a snapshot of this pool's statistics}
+     */
+    public Statistics getStatistics() {
+        return new Statistics(
+                size,
+                resourceCount.get(),
+                size - slots.availablePermits(),
+                borrows.sum(),
+                threadLocalHits.sum(),
+                timeouts.sum(),
+                created.sum(),
+                removed.sum(),
+                totalWaitNanos.sum(),
+                maximumWaitNanos.get());
+    }
 }
@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable, compressed list of integers, intended for archiving or caching large collections of integer lists.
+ * The integers are sorted by their absolute value, so the order of the original list is not preserved.
+ * Absolute values are stored as differences to their predecessor, encoded as variable-length integers (7 bits per
+ * byte), and signs are stored in a separate bitmap.
+ * Thus, lists of nearby integers (e.g., literals of a clause) need little more than one byte per integer.
+ * The integers are decoded on the fly when iterating or checking membership.
+ */
+public class CompressedIntegerList implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Decodes the integers of a compressed integer list in order.
+     */
+    protected class Decoder implements PrimitiveIterator.OfInt {
+        protected int index;
+        protected int position;
+        protected long absoluteValue;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * {@return the absolute value of the next integer}
+         * The sign of the integer can be obtained afterwards with {@link #isNegative()}.
+         */
+        protected long nextAbsoluteValue() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            absoluteValue += delta;
+            index++;
+            return absoluteValue;
+        }
+
+        /**
+         * {@return whether the integer last returned is negative}
+         */
+        protected boolean isNegative() {
+            int i = index - 1;
+            return (signs[i >>> 6] & (1L << i)) != 0;
+        }
+
+        @Override
+        public int nextInt() {
+            long value = nextAbsoluteValue();
+            return (int) (isNegative() ? -value : value);
+        }
+    }
+
+    protected final byte[] bytes;
+    protected final long[] signs;
+    protected final int size;
+    protected transient boolean hashCodeValid;
+    protected transient int hashCode;
+
+    /**
+     * Creates a compressed integer list from a given array of integers.
+     *
+     * @param integers the integers
+     */
+    public CompressedIntegerList(int... integers) {
+        size = integers.length;
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = key(integers[i]);
+        }
+        Arrays.sort(keys);
+        signs = new long[(size + 63) >>> 6];
+        byte[] buffer = new byte[size * 5];
+        int position = 0;
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long absoluteValue = keys[i] >>> 1;
+            if ((keys[i] & 1) == 0) {
+                signs[i >>> 6] |= 1L << i;
+            }
+            long delta = absoluteValue - previous;
+            previous = absoluteValue;
+            while (delta >= 0x80) {
+                buffer[position++] = (byte) (delta | 0x80);
+                delta >>>= 7;
+            }
+            buffer[position++] = (byte) delta;
+        }
+        bytes = Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * Creates a compressed integer list from a given integer list.
+     *
+     * @param integerList the integer list
+     */
+    public CompressedIntegerList(IntegerList integerList) {
+        this(integerList.elements);
+    }
+
+    /**
+     * {@return a key that orders integers by absolute value, negative integers first}
+     *
+     * @param integer the integer
+     */
+    private static long key(int integer) {
+        return (Math.abs((long) integer) << 1) | (integer < 0 ? 0 : 1);
+    }
+
+    /**
+     * {@return the number of integers in this list}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return whether this list is empty}
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * {@return the number of bytes used to store the integers of this list}
+     */
+    public int getEncodedSize() {
+        return bytes.length + signs.length * Long.BYTES;
+    }
+
+    /**
+     * {@return an iterator over the integers of this list, in ascending order of their absolute value, negative
+     * integers first}
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new Decoder();
+    }
+
+    /**
+     * {@return this list's integers as an {@code IntStream}}
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(
+                Spliterators.spliterator(
+                        iterator(), size, Spliterator.ORDERED | Spliterator.SIZED | Spliterator.IMMUTABLE),
+                false);
+    }
+
+    /**
+     * {@return whether this list contains the given integer}
+     * Decodes this list until the absolute value of the integer is reached.
+     *
+     * @param integer the integer
+     */
+    public boolean contains(int integer) {
+        long absoluteValue = Math.abs((long) integer);
+        boolean isNegative = integer < 0;
+        Decoder decoder = new Decoder();
+        while (decoder.hasNext()) {
+            long value = decoder.nextAbsoluteValue();
+            if (value == absoluteValue && decoder.isNegative() == isNegative) {
+                return true;
+            }
+            if (value > absoluteValue) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@return whether this list contains all of the given integers}
+     * Decodes this list at most once.
+     *
+     * @param integers the integers
+     */
+    public boolean containsAll(int... integers) {
+        long[] keys = new long[integers.length];
+        for (int i = 0; i < integers.length; i++) {
+            keys[i] = key(integers[i]);
+        }
+        Arrays.sort(keys);
+        Decoder decoder = new Decoder();
+        long current = -1;
+        for (long key : keys) {
+            while (current < key) {
+                if (!decoder.hasNext()) {
+                    return false;
+                }
+                long absoluteValue = decoder.nextAbsoluteValue();
+                current = (absoluteValue << 1) | (decoder.isNegative() ? 0 : 1);
+            }
+            if (current != key) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@return the number of negative values in this list}
+     */
+    public int countNegatives() {
+        int count = 0;
+        for (long word : signs) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * {@return the decoded integers of this list, in ascending order of their absolute value, negative integers
+     * first} The returned array may be modified.
+     */
+    public int[] toArray() {
+        int[] integers = new int[size];
+        Decoder decoder = new Decoder();
+        for (int i = 0; i < size; i++) {
+            integers[i] = decoder.nextInt();
+        }
+        return integers;
+    }
+
+    /**
+     * {@return a new integer list containing the decoded integers of this list}
+     */
+    public IntegerList toIntegerList() {
+        return new IntegerList(toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        if (!hashCodeValid) {
+            hashCode = 31 * Arrays.hashCode(bytes) + Arrays.hashCode(signs);
+            hashCodeValid = true;
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if ((obj == null) || (getClass() != obj.getClass())) {
+            return false;
+        }
+        CompressedIntegerList other = (CompressedIntegerList) obj;
+        return size == other.size && Arrays.equals(bytes, other.bytes) && Arrays.equals(signs, other.signs);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
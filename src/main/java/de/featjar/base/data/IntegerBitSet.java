@@ -0,0 +1,456 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import java.util.Arrays;
+
+/**
+ * A set of non-zero integers (e.g., signed literals), stored as two bitsets for positive and negative integers.
+ * In contrast to {@link IntegerList}, membership is checked in constant time and operations on two sets work on
+ * 64 integers at once, which pays off for dense sets over many variables.
+ * Integers are indexed by their absolute value, so the memory is proportional to the largest absolute value.
+ * Can be converted from and to an {@link IntegerList}, which lists the integers in order of their absolute value.
+ */
+public class IntegerBitSet {
+
+    protected long[] positive;
+    protected long[] negative;
+
+    /**
+     * Creates an empty integer bit set.
+     */
+    public IntegerBitSet() {
+        this(64);
+    }
+
+    /**
+     * Creates an empty integer bit set with space for integers up to a given absolute value.
+     *
+     * @param maximumAbsoluteValue the maximum absolute value
+     */
+    public IntegerBitSet(int maximumAbsoluteValue) {
+        positive = new long[(maximumAbsoluteValue >>> 6) + 1];
+        negative = new long[positive.length];
+    }
+
+    /**
+     * Creates an integer bit set from given integers.
+     *
+     * @param integers the integers
+     * @throws IllegalArgumentException if an integer is zero or {@link Integer#MIN_VALUE}
+     */
+    public static IntegerBitSet of(int... integers) {
+        int maximumAbsoluteValue = 0;
+        for (int integer : integers) {
+            maximumAbsoluteValue = Math.max(maximumAbsoluteValue, Math.abs(integer));
+        }
+        IntegerBitSet integerBitSet = new IntegerBitSet(maximumAbsoluteValue);
+        integerBitSet.addAll(integers);
+        return integerBitSet;
+    }
+
+    /**
+     * Creates an integer bit set from a given integer list.
+     *
+     * @param integerList the integer list
+     * @throws IllegalArgumentException if an integer is zero or {@link Integer#MIN_VALUE}
+     */
+    public static IntegerBitSet of(IntegerList integerList) {
+        return of(integerList.elements);
+    }
+
+    /**
+     * Creates a new integer bit set by copying a given integer bit set.
+     *
+     * @param integerBitSet the integer bit set
+     */
+    public IntegerBitSet(IntegerBitSet integerBitSet) {
+        positive = integerBitSet.positive.clone();
+        negative = integerBitSet.negative.clone();
+    }
+
+    private IntegerBitSet(long[] positive, long[] negative) {
+        this.positive = positive;
+        this.negative = negative;
+    }
+
+    private static int checkedAbs(int integer) {
+        if (integer == 0 || integer == Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("invalid integer " + integer);
+        }
+        return Math.abs(integer);
+    }
+
+    private void ensure(int index) {
+        if (index >= positive.length) {
+            int length = Math.max(index + 1, positive.length * 2);
+            positive = Arrays.copyOf(positive, length);
+            negative = Arrays.copyOf(negative, length);
+        }
+    }
+
+    /**
+     * Adds an integer to this set.
+     *
+     * @param integer the integer
+     * @return whether this set changed
+     * @throws IllegalArgumentException if the integer is zero or {@link Integer#MIN_VALUE}
+     */
+    public boolean add(int integer) {
+        int absoluteValue = checkedAbs(integer);
+        int index = absoluteValue >>> 6;
+        ensure(index);
+        long[] words = integer > 0 ? positive : negative;
+        long word = words[index];
+        words[index] = word | (1L << absoluteValue);
+        return words[index] != word;
+    }
+
+    /**
+     * Adds integers to this set.
+     *
+     * @param integers the integers
+     * @throws IllegalArgumentException if an integer is zero or {@link Integer#MIN_VALUE}
+     */
+    public void addAll(int... integers) {
+        for (int integer : integers) {
+            add(integer);
+        }
+    }
+
+    /**
+     * Removes an integer from this set.
+     *
+     * @param integer the integer
+     * @return whether this set changed
+     */
+    public boolean remove(int integer) {
+        if (!contains(integer)) {
+            return false;
+        }
+        int absoluteValue = Math.abs(integer);
+        long[] words = integer > 0 ? positive : negative;
+        words[absoluteValue >>> 6] &= ~(1L << absoluteValue);
+        return true;
+    }
+
+    /**
+     * Removes all integers from this set.
+     */
+    public void clear() {
+        Arrays.fill(positive, 0);
+        Arrays.fill(negative, 0);
+    }
+
+    /**
+     * {@return whether this set contains the given integer}
+     *
+     * @param integer the integer
+     */
+    public final boolean contains(int integer) {
+        if (integer == 0 || integer == Integer.MIN_VALUE) {
+            return false;
+        }
+        int absoluteValue = Math.abs(integer);
+        int index = absoluteValue >>> 6;
+        return index < positive.length
+                && ((integer > 0 ? positive : negative)[index] & (1L << absoluteValue)) != 0;
+    }
+
+    /**
+     * {@return whether this set contains the given integer in negated form}
+     *
+     * @param integer the integer
+     */
+    public final boolean containsNegated(int integer) {
+        return contains(-integer);
+    }
+
+    /**
+     * {@return whether this set contains all of the given integers}
+     *
+     * @param integers the integers
+     */
+    public final boolean containsAll(int... integers) {
+        for (int integer : integers) {
+            if (!contains(integer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@return whether this set contains all integers in the given integer list}
+     *
+     * @param integers the integer list
+     */
+    public final boolean containsAll(IntegerList integers) {
+        return containsAll(integers.elements);
+    }
+
+    /**
+     * {@return whether this set contains all integers in the given set}
+     *
+     * @param integers the other set
+     */
+    public final boolean containsAll(IntegerBitSet integers) {
+        return isSubset(integers.positive, positive) && isSubset(integers.negative, negative);
+    }
+
+    private static boolean isSubset(long[] words, long[] otherWords) {
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & ~(i < otherWords.length ? otherWords[i] : 0)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@return whether this set contains any of the given integers}
+     *
+     * @param integers the integers
+     */
+    public final boolean containsAny(int... integers) {
+        for (int integer : integers) {
+            if (contains(integer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@return whether this set contains any integer in the given set}
+     *
+     * @param integers the other set
+     */
+    public final boolean containsAny(IntegerBitSet integers) {
+        return intersects(positive, integers.positive) || intersects(negative, integers.negative);
+    }
+
+    /**
+     * {@return whether this set contains any of the given integers in negated form}
+     *
+     * @param integers the integers
+     */
+    public final boolean containsAnyNegated(int... integers) {
+        for (int integer : integers) {
+            if (containsNegated(integer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@return whether this set contains any integer in the given integer list in negated form}
+     *
+     * @param integers the integer list
+     */
+    public final boolean containsAnyNegated(IntegerList integers) {
+        return containsAnyNegated(integers.elements);
+    }
+
+    /**
+     * {@return whether this set contains any integer in the given set in negated form}
+     *
+     * @param integers the other set
+     */
+    public final boolean containsAnyNegated(IntegerBitSet integers) {
+        return intersects(positive, integers.negative) || intersects(negative, integers.positive);
+    }
+
+    private static boolean intersects(long[] words, long[] otherWords) {
+        int length = Math.min(words.length, otherWords.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & otherWords[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@return the given integers that are contained in this set, in the given order}
+     *
+     * @param integers the integers
+     */
+    public final int[] retainAll(int... integers) {
+        ExpandableIntegerList retained = new ExpandableIntegerList(integers.length);
+        for (int integer : integers) {
+            if (contains(integer)) {
+                retained.add(integer);
+            }
+        }
+        return Arrays.copyOf(retained.toArray(), retained.size());
+    }
+
+    /**
+     * {@return a new set with the integers contained in both this and the given set}
+     *
+     * @param integers the other set
+     */
+    public final IntegerBitSet retainAll(IntegerBitSet integers) {
+        return new IntegerBitSet(and(positive, integers.positive), and(negative, integers.negative));
+    }
+
+    private static long[] and(long[] words, long[] otherWords) {
+        long[] result = new long[Math.min(words.length, otherWords.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = words[i] & otherWords[i];
+        }
+        return result;
+    }
+
+    /**
+     * {@return a new set with the negated integers of this set}
+     */
+    public final IntegerBitSet negate() {
+        return new IntegerBitSet(negative.clone(), positive.clone());
+    }
+
+    /**
+     * {@return the number of integers in this set}
+     */
+    public final int size() {
+        return countPositives() + countNegatives();
+    }
+
+    /**
+     * {@return whether this set is empty}
+     */
+    public final boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * {@return the number of positive integers in this set}
+     */
+    public final int countPositives() {
+        return count(positive);
+    }
+
+    /**
+     * {@return the number of negative integers in this set}
+     */
+    public final int countNegatives() {
+        return count(negative);
+    }
+
+    private static int count(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * {@return the positive integers in this set in ascending order} The returned array may be modified.
+     */
+    public final int[] getPositiveValues() {
+        int[] integers = new int[countPositives()];
+        collect(positive, 1, integers, 0);
+        return integers;
+    }
+
+    /**
+     * {@return the negative integers in this set in descending order} The returned array may be modified.
+     */
+    public final int[] getNegativeValues() {
+        int[] integers = new int[countNegatives()];
+        collect(negative, -1, integers, 0);
+        return integers;
+    }
+
+    private static int collect(long[] words, int sign, int[] integers, int start) {
+        int j = start;
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                integers[j++] = sign * ((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return j;
+    }
+
+    /**
+     * {@return the integers in this set in ascending order of their absolute value, negative integers first}
+     * The returned array may be modified.
+     */
+    public final int[] get() {
+        int[] integers = new int[size()];
+        int j = 0;
+        for (int i = 0; i < positive.length; i++) {
+            long word = positive[i] | negative[i];
+            while (word != 0) {
+                int absoluteValue = (i << 6) + Long.numberOfTrailingZeros(word);
+                long bit = word & -word;
+                if ((negative[i] & bit) != 0) {
+                    integers[j++] = -absoluteValue;
+                }
+                if ((positive[i] & bit) != 0) {
+                    integers[j++] = absoluteValue;
+                }
+                word &= word - 1;
+            }
+        }
+        return integers;
+    }
+
+    /**
+     * {@return a new integer list containing the integers in this set}
+     */
+    public final IntegerList toIntegerList() {
+        return new IntegerList(get());
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (int i = 0; i < positive.length; i++) {
+            if (positive[i] != 0 || negative[i] != 0) {
+                hashCode = 31 * hashCode + Long.hashCode(positive[i] * 31 + negative[i]) + i;
+            }
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if ((obj == null) || (getClass() != obj.getClass())) {
+            return false;
+        }
+        IntegerBitSet other = (IntegerBitSet) obj;
+        return containsAll(other) && other.containsAll(this);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(get());
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import de.featjar.base.FeatJAR;
+
+/**
+ * The innermost loops over arrays of integers used by {@link IntegerList}.
+ * This implementation uses branch-free scalar loops, which the JIT compiler can vectorize automatically.
+ * An implementation that uses explicit SIMD instructions (e.g., with the incubating Vector API, which this library
+ * cannot depend on) can be provided by subclassing and naming the subclass in the system property
+ * {@value #KERNELS_PROPERTY}.
+ * The subclass is only loaded if the module {@value #VECTOR_MODULE} is present at runtime, so the scalar loops are
+ * used as a fallback.
+ */
+public class IntegerKernels {
+
+    /**
+     * The system property naming a subclass of this class to load.
+     */
+    public static final String KERNELS_PROPERTY = "de.featjar.base.data.IntegerKernels";
+
+    /**
+     * The module required to load a subclass of this class.
+     */
+    public static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final IntegerKernels INSTANCE = load();
+
+    /**
+     * {@return new kernels of the class named in the system property {@value #KERNELS_PROPERTY}, or scalar kernels}
+     */
+    protected static IntegerKernels load() {
+        return load(
+                System.getProperty(KERNELS_PROPERTY),
+                ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent());
+    }
+
+    /**
+     * {@return new kernels of the given class, or scalar kernels if the class cannot be loaded}
+     *
+     * @param className             the name of a subclass of this class, or {@code null} for scalar kernels
+     * @param isVectorModulePresent whether the module {@value #VECTOR_MODULE} is present
+     */
+    protected static IntegerKernels load(String className, boolean isVectorModulePresent) {
+        if (className == null) {
+            return new IntegerKernels();
+        }
+        if (!isVectorModulePresent) {
+            FeatJAR.log()
+                    .warning(
+                            "ignoring integer kernels %s, as module %s is not present, using scalar kernels",
+                            className,
+                            VECTOR_MODULE);
+            return new IntegerKernels();
+        }
+        try {
+            IntegerKernels kernels = Class.forName(className)
+                    .asSubclass(IntegerKernels.class)
+                    .getDeclaredConstructor()
+                    .newInstance();
+            FeatJAR.log().debug("using integer kernels %s", className);
+            return kernels;
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            FeatJAR.log().warning("could not load integer kernels %s, using scalar kernels", className);
+            FeatJAR.log().warning(e);
+            return new IntegerKernels();
+        }
+    }
+
+    /**
+     * {@return the kernels used by {@link IntegerList}}
+     */
+    public static IntegerKernels get() {
+        return INSTANCE;
+    }
+
+    protected IntegerKernels() {}
+
+    /**
+     * {@return the first index of the given integer in the given range of the given array, or -1 if it is not
+     * contained}
+     *
+     * @param integers the array
+     * @param start    the start index
+     * @param end      the end index
+     * @param integer  the integer
+     */
+    public int indexOf(int[] integers, int start, int end, int integer) {
+        for (int i = start; i < end; i++) {
+            if (integers[i] == integer) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@return the number of positive integers in the given array}
+     *
+     * @param integers the array
+     */
+    public int countPositives(int[] integers) {
+        return countPositives(integers, 0, integers.length);
+    }
+
+    /**
+     * {@return the number of positive integers in the given range of the given array}
+     *
+     * @param integers the array
+     * @param start    the start index
+     * @param end      the end index
+     */
+    public int countPositives(int[] integers, int start, int end) {
+        return countNonZero(integers, start, end) - countNegatives(integers, start, end);
+    }
+
+    /**
+     * {@return the number of negative integers in the given array}
+     *
+     * @param integers the array
+     */
+    public int countNegatives(int[] integers) {
+        return countNegatives(integers, 0, integers.length);
+    }
+
+    /**
+     * {@return the number of negative integers in the given range of the given array}
+     *
+     * @param integers the array
+     * @param start    the start index
+     * @param end      the end index
+     */
+    public int countNegatives(int[] integers, int start, int end) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            count += integers[i] >>> 31;
+        }
+        return count;
+    }
+
+    /**
+     * {@return the number of non-zero integers in the given array}
+     *
+     * @param integers the array
+     */
+    public int countNonZero(int[] integers) {
+        return countNonZero(integers, 0, integers.length);
+    }
+
+    /**
+     * {@return the number of non-zero integers in the given range of the given array}
+     *
+     * @param integers the array
+     * @param start    the start index
+     * @param end      the end index
+     */
+    public int countNonZero(int[] integers, int start, int end) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            count += (integers[i] | -integers[i]) >>> 31;
+        }
+        return count;
+    }
+
+    /**
+     * {@return a new array with the negated integers of the given array}
+     *
+     * @param integers the array
+     */
+    public int[] negate(int[] integers) {
+        int[] negatedIntegers = new int[integers.length];
+        for (int i = 0; i < integers.length; i++) {
+            negatedIntegers[i] = -integers[i];
+        }
+        return negatedIntegers;
+    }
+
+    /**
+     * {@return a new array with the absolute values of the integers of the given array}
+     *
+     * @param integers the array
+     */
+    public int[] abs(int[] integers) {
+        int[] absoluteValues = new int[integers.length];
+        for (int i = 0; i < integers.length; i++) {
+            absoluteValues[i] = Math.abs(integers[i]);
+        }
+        return absoluteValues;
+    }
+
+    /**
+     * {@return the number of integers in the first array that are contained in the second array}
+     * Compares all pairs of integers, so it is only suitable for short arrays.
+     *
+     * @param integers the first array
+     * @param set      the second array
+     */
+    public int countContained(int[] integers, int[] set) {
+        int count = 0;
+        for (int integer : integers) {
+            int contained = 0;
+            for (int i = 0; i < set.length; i++) {
+                contained |= integer == set[i] ? 1 : 0;
+            }
+            count += contained;
+        }
+        return count;
+    }
+}
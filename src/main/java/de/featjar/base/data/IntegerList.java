@@ -20,18 +20,15 @@
  */
 package de.featjar.base.data;
 
-import de.featjar.base.FeatJAR;
-import java.util.ArrayList;
+import de.featjar.base.data.primitive.IntegerSet;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.Iterator;
-import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
@@ -58,6 +55,16 @@ public class IntegerList {
         }
     }
 
+    /**
+     * Inputs with at most this many pairs of integers are compared by a linear scan in set operations.
+     */
+    protected static final int LINEAR_SCAN_THRESHOLD = 256;
+
+    /**
+     * A bitset is used for set operations if the value range is at most this many times the input size.
+     */
+    protected static final int BITSET_DENSITY = 32;
+
     protected final int[] elements;
     protected boolean hashCodeValid;
     protected int hashCode;
@@ -92,73 +99,224 @@ public class IntegerList {
         hashCode = integerList.hashCode;
     }
 
+    /**
+     * {@return the distinct integers in the given integer lists, in order of their first occurrence}
+     *
+     * @param integerLists the integer lists
+     */
     public static int[] merge(Collection<? extends IntegerList> integerLists) {
-        return integerLists.stream()
-                .flatMapToInt(l -> Arrays.stream(l.elements))
-                .distinct()
-                .toArray();
+        return mergeArrays(integerLists.stream().map(l -> l.elements).collect(Collectors.toList()));
     }
 
+    /**
+     * {@return the distinct integers in the given arrays, in order of their first occurrence}
+     *
+     * @param integerLists the arrays
+     */
     public static int[] mergeInt(Collection<int[]> integerLists) {
-        return integerLists.stream()
-                .flatMapToInt(l -> Arrays.stream(l))
-                .distinct()
-                .toArray();
+        return mergeArrays(integerLists);
     }
 
-    private static int[] mergeParallel(Collection<int[]> integerLists) {
-        final int p = Runtime.getRuntime().availableProcessors();
+    private static int[] mergeArrays(Collection<int[]> integerLists) {
+        IntegerSet table = new IntegerSet();
+        ExpandableIntegerList merge = new ExpandableIntegerList();
+        try {
+            for (int[] integers : integerLists) {
+                for (int integer : integers) {
+                    if (table.add(integer)) {
+                        merge.add(integer);
+                    }
+                }
+            }
+        } catch (IllegalStateException e) {
+            return integerLists.stream()
+                    .flatMapToInt(Arrays::stream)
+                    .distinct()
+                    .toArray();
+        }
+        return Arrays.copyOf(merge.toArray(), merge.size());
+    }
+
+    /**
+     * {@return the distinct integers in the given integer lists, in ascending order of their absolute value,
+     * negative integers first}
+     * Intended for huge collections of integer lists.
+     * The integer lists are processed in parallel in the common fork/join pool, marking their integers in a
+     * concurrent bitset whose size is proportional to the largest absolute value.
+     *
+     * @param integerLists the integer lists
+     */
+    public static int[] mergeParallel(Collection<? extends IntegerList> integerLists) {
+        return new ParallelMerge(integerLists.stream().map(l -> l.elements).toArray(int[][]::new)).merge();
+    }
+
+    /**
+     * {@return the distinct integers in the given arrays, in ascending order of their absolute value,
+     * negative integers first}
+     * Intended for huge collections of arrays.
+     *
+     * @param integerLists the arrays
+     * @see #mergeParallel(Collection)
+     */
+    public static int[] mergeParallelInt(Collection<int[]> integerLists) {
+        return new ParallelMerge(integerLists.toArray(new int[0][])).merge();
+    }
+
+    /**
+     * Merges arrays of integers in parallel, deduplicating them in a concurrent bitset.
+     */
+    private static final class ParallelMerge {
+        private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+        private static final int THRESHOLD = 1 << 14;
 
-        final int size = integerLists.size() / p;
-        final int largerGroupIndex = integerLists.size() % p;
-        List<List<int[]>> partitions = new ArrayList<>(p);
-        Iterator<int[]> iterator = integerLists.iterator();
-        for (int i = 0; i < p; i++) {
-            final int end = i < largerGroupIndex ? size + 1 : size;
-            final ArrayList<int[]> partition = new ArrayList<>(end);
-            for (int j = 0; j < end; j++) {
-                partition.add(iterator.next());
+        private final int[][] integerLists;
+        private long[] positive;
+        private long[] negative;
+        private volatile boolean containsZero;
+        private volatile boolean containsMinValue;
+
+        private ParallelMerge(int[][] integerLists) {
+            this.integerLists = integerLists;
+        }
+
+        private abstract class MergeTask<V> extends RecursiveTask<V> {
+            private static final long serialVersionUID = 1L;
+
+            private final int start;
+            private final int end;
+
+            private MergeTask(int start, int end) {
+                this.start = start;
+                this.end = end;
+            }
+
+            protected abstract MergeTask<V> create(int start, int end);
+
+            protected abstract V computeDirectly(int start, int end);
+
+            protected abstract V combine(V left, V right);
+
+            @Override
+            protected V compute() {
+                long size = 0;
+                for (int i = start; i < end && size <= THRESHOLD; i++) {
+                    size += integerLists[i].length;
+                }
+                if (size <= THRESHOLD || end - start < 2) {
+                    return computeDirectly(start, end);
+                }
+                int middle = (start + end) >>> 1;
+                MergeTask<V> right = create(middle, end);
+                right.fork();
+                V left = create(start, middle).compute();
+                return combine(left, right.join());
             }
-            partitions.add(partition);
         }
 
-        int max = integerLists.stream()
-                .flatMapToInt(l -> Arrays.stream(l))
-                .map(Math::abs)
-                .max()
-                .orElse(0);
-        final ArrayList<Callable<int[]>> mergers = new ArrayList<>(p);
-        for (int i = 0; i < p; i++) {
-            List<int[]> partition = partitions.get(i);
-            mergers.add(() -> {
-                final int[] literals = new int[max];
-                partition.stream().flatMapToInt(l -> Arrays.stream(l)).forEach(l -> literals[Math.abs(l) - 1] = l);
-                return literals;
-            });
+        private class MaximumTask extends MergeTask<Integer> {
+            private static final long serialVersionUID = 1L;
+
+            private MaximumTask(int start, int end) {
+                super(start, end);
+            }
+
+            @Override
+            protected MaximumTask create(int start, int end) {
+                return new MaximumTask(start, end);
+            }
+
+            @Override
+            protected Integer computeDirectly(int start, int end) {
+                int maximum = 0;
+                for (int i = start; i < end; i++) {
+                    for (int integer : integerLists[i]) {
+                        if (integer == Integer.MIN_VALUE) {
+                            containsMinValue = true;
+                        } else {
+                            maximum = Math.max(maximum, Math.abs(integer));
+                        }
+                    }
+                }
+                return maximum;
+            }
+
+            @Override
+            protected Integer combine(Integer left, Integer right) {
+                return Math.max(left, right);
+            }
         }
-        ExecutorService newCachedThreadPool = Executors.newCachedThreadPool();
-        try {
-            List<Future<int[]>> invokeAll = newCachedThreadPool.invokeAll(mergers);
-            int[] merge = null;
-            for (Future<int[]> future : invokeAll) {
-                int[] result = future.get();
-                if (merge == null) {
-                    merge = result;
-                } else {
-                    for (int i = 0; i < result.length; i++) {
-                        if (merge[i] == 0) {
-                            merge[i] = result[i];
+
+        private class MarkTask extends MergeTask<java.lang.Void> {
+            private static final long serialVersionUID = 1L;
+
+            private MarkTask(int start, int end) {
+                super(start, end);
+            }
+
+            @Override
+            protected MarkTask create(int start, int end) {
+                return new MarkTask(start, end);
+            }
+
+            @Override
+            protected java.lang.Void computeDirectly(int start, int end) {
+                for (int i = start; i < end; i++) {
+                    for (int integer : integerLists[i]) {
+                        if (integer > 0) {
+                            mark(positive, integer);
+                        } else if (integer < 0 && integer != Integer.MIN_VALUE) {
+                            mark(negative, -integer);
+                        } else if (integer == 0 && !containsZero) {
+                            containsZero = true;
                         }
                     }
                 }
+                return null;
+            }
+
+            private void mark(long[] words, int absoluteValue) {
+                int index = absoluteValue >>> 6;
+                long bit = 1L << absoluteValue;
+                if (((long) WORDS.getOpaque(words, index) & bit) == 0) {
+                    WORDS.getAndBitwiseOr(words, index, bit);
+                }
+            }
+
+            @Override
+            protected java.lang.Void combine(java.lang.Void left, java.lang.Void right) {
+                return null;
+            }
+        }
+
+        private int[] merge() {
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            int maximum = pool.invoke(new MaximumTask(0, integerLists.length));
+            positive = new long[(maximum >>> 6) + 1];
+            negative = new long[positive.length];
+            pool.invoke(new MarkTask(0, integerLists.length));
+            ExpandableIntegerList merge = new ExpandableIntegerList();
+            if (containsZero) {
+                merge.add(0);
+            }
+            for (int i = 0; i < positive.length; i++) {
+                long word = positive[i] | negative[i];
+                while (word != 0) {
+                    int absoluteValue = (i << 6) + Long.numberOfTrailingZeros(word);
+                    long bit = word & -word;
+                    if ((negative[i] & bit) != 0) {
+                        merge.add(-absoluteValue);
+                    }
+                    if ((positive[i] & bit) != 0) {
+                        merge.add(absoluteValue);
+                    }
+                    word &= word - 1;
+                }
+            }
+            if (containsMinValue) {
+                merge.add(Integer.MIN_VALUE);
             }
-            return Arrays.stream(merge).filter(e -> e != 0).toArray();
-        } catch (InterruptedException | ExecutionException e) {
-            FeatJAR.log().error(e);
-        } finally {
-            newCachedThreadPool.shutdown();
+            return Arrays.copyOf(merge.toArray(), merge.size());
         }
-        return null;
     }
 
     /**
@@ -205,12 +363,30 @@ public class IntegerList {
         return Arrays.copyOfRange(elements, start, end);
     }
 
+    /**
+     * {@return a view of this integer list's integers} The integers are not copied.
+     */
+    public final IntegerListView view() {
+        return new IntegerListView(elements);
+    }
+
+    /**
+     * {@return a view of this integer list's integers in a given range} The integers
+     * are not copied.
+     *
+     * @param start the start index
+     * @param end   the end index
+     */
+    public final IntegerListView viewOfRange(int start, int end) {
+        return new IntegerListView(elements, start, end - start);
+    }
+
     /**
      * {@return the absolute values of this integer list's integers} The returned
      * array may be modified.
      */
     public final int[] getAbsoluteValues() {
-        return Arrays.stream(elements).map(Math::abs).toArray();
+        return IntegerKernels.get().abs(elements);
     }
 
     /**
@@ -389,10 +565,7 @@ public class IntegerList {
      * @param integer the integer
      */
     public int indexOf(int integer) {
-        return IntStream.range(0, elements.length)
-                .filter(i -> elements[i] == integer)
-                .findFirst()
-                .orElse(-1);
+        return IntegerKernels.get().indexOf(elements, 0, elements.length, integer);
     }
 
     /**
@@ -412,21 +585,21 @@ public class IntegerList {
      * {@return the number of positive values in this integer list's integers}
      */
     public int countPositives() {
-        return (int) Arrays.stream(elements).filter(integer -> integer > 0).count();
+        return IntegerKernels.get().countPositives(elements);
     }
 
     /**
      * {@return the number of negative values in this integer list's integers}
      */
     public int countNegatives() {
-        return (int) Arrays.stream(elements).filter(integer -> integer < 0).count();
+        return IntegerKernels.get().countNegatives(elements);
     }
 
     /**
      * {@return the number of non-zero values in this integer list's integers}
      */
     public int countNonZero() {
-        return (int) Arrays.stream(elements).filter(integer -> integer != 0).count();
+        return IntegerKernels.get().countNonZero(elements);
     }
 
     /**
@@ -450,18 +623,8 @@ public class IntegerList {
      * @param integers the integers
      */
     public final int[] addAll(int... integers) {
-        boolean[] intersectionMarker = new boolean[elements.length];
-        int count = 0;
-        for (int integer : integers) {
-            final int[] indices = indicesOf(integer);
-            for (int i = 0; i < indices.length; i++) {
-                int index = indices[i];
-                if (index >= 0 && !intersectionMarker[index]) {
-                    count++;
-                    intersectionMarker[index] = true;
-                }
-            }
-        }
+        boolean[] intersectionMarker = markContained(elements, integers);
+        int count = count(intersectionMarker);
 
         int[] newArray = new int[elements.length + integers.length - count];
         int j = 0;
@@ -482,18 +645,8 @@ public class IntegerList {
      * @param integers the integers
      */
     public final int[] retainAll(int... integers) {
-        boolean[] intersectionMarker = new boolean[elements.length];
-        int count = 0;
-        for (int integer : integers) {
-            final int[] indices = indicesOf(integer);
-            for (int i = 0; i < indices.length; i++) {
-                int index = indices[i];
-                if (index >= 0 && !intersectionMarker[index]) {
-                    count++;
-                    intersectionMarker[index] = true;
-                }
-            }
-        }
+        boolean[] intersectionMarker = markContained(elements, integers);
+        int count = count(intersectionMarker);
 
         int[] newArray = new int[count];
         int j = 0;
@@ -514,18 +667,8 @@ public class IntegerList {
      * @param integers the integers
      */
     public final int[] removeAll(int... integers) {
-        boolean[] intersectionMarker = new boolean[elements.length];
-        int count = 0;
-        for (int integer : integers) {
-            final int[] indices = indicesOf(integer);
-            for (int i = 0; i < indices.length; i++) {
-                int index = indices[i];
-                if (index >= 0 && !intersectionMarker[index]) {
-                    count++;
-                    intersectionMarker[index] = true;
-                }
-            }
-        }
+        boolean[] intersectionMarker = markContained(elements, integers);
+        int count = count(intersectionMarker);
 
         int[] newArray = new int[elements.length - count];
         int j = 0;
@@ -547,7 +690,10 @@ public class IntegerList {
      * @param integers the integers
      */
     public final int sizeOfIntersection(int... integers) {
-        return (int) Arrays.stream(integers).filter(this::contains).count();
+        if ((long) integers.length * elements.length <= LINEAR_SCAN_THRESHOLD) {
+            return IntegerKernels.get().countContained(integers, elements);
+        }
+        return count(markContained(integers, elements));
     }
 
     /**
@@ -557,7 +703,83 @@ public class IntegerList {
      * @param integers the integers
      */
     public final int sizeOfDisjoint(int... integers) {
-        return (int) Arrays.stream(integers).filter(i -> !contains(i)).count();
+        return integers.length - sizeOfIntersection(integers);
+    }
+
+    /**
+     * {@return for each of the given integers, whether it is contained in the given set of integers}
+     * Chooses a strategy depending on the input: a linear scan for small inputs, a merge when both inputs are
+     * sorted, a bitset when the set's values span a small range, and a hash table otherwise.
+     *
+     * @param integers the integers
+     * @param set      the set of integers
+     */
+    protected static boolean[] markContained(int[] integers, int[] set) {
+        boolean[] marker = new boolean[integers.length];
+        if (integers.length == 0 || set.length == 0) {
+            return marker;
+        }
+        if ((long) integers.length * set.length <= LINEAR_SCAN_THRESHOLD) {
+            final IntegerKernels kernels = IntegerKernels.get();
+            for (int i = 0; i < integers.length; i++) {
+                marker[i] = kernels.indexOf(set, 0, set.length, integers[i]) >= 0;
+            }
+        } else if (isSorted(integers) && isSorted(set)) {
+            int j = 0;
+            for (int i = 0; i < integers.length; i++) {
+                final int integer = integers[i];
+                while (j < set.length && set[j] < integer) {
+                    j++;
+                }
+                marker[i] = j < set.length && set[j] == integer;
+            }
+        } else {
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int element : set) {
+                min = Math.min(min, element);
+                max = Math.max(max, element);
+            }
+            if ((long) max - min < BITSET_DENSITY * ((long) integers.length + set.length)) {
+                final long[] words = new long[((max - min) >>> 6) + 1];
+                for (int element : set) {
+                    final int offset = element - min;
+                    words[offset >>> 6] |= 1L << offset;
+                }
+                for (int i = 0; i < integers.length; i++) {
+                    final int integer = integers[i];
+                    if (integer >= min && integer <= max) {
+                        final int offset = integer - min;
+                        marker[i] = (words[offset >>> 6] & (1L << offset)) != 0;
+                    }
+                }
+            } else {
+                final IntegerSet table = new IntegerSet(set);
+                for (int i = 0; i < integers.length; i++) {
+                    marker[i] = table.contains(integers[i]);
+                }
+            }
+        }
+        return marker;
+    }
+
+    private static int count(boolean[] marker) {
+        int count = 0;
+        for (boolean marked : marker) {
+            if (marked) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isSorted(int[] integers) {
+        for (int i = 1; i < integers.length; i++) {
+            if (integers[i - 1] > integers[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -580,11 +802,7 @@ public class IntegerList {
      * list}
      */
     public final int[] negate() {
-        int[] inverseLiterals = new int[elements.length];
-        for (int i = 0; i < elements.length; i++) {
-            inverseLiterals[i] = -elements[i];
-        }
-        return inverseLiterals;
+        return IntegerKernels.get().negate(elements);
     }
 
     @Override
@@ -0,0 +1,433 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable collection of integer lists, stored contiguously outside the Java heap.
+ * All integers are stored in direct or memory-mapped buffers, together with an array of offsets at which each list
+ * starts, so huge collections do not create an object (and array header) per list and do not burden the garbage
+ * collector.
+ * Lists are accessed as {@link IntegerListView views} without copying.
+ * A collection can be {@link #save(Path) saved} to a file and {@link #map(Path) mapped} into memory without any
+ * deserialization.
+ * As a buffer can hold at most 2 GiB, both the integers and the offsets are split into segments, and each segment of
+ * integers contains entire lists.
+ */
+public class IntegerListBuffer {
+
+    /**
+     * Builds an integer list buffer by appending lists.
+     */
+    public static class Builder {
+        protected final int segmentCapacity;
+        protected final int offsetSegmentCapacity;
+        protected final List<IntBuffer> segments = new ArrayList<>();
+        protected final ExpandableIntegerList segmentStarts = new ExpandableIntegerList();
+        protected final List<LongBuffer> offsetSegments = new ArrayList<>();
+        protected IntBuffer segment;
+        protected LongBuffer offsetSegment;
+        protected int size;
+        protected long totalSize;
+
+        /**
+         * Creates a builder with the default segment capacities.
+         */
+        public Builder() {
+            this(DEFAULT_SEGMENT_CAPACITY);
+        }
+
+        /**
+         * Creates a builder with the default offset segment capacity.
+         *
+         * @param segmentCapacity the maximum number of integers per segment
+         */
+        public Builder(int segmentCapacity) {
+            this(segmentCapacity, DEFAULT_OFFSET_SEGMENT_CAPACITY);
+        }
+
+        /**
+         * Creates a builder.
+         *
+         * @param segmentCapacity       the maximum number of integers per segment
+         * @param offsetSegmentCapacity the number of offsets per segment, a power of two
+         */
+        public Builder(int segmentCapacity, int offsetSegmentCapacity) {
+            if (segmentCapacity < 1 || segmentCapacity > DEFAULT_SEGMENT_CAPACITY) {
+                throw new IllegalArgumentException("invalid segment capacity " + segmentCapacity);
+            }
+            if (offsetSegmentCapacity < 1
+                    || offsetSegmentCapacity > DEFAULT_OFFSET_SEGMENT_CAPACITY
+                    || Integer.bitCount(offsetSegmentCapacity) != 1) {
+                throw new IllegalArgumentException("invalid offset segment capacity " + offsetSegmentCapacity);
+            }
+            this.segmentCapacity = segmentCapacity;
+            this.offsetSegmentCapacity = offsetSegmentCapacity;
+            addOffset(0);
+        }
+
+        /**
+         * Appends an integer list.
+         *
+         * @param integers the integers
+         * @return this builder
+         * @throws IllegalArgumentException if the list exceeds the segment capacity
+         * @throws IllegalStateException    if this builder contains the maximum number of lists
+         */
+        public Builder add(int... integers) {
+            if (integers.length > segmentCapacity) {
+                throw new IllegalArgumentException("list exceeds segment capacity");
+            }
+            if (size == Integer.MAX_VALUE - 1) {
+                throw new IllegalStateException("too many lists");
+            }
+            if (segment == null || integers.length > segmentCapacity - segment.position()) {
+                finishSegment();
+                segment = allocate(Math.min(segmentCapacity, Math.max(1024, integers.length)));
+                segmentStarts.add(size);
+            } else if (integers.length > segment.remaining()) {
+                long capacity = Math.max((long) segment.capacity() * 2, segment.position() + integers.length);
+                IntBuffer newSegment = allocate((int) Math.min(segmentCapacity, capacity));
+                segment.flip();
+                newSegment.put(segment);
+                segment = newSegment;
+            }
+            segment.put(integers);
+            totalSize += integers.length;
+            size++;
+            addOffset(totalSize);
+            return this;
+        }
+
+        /**
+         * Appends an integer list.
+         *
+         * @param integerList the integer list
+         * @return this builder
+         */
+        public Builder add(IntegerList integerList) {
+            return add(integerList.elements);
+        }
+
+        private void addOffset(long offset) {
+            if (offsetSegment == null || !offsetSegment.hasRemaining()) {
+                if (offsetSegment != null && offsetSegment.capacity() == offsetSegmentCapacity) {
+                    offsetSegment.flip();
+                    offsetSegments.add(offsetSegment);
+                    offsetSegment = null;
+                }
+                int capacity = offsetSegment == null
+                        ? Math.min(offsetSegmentCapacity, 1024)
+                        : Math.min(offsetSegmentCapacity, offsetSegment.capacity() * 2);
+                LongBuffer newOffsetSegment = ByteBuffer.allocateDirect(capacity * Long.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN)
+                        .asLongBuffer();
+                if (offsetSegment != null) {
+                    offsetSegment.flip();
+                    newOffsetSegment.put(offsetSegment);
+                }
+                offsetSegment = newOffsetSegment;
+            }
+            offsetSegment.put(offset);
+        }
+
+        private static IntBuffer allocate(int capacity) {
+            return ByteBuffer.allocateDirect(capacity * Integer.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asIntBuffer();
+        }
+
+        private void finishSegment() {
+            if (segment != null) {
+                segment.flip();
+                segments.add(segment);
+                segment = null;
+            }
+        }
+
+        /**
+         * {@return the built integer list buffer}
+         * The builder must not be used afterwards.
+         */
+        public IntegerListBuffer build() {
+            finishSegment();
+            offsetSegment.flip();
+            offsetSegments.add(offsetSegment);
+            offsetSegment = null;
+            int[] starts = Arrays.copyOf(segmentStarts.toArray(), segmentStarts.size());
+            return new IntegerListBuffer(
+                    size,
+                    offsetSegments.toArray(new LongBuffer[0]),
+                    offsetSegmentCapacity,
+                    segments.toArray(new IntBuffer[0]),
+                    starts);
+        }
+    }
+
+    /**
+     * The maximum number of integers in a segment.
+     */
+    public static final int DEFAULT_SEGMENT_CAPACITY = 1 << 28;
+
+    /**
+     * The maximum number of offsets in a segment.
+     */
+    public static final int DEFAULT_OFFSET_SEGMENT_CAPACITY = 1 << 27;
+
+    private static final int MAGIC = 0x464A494C;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    protected final int size;
+    protected final LongBuffer[] offsets;
+    protected final int offsetShift;
+    protected final IntBuffer[] segments;
+    protected final int[] segmentStarts;
+
+    /**
+     * Creates an integer list buffer.
+     *
+     * @param size                  the number of lists
+     * @param offsets               the segments of offsets of all lists, followed by the total number of integers
+     * @param offsetSegmentCapacity the number of offsets per segment except the last, a power of two
+     * @param segments              the segments
+     * @param segmentStarts         the index of the first list in each segment
+     */
+    protected IntegerListBuffer(
+            int size, LongBuffer[] offsets, int offsetSegmentCapacity, IntBuffer[] segments, int[] segmentStarts) {
+        this.size = size;
+        this.offsets = offsets;
+        this.offsetShift = Integer.numberOfTrailingZeros(offsetSegmentCapacity);
+        this.segments = segments;
+        this.segmentStarts = segmentStarts;
+    }
+
+    /**
+     * {@return an integer list buffer containing the given integer lists}
+     *
+     * @param integerLists the integer lists
+     */
+    public static IntegerListBuffer of(Collection<? extends IntegerList> integerLists) {
+        Builder builder = new Builder();
+        integerLists.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * {@return the integer list buffer saved in the given file, mapped into memory}
+     * The file must not be modified while the buffer is in use.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file cannot be read or has an invalid format
+     */
+    public static IntegerListBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {}
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("not an integer list buffer: " + path);
+            }
+            int size = header.getInt();
+            if (size < 0 || size == Integer.MAX_VALUE) {
+                throw new IOException("invalid size " + size + " of integer list buffer: " + path);
+            }
+            long offsetsSize = (size + 1L) * Long.BYTES;
+            long dataStart = HEADER_SIZE + offsetsSize;
+            if (channel.size() < dataStart) {
+                throw new IOException("truncated integer list buffer: " + path);
+            }
+            int offsetShift = Integer.numberOfTrailingZeros(DEFAULT_OFFSET_SEGMENT_CAPACITY);
+            int offsetSegmentCount = (int) ((size + 1L + DEFAULT_OFFSET_SEGMENT_CAPACITY - 1) >>> offsetShift);
+            LongBuffer[] offsets = new LongBuffer[offsetSegmentCount];
+            for (int i = 0; i < offsetSegmentCount; i++) {
+                long start = (long) i * DEFAULT_OFFSET_SEGMENT_CAPACITY;
+                long length = Math.min(DEFAULT_OFFSET_SEGMENT_CAPACITY, size + 1L - start);
+                offsets[i] = channel.map(
+                                FileChannel.MapMode.READ_ONLY, HEADER_SIZE + start * Long.BYTES, length * Long.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN)
+                        .asLongBuffer();
+            }
+            long totalSize = getOffset(offsets, offsetShift, size);
+            if (getOffset(offsets, offsetShift, 0) != 0
+                    || totalSize < 0
+                    || channel.size() < dataStart + totalSize * Integer.BYTES) {
+                throw new IOException("truncated integer list buffer: " + path);
+            }
+            List<IntBuffer> segments = new ArrayList<>();
+            ExpandableIntegerList segmentStarts = new ExpandableIntegerList();
+            int start = 0;
+            while (start < size) {
+                int end = segmentEnd(offsets, offsetShift, start, size);
+                long segmentOffset = getOffset(offsets, offsetShift, start);
+                long segmentLength = getOffset(offsets, offsetShift, end) - segmentOffset;
+                if (segmentLength < 0 || segmentLength > DEFAULT_SEGMENT_CAPACITY) {
+                    throw new IOException("invalid offsets in integer list buffer: " + path);
+                }
+                segments.add(channel.map(
+                                FileChannel.MapMode.READ_ONLY,
+                                dataStart + segmentOffset * Integer.BYTES,
+                                segmentLength * Integer.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN)
+                        .asIntBuffer());
+                segmentStarts.add(start);
+                start = end;
+            }
+            return new IntegerListBuffer(
+                    size,
+                    offsets,
+                    DEFAULT_OFFSET_SEGMENT_CAPACITY,
+                    segments.toArray(new IntBuffer[0]),
+                    Arrays.copyOf(segmentStarts.toArray(), segmentStarts.size()));
+        }
+    }
+
+    private static long getOffset(LongBuffer[] offsets, int offsetShift, int index) {
+        return offsets[index >>> offsetShift].get(index & ((1 << offsetShift) - 1));
+    }
+
+    private static int segmentEnd(LongBuffer[] offsets, int offsetShift, int start, int size) {
+        long limit = getOffset(offsets, offsetShift, start) + DEFAULT_SEGMENT_CAPACITY;
+        int low = start + 1;
+        int high = size;
+        while (low < high) {
+            int middle = (int) (((long) low + high + 1) >>> 1);
+            if (getOffset(offsets, offsetShift, middle) <= limit) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Saves this integer list buffer to a file, which can be {@link #map(Path) mapped} later.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(size()).putInt(0).flip();
+            write(channel, header);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            for (LongBuffer offsetSegment : offsets) {
+                LongBuffer offsetsToWrite = offsetSegment.duplicate();
+                while (offsetsToWrite.hasRemaining()) {
+                    buffer.clear();
+                    while (buffer.remaining() >= Long.BYTES && offsetsToWrite.hasRemaining()) {
+                        buffer.putLong(offsetsToWrite.get());
+                    }
+                    buffer.flip();
+                    write(channel, buffer);
+                }
+            }
+            for (IntBuffer segment : segments) {
+                IntBuffer segmentToWrite = segment.duplicate();
+                while (segmentToWrite.hasRemaining()) {
+                    buffer.clear();
+                    int length = Math.min(buffer.capacity() / Integer.BYTES, segmentToWrite.remaining());
+                    IntBuffer chunk = segmentToWrite.slice().limit(length);
+                    buffer.asIntBuffer().put(chunk);
+                    segmentToWrite.position(segmentToWrite.position() + length);
+                    buffer.limit(length * Integer.BYTES);
+                    write(channel, buffer);
+                }
+            }
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * {@return the number of integer lists in this buffer}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return the total number of integers in this buffer}
+     */
+    public long getTotalSize() {
+        return getOffset(size);
+    }
+
+    private long getOffset(int index) {
+        return getOffset(offsets, offsetShift, index);
+    }
+
+    /**
+     * {@return the number of integers in the integer list at the given index}
+     *
+     * @param index the index
+     */
+    public int sizeOf(int index) {
+        Objects.checkIndex(index, size());
+        return (int) (getOffset(index + 1) - getOffset(index));
+    }
+
+    /**
+     * {@return a view of the integer list at the given index} The integers are not copied.
+     *
+     * @param index the index
+     */
+    public IntegerListView getView(int index) {
+        Objects.checkIndex(index, size());
+        int segmentIndex = Arrays.binarySearch(segmentStarts, index);
+        if (segmentIndex < 0) {
+            segmentIndex = -segmentIndex - 2;
+        }
+        long segmentOffset = getOffset(segmentStarts[segmentIndex]);
+        int start = (int) (getOffset(index) - segmentOffset);
+        int end = (int) (getOffset(index + 1) - segmentOffset);
+        return new IntegerListView(segments[segmentIndex].duplicate().position(start).limit(end));
+    }
+
+    /**
+     * {@return a new integer list containing a copy of the integer list at the given index}
+     *
+     * @param index the index
+     */
+    public IntegerList getIntegerList(int index) {
+        return getView(index).toIntegerList();
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import de.featjar.base.data.primitive.IntegerToObjectMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Indexes a collection of integer lists for subset and superset queries (e.g., to find subsumed clauses).
+ * Integer lists are interpreted as sets, so their order and duplicates are ignored.
+ * For every integer, the index stores the ascending identifiers of all lists containing it.
+ * Thus, supersets of a query are found by intersecting the identifiers of its integers, and subsets of a query are
+ * found by counting how many of its integers each list contains, both without looking at unrelated lists.
+ * Lists can be added and removed incrementally.
+ * Not thread-safe.
+ *
+ * @param <T> the type of the integer lists
+ */
+public class IntegerListIndex<T extends IntegerList> {
+
+    /**
+     * The ascending identifiers of the lists containing an integer.
+     */
+    protected static class Posting {
+        protected int[] identifiers = new int[4];
+        protected int size;
+
+        protected void add(int identifier) {
+            if (size == identifiers.length) {
+                identifiers = Arrays.copyOf(identifiers, size * 2);
+            }
+            identifiers[size++] = identifier;
+        }
+
+        protected void remove(int identifier) {
+            int index = SortedIntegerList.lowerBound(identifiers, 0, size, identifier);
+            if (index < size && identifiers[index] == identifier) {
+                System.arraycopy(identifiers, index + 1, identifiers, index, size - index - 1);
+                size--;
+            }
+        }
+    }
+
+    protected final List<T> lists = new ArrayList<>();
+    protected final ExpandableIntegerList sizes = new ExpandableIntegerList();
+    protected final IntegerToObjectMap<Posting> postings = new IntegerToObjectMap<>();
+    protected final ExpandableIntegerList emptyLists = new ExpandableIntegerList();
+    protected int size;
+
+    protected int[] counts = new int[0];
+
+    /**
+     * Adds an integer list to this index.
+     *
+     * @param integerList the integer list
+     * @return the identifier of the integer list in this index
+     */
+    public int add(T integerList) {
+        int identifier = lists.size();
+        int[] integers = distinct(integerList);
+        lists.add(integerList);
+        sizes.add(integers.length);
+        for (int integer : integers) {
+            postings.computeIfAbsent(integer, i -> new Posting()).add(identifier);
+        }
+        if (integers.length == 0) {
+            emptyLists.add(identifier);
+        }
+        size++;
+        return identifier;
+    }
+
+    private static int[] distinct(IntegerList integerList) {
+        return IntegerList.mergeInt(List.of(integerList.elements));
+    }
+
+    /**
+     * Removes the integer list with the given identifier from this index.
+     *
+     * @param identifier the identifier
+     * @return whether this index changed
+     */
+    public boolean remove(int identifier) {
+        if (identifier < 0 || identifier >= lists.size() || lists.get(identifier) == null) {
+            return false;
+        }
+        int[] integers = distinct(lists.get(identifier));
+        for (int integer : integers) {
+            Posting posting = postings.get(integer);
+            posting.remove(identifier);
+            if (posting.size == 0) {
+                postings.remove(integer);
+            }
+        }
+        if (integers.length == 0) {
+            emptyLists.removeAtUnsort(emptyLists.indexOf(identifier));
+        }
+        lists.set(identifier, null);
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes an integer list equal to the given integer list from this index, if any.
+     *
+     * @param integerList the integer list
+     * @return whether this index changed
+     */
+    public boolean remove(T integerList) {
+        for (int identifier : getSupersetIdentifiers(integerList)) {
+            if (integerList.equals(lists.get(identifier))) {
+                return remove(identifier);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@return the integer list with the given identifier, if it is contained in this index}
+     *
+     * @param identifier the identifier
+     */
+    public Result<T> get(int identifier) {
+        return identifier >= 0 && identifier < lists.size() ? Result.ofNullable(lists.get(identifier)) : Result.empty();
+    }
+
+    /**
+     * {@return the number of integer lists in this index}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return the ascending identifiers of all integer lists in this index that contain all given integers}
+     *
+     * @param integers the integers
+     */
+    public int[] getSupersetIdentifiers(IntegerList integers) {
+        int[] distinctIntegers = distinct(integers);
+        if (distinctIntegers.length == 0) {
+            int[] identifiers = new int[size];
+            int j = 0;
+            for (int i = 0; i < lists.size(); i++) {
+                if (lists.get(i) != null) {
+                    identifiers[j++] = i;
+                }
+            }
+            return identifiers;
+        }
+        Posting[] integerPostings = new Posting[distinctIntegers.length];
+        for (int i = 0; i < distinctIntegers.length; i++) {
+            integerPostings[i] = postings.get(distinctIntegers[i]);
+            if (integerPostings[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(integerPostings, (posting1, posting2) -> Integer.compare(posting1.size, posting2.size));
+        int[] identifiers = Arrays.copyOf(integerPostings[0].identifiers, integerPostings[0].size);
+        int size = identifiers.length;
+        for (int i = 1; i < integerPostings.length && size > 0; i++) {
+            int[] otherIdentifiers = integerPostings[i].identifiers;
+            int otherSize = integerPostings[i].size;
+            int newSize = 0;
+            int index = 0;
+            for (int j = 0; j < size && index < otherSize; j++) {
+                index = SortedIntegerList.gallop(otherIdentifiers, index, otherSize, identifiers[j]);
+                if (index < otherSize && otherIdentifiers[index] == identifiers[j]) {
+                    identifiers[newSize++] = identifiers[j];
+                }
+            }
+            size = newSize;
+        }
+        return Arrays.copyOf(identifiers, size);
+    }
+
+    /**
+     * {@return the ascending identifiers of all integer lists in this index whose integers are all contained in
+     * the given integers}
+     *
+     * @param integers the integers
+     */
+    public int[] getSubsetIdentifiers(IntegerList integers) {
+        return getSubsetIdentifiers(integers, false);
+    }
+
+    private int[] getSubsetIdentifiers(IntegerList integers, boolean isFirstSufficient) {
+        ExpandableIntegerList identifiers = new ExpandableIntegerList(emptyLists.toIntStream().toArray());
+        if (isFirstSufficient && !identifiers.isEmpty()) {
+            return new int[] {identifiers.get(0)};
+        }
+        if (counts.length < lists.size()) {
+            counts = new int[Math.max(lists.size(), counts.length * 2)];
+        }
+        ExpandableIntegerList touched = new ExpandableIntegerList();
+        try {
+            for (int integer : distinct(integers)) {
+                Posting posting = postings.get(integer);
+                if (posting != null) {
+                    for (int i = 0; i < posting.size; i++) {
+                        int identifier = posting.identifiers[i];
+                        if (counts[identifier]++ == 0) {
+                            touched.add(identifier);
+                        }
+                        if (counts[identifier] == sizes.get(identifier)) {
+                            identifiers.add(identifier);
+                            if (isFirstSufficient) {
+                                return new int[] {identifier};
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            for (int i = 0; i < touched.size(); i++) {
+                counts[touched.get(i)] = 0;
+            }
+        }
+        identifiers.sort();
+        return Arrays.copyOf(identifiers.toArray(), identifiers.size());
+    }
+
+    /**
+     * {@return all integer lists in this index that contain all given integers}
+     *
+     * @param integers the integers
+     */
+    public List<T> getSupersets(IntegerList integers) {
+        return getLists(getSupersetIdentifiers(integers));
+    }
+
+    /**
+     * {@return all integer lists in this index whose integers are all contained in the given integers}
+     *
+     * @param integers the integers
+     */
+    public List<T> getSubsets(IntegerList integers) {
+        return getLists(getSubsetIdentifiers(integers));
+    }
+
+    private List<T> getLists(int[] identifiers) {
+        List<T> result = new ArrayList<>(identifiers.length);
+        for (int identifier : identifiers) {
+            result.add(lists.get(identifier));
+        }
+        return result;
+    }
+
+    /**
+     * {@return whether any integer list in this index contains all given integers}
+     *
+     * @param integers the integers
+     */
+    public boolean containsSuperset(IntegerList integers) {
+        return getSupersetIdentifiers(integers).length > 0;
+    }
+
+    /**
+     * {@return whether the integers of any integer list in this index are all contained in the given integers}
+     * For clauses, this means that the given clause is subsumed by a clause in this index.
+     *
+     * @param integers the integers
+     */
+    public boolean containsSubset(IntegerList integers) {
+        return getSubsetIdentifiers(integers, true).length > 0;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable view of a range of an array or buffer of integers (e.g., a row of a sample stored in a single array,
+ * or a list in an {@link IntegerListBuffer}).
+ * Shares the array or buffer instead of copying it, so it must not be modified while the view is in use.
+ * Two views are equal if they contain the same integers, and their hash code equals that of an
+ * {@link IntegerList} with the same integers.
+ * A view is not an {@link IntegerList}, so it must be copied with {@link #toIntegerList()} to be passed to methods
+ * that take integer lists.
+ */
+public final class IntegerListView {
+
+    private final IntBuffer elements;
+    private final int length;
+    private final int[] array;
+    private final int offset;
+    private boolean hashCodeValid;
+    private int hashCode;
+
+    /**
+     * Creates a view of a range of a given array.
+     *
+     * @param array  the array
+     * @param offset the index of the first integer in the view
+     * @param length the number of integers in the view
+     * @throws IndexOutOfBoundsException when the range is invalid
+     */
+    public IntegerListView(int[] array, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, array.length);
+        this.elements = IntBuffer.wrap(array, offset, length).slice();
+        this.length = length;
+        this.array = array;
+        this.offset = offset;
+    }
+
+    /**
+     * Creates a view of the remaining integers of a given buffer, which may be direct or memory-mapped.
+     *
+     * @param buffer the buffer
+     */
+    public IntegerListView(IntBuffer buffer) {
+        this.elements = buffer.slice();
+        this.length = elements.remaining();
+        if (elements.hasArray()) {
+            this.array = elements.array();
+            this.offset = elements.arrayOffset();
+        } else {
+            this.array = null;
+            this.offset = 0;
+        }
+    }
+
+    /**
+     * Creates a view of a given array.
+     *
+     * @param array the array
+     */
+    public IntegerListView(int... array) {
+        this(array, 0, array.length);
+    }
+
+    /**
+     * Creates a view of a given integer list.
+     *
+     * @param integerList the integer list
+     */
+    public IntegerListView(IntegerList integerList) {
+        this(integerList.elements);
+    }
+
+    /**
+     * {@return a view of the given range of this view, sharing the same array}
+     *
+     * @param start the start index
+     * @param end   the end index
+     * @throws IndexOutOfBoundsException when the range is invalid
+     */
+    public IntegerListView subView(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return new IntegerListView(elements.duplicate().position(start).limit(end));
+    }
+
+    /**
+     * {@return the value at the given index of this view}
+     *
+     * @param index the index
+     * @throws IndexOutOfBoundsException when the index is invalid
+     */
+    public int get(int index) {
+        return elements.get(index);
+    }
+
+    /**
+     * {@return the number of integers in this view}
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * {@return whether this view is empty}
+     */
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * {@return the first index of the given integer in this view, or a negative number if it is not contained}
+     *
+     * @param integer the integer
+     */
+    public int indexOf(int integer) {
+        if (array != null) {
+            int index = IntegerKernels.get().indexOf(array, offset, offset + length, integer);
+            return index < 0 ? -1 : index - offset;
+        }
+        for (int i = 0; i < length; i++) {
+            if (elements.get(i) == integer) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@return whether this view contains the given integer}
+     *
+     * @param integer the integer
+     */
+    public boolean contains(int integer) {
+        return indexOf(integer) >= 0;
+    }
+
+    /**
+     * {@return whether this view contains the given integer in negated form}
+     *
+     * @param integer the integer
+     */
+    public boolean containsNegated(int integer) {
+        return indexOf(-integer) >= 0;
+    }
+
+    /**
+     * {@return whether this view contains all of the given integers}
+     *
+     * @param integers the integers
+     */
+    public boolean containsAll(int... integers) {
+        for (int integer : integers) {
+            if (!contains(integer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@return the number of positive values in this view}
+     */
+    public int countPositives() {
+        if (array != null) {
+            return IntegerKernels.get().countPositives(array, offset, offset + length);
+        }
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (elements.get(i) > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@return the number of negative values in this view}
+     */
+    public int countNegatives() {
+        if (array != null) {
+            return IntegerKernels.get().countNegatives(array, offset, offset + length);
+        }
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (elements.get(i) < 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@return this view's integers as an {@code IntStream}}
+     */
+    public IntStream stream() {
+        return IntStream.range(0, length).map(elements::get);
+    }
+
+    /**
+     * {@return a copy of this view's integers} The returned array may be modified.
+     */
+    public int[] copy() {
+        int[] integers = new int[length];
+        elements.duplicate().get(integers);
+        return integers;
+    }
+
+    /**
+     * {@return a new integer list containing a copy of this view's integers}
+     */
+    public IntegerList toIntegerList() {
+        return new IntegerList(copy());
+    }
+
+    @Override
+    public int hashCode() {
+        if (!hashCodeValid) {
+            int hash = 1;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + elements.get(i);
+            }
+            hashCode = hash;
+            hashCodeValid = true;
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if ((obj == null) || (getClass() != obj.getClass())) {
+            return false;
+        }
+        IntegerListView other = (IntegerListView) obj;
+        return elements.equals(other.elements);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(copy());
+    }
+}
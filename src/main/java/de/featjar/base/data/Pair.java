@@ -20,6 +20,7 @@
  */
 package de.featjar.base.data;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Objects;
 
@@ -32,7 +33,8 @@ import java.util.Objects;
  * @param <B> the type of the second element
  * @author Sebastian Krieter
  */
-public class Pair<A, B> {
+public class Pair<A, B> implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     protected final A key;
     protected final B value;
@@ -23,10 +23,13 @@ package de.featjar.base.data;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * A problem that wraps an {@link Exception}. Can be stored in a {@link Result}.
+ * Problems created from a message wrap a lightweight {@link MessageException},
+ * which computes its message only on demand and only captures a stack trace if
+ * {@link #isCaptureStackTraces() enabled}.
  *
  * @author Sebastian Krieter
  * @author Elias Kuiter
@@ -51,6 +54,58 @@ public class Problem {
         ERROR
     }
 
+    /**
+     * An exception that wraps the message of a problem.
+     * The message is computed on first access, and a stack trace is only captured
+     * if {@link Problem#isCaptureStackTraces()} holds at creation time.
+     * Thus, creating such an exception is cheap on failure paths whose problems are never inspected.
+     */
+    public static class MessageException extends Exception {
+
+        private static final long serialVersionUID = 2812545382718447153L;
+
+        private transient Supplier<String> messageSupplier;
+        private String message;
+
+        /**
+         * Creates a message exception.
+         *
+         * @param messageSupplier the message supplier
+         */
+        public MessageException(Supplier<String> messageSupplier) {
+            super(null, null, false, captureStackTraces);
+            this.messageSupplier = Objects.requireNonNull(messageSupplier);
+        }
+
+        @Override
+        public synchronized String getMessage() {
+            if (messageSupplier != null) {
+                message = messageSupplier.get();
+                messageSupplier = null;
+            }
+            return message;
+        }
+    }
+
+    private static volatile boolean captureStackTraces = false;
+
+    /**
+     * {@return whether problems created from a message capture a stack trace}
+     * Is disabled by default and enabled by {@link de.featjar.base.FeatJAR} when debug messages are logged.
+     */
+    public static boolean isCaptureStackTraces() {
+        return captureStackTraces;
+    }
+
+    /**
+     * Sets whether problems created from a message capture a stack trace.
+     *
+     * @param captureStackTraces whether to capture stack traces
+     */
+    public static void setCaptureStackTraces(boolean captureStackTraces) {
+        Problem.captureStackTraces = captureStackTraces;
+    }
+
     /**
      * Writes all messages of the given problems to a string.
      *
@@ -86,7 +141,16 @@ public class Problem {
      * @param message the message
      */
     public Problem(String message) {
-        this(new Exception(message));
+        this(message, Severity.ERROR);
+    }
+
+    /**
+     * Creates an error problem with a message that is computed on demand.
+     *
+     * @param message the message supplier
+     */
+    public Problem(Supplier<String> message) {
+        this(message, Severity.ERROR);
     }
 
     /**
@@ -105,7 +169,17 @@ public class Problem {
      * @param severity the severity
      */
     public Problem(String message, Severity severity) {
-        this(new Exception(message), severity);
+        this(() -> message, severity);
+    }
+
+    /**
+     * Creates a problem with a message that is computed on demand.
+     *
+     * @param message  the message supplier
+     * @param severity the severity
+     */
+    public Problem(Supplier<String> message, Severity severity) {
+        this(new MessageException(message), severity);
     }
 
     /**
@@ -135,8 +209,8 @@ public class Problem {
      * {@return the message of this problem}
      */
     public String getMessage() {
-        return Optional.ofNullable(exception.getMessage())
-                .orElse(exception.getClass().getSimpleName());
+        String message = exception.getMessage();
+        return message != null ? message : exception.getClass().getSimpleName();
     }
 
     /**
@@ -60,11 +60,12 @@ public class Result<T> implements Supplier<T> {
 
     protected Result(T object, List<Problem> problems) {
         this.object = object;
-        problems = problems == null
-                ? null
-                : problems.stream().filter(Objects::nonNull).collect(Collectors.toList());
-        if (problems != null && !problems.isEmpty()) {
-            this.problems.addAll(problems);
+        if (problems != null) {
+            for (Problem problem : problems) {
+                if (problem != null) {
+                    this.problems.add(problem);
+                }
+            }
         }
     }
 
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An immutable list of integers in ascending order.
+ * The integers are sorted once on creation, so membership is checked by binary search, and subset tests between
+ * two sorted integer lists take linear time (or less, by galloping through the longer list).
+ */
+public class SortedIntegerList extends IntegerList {
+
+    /**
+     * Creates a new sorted integer list from a given array of integers.
+     * The array is copied before sorting.
+     *
+     * @param array the array
+     */
+    public SortedIntegerList(int... array) {
+        super(sort(array.clone()));
+    }
+
+    /**
+     * Creates a new sorted integer list from a given collection of integers.
+     *
+     * @param collection the collection
+     */
+    public SortedIntegerList(Collection<Integer> collection) {
+        super(sort(collection.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Creates a new sorted integer list from a given integer list.
+     *
+     * @param integerList the integer list
+     */
+    public SortedIntegerList(IntegerList integerList) {
+        super(integerList instanceof SortedIntegerList ? integerList.elements : sort(integerList.copy()));
+    }
+
+    private static int[] sort(int[] array) {
+        Arrays.sort(array);
+        return array;
+    }
+
+    /**
+     * {@return the first index in the given range of the given sorted array whose integer is not less than the
+     * given integer, or the end of the range if there is none}
+     *
+     * @param array   the sorted array
+     * @param start   the start index
+     * @param end     the end index
+     * @param integer the integer
+     */
+    protected static int lowerBound(int[] array, int start, int end, int integer) {
+        int low = start;
+        int high = end;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (array[middle] < integer) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * {@return the first index at or after a given index of the given sorted array whose integer is not less than
+     * the given integer, or the array's length if there is none}
+     * Gallops exponentially from the given index before searching binarily, so it takes time logarithmic in the
+     * distance to the returned index.
+     *
+     * @param array   the sorted array
+     * @param start   the start index
+     * @param integer the integer
+     */
+    protected static int gallop(int[] array, int start, int integer) {
+        return gallop(array, start, array.length, integer);
+    }
+
+    /**
+     * {@return the first index in the given range of the given sorted array whose integer is not less than the
+     * given integer, or the end of the range if there is none}
+     *
+     * @param array   the sorted array
+     * @param start   the start index
+     * @param end     the end index
+     * @param integer the integer
+     * @see #gallop(int[], int, int)
+     */
+    protected static int gallop(int[] array, int start, int end, int integer) {
+        int bound = 1;
+        while (start + bound < end && array[start + bound] < integer) {
+            bound <<= 1;
+        }
+        return lowerBound(array, start + (bound >>> 1), Math.min(start + bound, end), integer);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Uses binary search.
+     */
+    @Override
+    public int indexOf(int integer) {
+        int index = lowerBound(elements, 0, elements.length, integer);
+        return index < elements.length && elements[index] == integer ? index : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Uses binary search.
+     */
+    @Override
+    public int[] indicesOf(int integer) {
+        int start = lowerBound(elements, 0, elements.length, integer);
+        int end = lowerBound(elements, start, elements.length, integer + 1);
+        if (integer == Integer.MAX_VALUE) {
+            end = elements.length;
+        }
+        int[] indices = new int[end - start];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = start + i;
+        }
+        return indices;
+    }
+
+    /**
+     * {@return whether this list contains all integers in the given sorted integer list}
+     * Takes time linear in the size of both lists, or logarithmic in the size of this list if the given list is
+     * much shorter.
+     *
+     * @param integers another sorted integer list
+     */
+    public final boolean containsAll(SortedIntegerList integers) {
+        int[] otherElements = integers.elements;
+        if (otherElements.length > 0
+                && (elements.length == 0
+                        || otherElements[0] < elements[0]
+                        || otherElements[otherElements.length - 1] > elements[elements.length - 1])) {
+            return false;
+        }
+        int index = 0;
+        for (int integer : otherElements) {
+            index = gallop(elements, index, integer);
+            if (index == elements.length || elements[index] != integer) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@return whether all integers in this list are contained in the given sorted integer list}
+     *
+     * @param integers another sorted integer list
+     */
+    public final boolean isSubsetOf(SortedIntegerList integers) {
+        return integers.containsAll(this);
+    }
+
+    /**
+     * {@return whether this list contains any integer in the given sorted integer list}
+     *
+     * @param integers another sorted integer list
+     */
+    public final boolean containsAny(SortedIntegerList integers) {
+        int[] shorter = elements.length <= integers.elements.length ? elements : integers.elements;
+        int[] longer = shorter == elements ? integers.elements : elements;
+        int index = 0;
+        for (int integer : shorter) {
+            index = gallop(longer, index, integer);
+            if (index == longer.length) {
+                return false;
+            }
+            if (longer[index] == integer) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int countNegatives() {
+        return lowerBound(elements, 0, elements.length, 0);
+    }
+
+    @Override
+    public int countPositives() {
+        return elements.length - lowerBound(elements, 0, elements.length, 1);
+    }
+
+    @Override
+    public int countNonZero() {
+        return countNegatives() + countPositives();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The values are in ascending order.
+     */
+    @Override
+    public int[] getPositiveValues() {
+        return copyOfRange(lowerBound(elements, 0, elements.length, 1), elements.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The values are in ascending order.
+     */
+    @Override
+    public int[] getNegativeValues() {
+        return copyOfRange(0, countNegatives());
+    }
+
+    /**
+     * {@return a view of the positive values in this list, in ascending order} The integers are not copied.
+     */
+    public IntegerListView viewOfPositiveValues() {
+        return viewOfRange(lowerBound(elements, 0, elements.length, 1), elements.length);
+    }
+
+    /**
+     * {@return a view of the negative values in this list, in ascending order} The integers are not copied.
+     */
+    public IntegerListView viewOfNegativeValues() {
+        return viewOfRange(0, countNegatives());
+    }
+}
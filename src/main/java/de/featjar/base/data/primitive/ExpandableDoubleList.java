@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data.primitive;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.DoubleStream;
+
+/**
+ * A growable list of doubles without boxing.
+ *
+ * @see de.featjar.base.data.ExpandableIntegerList
+ */
+public class ExpandableDoubleList implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected double[] elements;
+    protected int size;
+
+    public ExpandableDoubleList() {
+        this(10);
+    }
+
+    public ExpandableDoubleList(int initialCapacity) {
+        elements = new double[initialCapacity];
+    }
+
+    public ExpandableDoubleList(double... elements) {
+        this.elements = elements;
+        size = elements.length;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensure(int newSize) {
+        if (newSize >= elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(newSize, elements.length * 2));
+        }
+    }
+
+    public void add(double e) {
+        ensure(size + 1);
+        elements[size++] = e;
+    }
+
+    public void add(double... newElements) {
+        ensure(size + newElements.length);
+        for (double e : newElements) {
+            elements[size++] = e;
+        }
+    }
+
+    public double getFirst() {
+        return elements[0];
+    }
+
+    public double getLast() {
+        return elements[size - 1];
+    }
+
+    public double get(int i) {
+        return this.elements[i];
+    }
+
+    public void set(int i, double e) {
+        this.elements[i] = e;
+    }
+
+    public int indexOf(double e) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == e) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void removeLast() {
+        size--;
+    }
+
+    public void removeAtUnsort(int i) {
+        elements[i] = elements[--size];
+    }
+
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ExpandableDoubleList other = (ExpandableDoubleList) obj;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (Double.compare(elements[i], other.elements[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 37 * hash + Double.hashCode(elements[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DoubleList [");
+        if (size > 0) {
+            sb.append(elements[0]);
+        }
+        for (int i = 1; i < size; i++) {
+            sb.append(", ");
+            sb.append(elements[i]);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public DoubleStream toDoubleStream() {
+        return IntStream.range(0, size).mapToDouble(i -> elements[i]);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data.primitive;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * A growable list of longs without boxing.
+ *
+ * @see de.featjar.base.data.ExpandableIntegerList
+ */
+public class ExpandableLongList implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected long[] elements;
+    protected int size;
+
+    public ExpandableLongList() {
+        this(10);
+    }
+
+    public ExpandableLongList(int initialCapacity) {
+        elements = new long[initialCapacity];
+    }
+
+    public ExpandableLongList(long... elements) {
+        this.elements = elements;
+        size = elements.length;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensure(int newSize) {
+        if (newSize >= elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(newSize, elements.length * 2));
+        }
+    }
+
+    public void add(long e) {
+        ensure(size + 1);
+        elements[size++] = e;
+    }
+
+    public void add(long... newElements) {
+        ensure(size + newElements.length);
+        for (long e : newElements) {
+            elements[size++] = e;
+        }
+    }
+
+    public long getFirst() {
+        return elements[0];
+    }
+
+    public long getLast() {
+        return elements[size - 1];
+    }
+
+    public long get(int i) {
+        return this.elements[i];
+    }
+
+    public void set(int i, long e) {
+        this.elements[i] = e;
+    }
+
+    public int indexOf(long e) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == e) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void removeLast() {
+        size--;
+    }
+
+    public void removeAtUnsort(int i) {
+        elements[i] = elements[--size];
+    }
+
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ExpandableLongList other = (ExpandableLongList) obj;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (elements[i] != other.elements[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 37 * hash + Long.hashCode(elements[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("LongList [");
+        if (size > 0) {
+            sb.append(elements[0]);
+        }
+        for (int i = 1; i < size; i++) {
+            sb.append(", ");
+            sb.append(elements[i]);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public LongStream toLongStream() {
+        return IntStream.range(0, size).mapToLong(i -> elements[i]);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data.primitive;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A set of integers, stored in an open-addressing hash table without boxing.
+ *
+ * @see IntegerToIntegerMap
+ */
+public class IntegerSet implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected int[] keys;
+    protected int size;
+    protected boolean containsZero;
+
+    public IntegerSet() {
+        this(8);
+    }
+
+    public IntegerSet(int expectedSize) {
+        keys = new int[IntegerToIntegerMap.capacity(expectedSize)];
+    }
+
+    public IntegerSet(int... elements) {
+        this(elements.length);
+        addAll(elements);
+    }
+
+    public boolean add(int e) {
+        if (e == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int i = IntegerToIntegerMap.hash(e) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == e) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        if (IntegerToIntegerMap.isFull(size + 1, keys.length)) {
+            rehash(IntegerToIntegerMap.grow(keys.length));
+            mask = keys.length - 1;
+            i = IntegerToIntegerMap.hash(e) & mask;
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+        }
+        keys[i] = e;
+        size++;
+        return true;
+    }
+
+    public void addAll(int... elements) {
+        for (int e : elements) {
+            add(e);
+        }
+    }
+
+    public boolean contains(int e) {
+        if (e == 0) {
+            return containsZero;
+        }
+        int mask = keys.length - 1;
+        int i = IntegerToIntegerMap.hash(e) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == e) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean remove(int e) {
+        if (e == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int i = IntegerToIntegerMap.hash(e) & mask;
+        while (keys[i] != e) {
+            if (keys[i] == 0) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        int gap = i;
+        for (i = (i + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int ideal = IntegerToIntegerMap.hash(keys[i]) & mask;
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+        size--;
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        keys = new int[capacity];
+        int mask = capacity - 1;
+        for (int key : oldKeys) {
+            if (key != 0) {
+                int i = IntegerToIntegerMap.hash(key) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int[] toArray() {
+        int[] elements = new int[size];
+        int j = 0;
+        if (containsZero) {
+            elements[j++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                elements[j++] = key;
+            }
+        }
+        return elements;
+    }
+
+    public IntStream toIntStream() {
+        return IntStream.of(toArray());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        IntegerSet other = (IntegerSet) obj;
+        if (size != other.size || containsZero != other.containsZero) {
+            return false;
+        }
+        for (int key : keys) {
+            if (key != 0 && !other.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int key : keys) {
+            hash += key;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "IntSet " + Arrays.toString(toArray());
+    }
+}
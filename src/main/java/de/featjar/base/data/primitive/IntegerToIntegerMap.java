@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data.primitive;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A map from integers to integers, stored in an open-addressing hash table without boxing.
+ * Uses linear probing and removes entries without tombstones.
+ */
+public class IntegerToIntegerMap implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected int[] keys;
+    protected int[] values;
+    protected int size;
+    protected boolean containsZero;
+    protected int zeroValue;
+
+    public IntegerToIntegerMap() {
+        this(8);
+    }
+
+    public IntegerToIntegerMap(int expectedSize) {
+        keys = new int[capacity(expectedSize)];
+        values = new int[keys.length];
+    }
+
+    /**
+     * The maximum number of slots in a hash table.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * {@return the number of slots in a hash table for the given number of keys}
+     *
+     * @param expectedSize the expected number of keys
+     */
+    static int capacity(int expectedSize) {
+        long capacity = Long.highestOneBit(Math.max(expectedSize, 2) * 4L / 3 + 1) << 1;
+        return (int) Math.min(capacity, MAXIMUM_CAPACITY);
+    }
+
+    /**
+     * {@return whether a hash table with the given number of slots must grow to hold the given number of keys}
+     *
+     * @param size     the number of keys
+     * @param capacity the number of slots
+     */
+    static boolean isFull(int size, int capacity) {
+        return size > capacity - (capacity >>> 2);
+    }
+
+    /**
+     * {@return the number of slots of a hash table after growing}
+     *
+     * @param capacity the current number of slots
+     * @throws IllegalStateException if the hash table cannot grow anymore
+     */
+    static int grow(int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("hash table exceeds maximum capacity");
+        }
+        return capacity * 2;
+    }
+
+    static int hash(int key) {
+        final int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -i - 1;
+    }
+
+    public void put(int key, int value) {
+        if (key == 0) {
+            if (!containsZero) {
+                containsZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int i = indexOf(key);
+        if (i >= 0) {
+            values[i] = value;
+        } else {
+            if (isFull(size + 1, keys.length)) {
+                rehash(grow(keys.length));
+                i = indexOf(key);
+            }
+            i = -i - 1;
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+    }
+
+    public int get(int key, int defaultValue) {
+        if (key == 0) {
+            return containsZero ? zeroValue : defaultValue;
+        }
+        int i = indexOf(key);
+        return i >= 0 ? values[i] : defaultValue;
+    }
+
+    /**
+     * Adds an increment to the value of a key, which is zero if the key is not mapped.
+     *
+     * @param key       the key
+     * @param increment the increment
+     * @return the new value
+     */
+    public int addTo(int key, int increment) {
+        int value = get(key, 0) + increment;
+        put(key, value);
+        return value;
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? containsZero : indexOf(key) >= 0;
+    }
+
+    public boolean remove(int key) {
+        if (key == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int i = indexOf(key);
+        if (i < 0) {
+            return false;
+        }
+        int mask = keys.length - 1;
+        int gap = i;
+        for (i = (i + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int ideal = hash(keys[i]) & mask;
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+        size--;
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = hash(oldKeys[j]) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int[] keys() {
+        int[] mappedKeys = new int[size];
+        int j = 0;
+        if (containsZero) {
+            mappedKeys[j++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                mappedKeys[j++] = key;
+            }
+        }
+        return mappedKeys;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        IntegerToIntegerMap other = (IntegerToIntegerMap) obj;
+        if (size != other.size || containsZero != other.containsZero || (containsZero && zeroValue != other.zeroValue)) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0 && (!other.containsKey(keys[i]) || other.get(keys[i], 0) != values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = containsZero ? zeroValue : 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                hash += keys[i] ^ values[i];
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("IntIntMap {");
+        String separator = "";
+        for (int key : keys()) {
+            sb.append(separator).append(key).append('=').append(get(key, 0));
+            separator = ", ";
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data.primitive;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * A map from integers to objects, stored in an open-addressing hash table without boxing the keys.
+ * Uses linear probing and removes entries without tombstones.
+ * Does not map keys to {@code null}.
+ *
+ * @param <V> the type of the values
+ */
+public class IntegerToObjectMap<V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected int[] keys;
+    protected Object[] values;
+    protected int size;
+    protected Object zeroValue;
+
+    public IntegerToObjectMap() {
+        this(8);
+    }
+
+    public IntegerToObjectMap(int expectedSize) {
+        keys = new int[IntegerToIntegerMap.capacity(expectedSize)];
+        values = new Object[keys.length];
+    }
+
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int i = IntegerToIntegerMap.hash(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -i - 1;
+    }
+
+    /**
+     * Maps a key to a value.
+     *
+     * @param key   the key
+     * @param value the value, not {@code null}
+     * @return the previous value of the key, or {@code null} if the key was not mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        Object previousValue;
+        if (key == 0) {
+            previousValue = zeroValue;
+            zeroValue = value;
+            if (previousValue == null) {
+                size++;
+            }
+            return (V) previousValue;
+        }
+        int i = indexOf(key);
+        if (i >= 0) {
+            previousValue = values[i];
+            values[i] = value;
+            return (V) previousValue;
+        }
+        if (IntegerToIntegerMap.isFull(size + 1, keys.length)) {
+            rehash(IntegerToIntegerMap.grow(keys.length));
+            i = indexOf(key);
+        }
+        i = -i - 1;
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * {@return the value of a key, or {@code null} if the key is not mapped}
+     *
+     * @param key the key
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key == 0) {
+            return (V) zeroValue;
+        }
+        int i = indexOf(key);
+        return i >= 0 ? (V) values[i] : null;
+    }
+
+    /**
+     * {@return the value of a key, which is computed and mapped if the key is not mapped}
+     *
+     * @param key      the key
+     * @param function computes the value for the key
+     */
+    public V computeIfAbsent(int key, IntFunction<? extends V> function) {
+        V value = get(key);
+        if (value == null) {
+            value = function.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key the key
+     * @return the previous value of the key, or {@code null} if the key was not mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        Object previousValue;
+        if (key == 0) {
+            previousValue = zeroValue;
+            if (previousValue != null) {
+                zeroValue = null;
+                size--;
+            }
+            return (V) previousValue;
+        }
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        previousValue = values[i];
+        int mask = keys.length - 1;
+        int gap = i;
+        for (i = (i + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int ideal = IntegerToIntegerMap.hash(keys[i]) & mask;
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+        size--;
+        return (V) previousValue;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = IntegerToIntegerMap.hash(oldKeys[j]) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        zeroValue = null;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int[] keys() {
+        int[] mappedKeys = new int[size];
+        int j = 0;
+        if (zeroValue != null) {
+            mappedKeys[j++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                mappedKeys[j++] = key;
+            }
+        }
+        return mappedKeys;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> mappedValues = new ArrayList<>(size);
+        if (zeroValue != null) {
+            mappedValues.add((V) zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                mappedValues.add((V) values[i]);
+            }
+        }
+        return mappedValues;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        IntegerToObjectMap<?> other = (IntegerToObjectMap<?>) obj;
+        if (size != other.size || (zeroValue == null ? other.zeroValue != null : !zeroValue.equals(other.zeroValue))) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0 && !values[i].equals(other.get(keys[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = zeroValue != null ? zeroValue.hashCode() : 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                hash += keys[i] ^ values[i].hashCode();
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("IntObjectMap {");
+        String separator = "";
+        for (int key : keys()) {
+            sb.append(separator).append(key).append('=').append(get(key));
+            separator = ", ";
+        }
+        return sb.append('}').toString();
+    }
+}
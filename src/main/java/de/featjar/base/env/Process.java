@@ -43,6 +43,34 @@ import java.util.function.Supplier;
  * @author Elias Kuiter
  */
 public class Process implements Supplier<Result<List<String>>> {
+
+    /**
+     * Signals that a process reported an error.
+     */
+    public static class ExitException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final int exitValue;
+
+        /**
+         * Creates an exit exception.
+         *
+         * @param executablePath the path of the executable
+         * @param exitValue      the exit value of the process
+         */
+        public ExitException(Path executablePath, int exitValue) {
+            super(executablePath + " exited with value " + exitValue);
+            this.exitValue = exitValue;
+        }
+
+        /**
+         * {@return the exit value of the process}
+         */
+        public int getExitValue() {
+            return exitValue;
+        }
+    }
+
     protected final Path executablePath;
     protected final List<String> arguments;
     protected final Duration timeout;
@@ -69,11 +97,35 @@ public class Process implements Supplier<Result<List<String>>> {
         return result.map(r -> output);
     }
 
-    public Result<Void> run(Consumer<String> outConsumer, Consumer<String> errConsumer) {
+    /**
+     * Starts the executable without waiting for it to terminate, so it can be communicated with over its
+     * standard input and output.
+     * The caller is responsible for destroying the returned process.
+     *
+     * @param errConsumer consumes the lines written to the standard error stream, or {@code null} to ignore them
+     * @return the started process
+     * @throws IOException if the process cannot be started
+     */
+    public java.lang.Process start(Consumer<String> errConsumer) throws IOException {
+        final ProcessBuilder processBuilder = new ProcessBuilder(getCommand());
+        if (errConsumer == null) {
+            processBuilder.redirectError(ProcessBuilder.Redirect.DISCARD);
+        }
+        FeatJAR.log().debug(String.join(" ", processBuilder.command()));
+        java.lang.Process process = processBuilder.start();
+        consumeInputStream(process.getErrorStream(), errConsumer, true);
+        return process;
+    }
+
+    protected List<String> getCommand() {
         List<String> command = new ArrayList<>();
         command.add(executablePath.toString());
         command.addAll(arguments);
-        final ProcessBuilder processBuilder = new ProcessBuilder(command);
+        return command;
+    }
+
+    public Result<Void> run(Consumer<String> outConsumer, Consumer<String> errConsumer) {
+        final ProcessBuilder processBuilder = new ProcessBuilder(getCommand());
         FeatJAR.log().debug(String.join(" ", processBuilder.command()));
         java.lang.Process process = null;
         try {
@@ -92,7 +144,7 @@ public class Process implements Supplier<Result<List<String>>> {
                 result = Result.ofVoid();
             } else {
                 result = Result.empty(
-                        new Problem(executablePath + " exited with value " + exitValue, Problem.Severity.ERROR));
+                        new Problem(new ExitException(executablePath, exitValue), Problem.Severity.ERROR));
             }
             // TODO: add info severity, as these are no real warnings
             return Result.empty(
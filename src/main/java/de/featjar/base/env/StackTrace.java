@@ -102,6 +102,17 @@ public class StackTrace {
                         isMethodCall(stackTraceElement, klass, methodName).orElse(false));
     }
 
+    /**
+     * {@return this stack trace, followed by the elements of a given stack trace}
+     * Useful for continuing a stack trace in another thread.
+     *
+     * @param stackTrace the stack trace
+     */
+    public StackTrace append(StackTrace stackTrace) {
+        stackTraceElements.addAll(stackTrace.stackTraceElements);
+        return this;
+    }
+
     /**
      * {@return all stack trace elements of this stack trace}
      */
@@ -120,7 +120,8 @@ public abstract class AExtensionPoint<T extends IExtension> {
         final Integer index = indexMap.get(identifier);
         return index != null
                 ? Result.of(extensions.get(index))
-                : Result.empty(new Problem("no extension found for identifier " + identifier, Problem.Severity.ERROR));
+                : Result.empty(new Problem(
+                        () -> "no extension found for identifier " + identifier, Problem.Severity.ERROR));
     }
 
     /**
@@ -136,10 +137,10 @@ public abstract class AExtensionPoint<T extends IExtension> {
                 .collect(Sets.toSet());
         if (matchingIdentifiers.isEmpty())
             return Result.empty(
-                    new Problem("found no extensions matching " + partOfIdentifier, Problem.Severity.ERROR));
+                    new Problem(() -> "found no extensions matching " + partOfIdentifier, Problem.Severity.ERROR));
         if (matchingIdentifiers.size() > 1)
             return Result.empty(new Problem(
-                    "found more than one extensions matching " + partOfIdentifier + ": \n"
+                    () -> "found more than one extensions matching " + partOfIdentifier + ": \n"
                             + IndentFormatter.formatList(matchingIdentifiers),
                     Problem.Severity.ERROR));
         return getExtension(matchingIdentifiers.iterator().next());
@@ -69,7 +69,7 @@ public abstract class AFormats<T> extends AExtensionPoint<IFormat<T>> implements
                 .findFirst()
                 .map(Result::of)
                 .orElseGet(() -> Result.empty(new Problem(
-                        "No suitable format found for file extension \"." + inputHeader.getFileExtension()
+                        () -> "No suitable format found for file extension \"." + inputHeader.getFileExtension()
                                 + "\". Possible formats: " + getExtensions(),
                         Problem.Severity.ERROR)));
     }
@@ -20,10 +20,13 @@
  */
 package de.featjar.base.io.format;
 
+import de.featjar.base.data.Problem;
 import de.featjar.base.io.input.AInput;
 
 /**
  * An exception that occurs while parsing an {@link AInput}.
+ * As parse exceptions are used for control flow, a stack trace is only captured
+ * if {@link Problem#isCaptureStackTraces()} holds.
  *
  * @author Sebastian Krieter
  */
@@ -49,7 +52,7 @@ public class ParseException extends Exception {
      * @param lineNumber the line number
      */
     public ParseException(String message, int lineNumber) {
-        super(message);
+        super(message, null, false, Problem.isCaptureStackTraces());
         this.lineNumber = lineNumber;
     }
 
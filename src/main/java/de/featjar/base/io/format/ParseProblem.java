@@ -23,6 +23,7 @@ package de.featjar.base.io.format;
 import de.featjar.base.data.Problem;
 import de.featjar.base.io.input.AInput;
 import java.nio.file.Path;
+import java.util.function.Supplier;
 
 /**
  * A problem that occurs while parsing an {@link AInput}.
@@ -58,6 +59,18 @@ public class ParseProblem extends Problem {
         this.lineNumber = lineNumber;
     }
 
+    /**
+     * Create a new parse problem with a message that is computed on demand.
+     *
+     * @param message    the message supplier
+     * @param severity   the severity
+     * @param lineNumber the line number
+     */
+    public ParseProblem(Supplier<String> message, Severity severity, int lineNumber) {
+        super(message, severity);
+        this.lineNumber = lineNumber;
+    }
+
     protected ParseProblem(Exception exception, Severity severity, int lineNumber) {
         super(exception, severity);
         this.lineNumber = lineNumber;
@@ -147,6 +147,15 @@ public class ConfigurableLog implements Log, IInitializer {
             return this;
         }
 
+        /**
+         * {@return whether messages of the given verbosity are logged to any target}
+         *
+         * @param verbosity the verbosity
+         */
+        public boolean isLogging(Verbosity verbosity) {
+            return logStreams.containsKey(verbosity);
+        }
+
         public Configuration logAtMost(Verbosity verbosity) {
             switch (verbosity) {
                 case MESSAGE:
@@ -56,7 +56,7 @@ public abstract class ATree<T extends ITree<T>> implements ITree<T> {
         Objects.requireNonNull(children);
         assertChildrenCountInRange(children.size());
         assertChildValidator(children);
-        hashCodeValid = false;
+        invalidateHashCode();
         this.children.clear();
         this.children.addAll(children);
     }
@@ -72,7 +72,7 @@ public abstract class ATree<T extends ITree<T>> implements ITree<T> {
     public void addChild(int index, T newChild) {
         assertChildrenCountInRange(children.size() + 1);
         assertChildValidator(newChild);
-        hashCodeValid = false;
+        invalidateHashCode();
         if (index > getChildrenCount()) {
             children.add(newChild);
         } else {
@@ -89,7 +89,7 @@ public abstract class ATree<T extends ITree<T>> implements ITree<T> {
     public void addChild(T newChild) {
         assertChildrenCountInRange(children.size() + 1);
         assertChildValidator(newChild);
-        hashCodeValid = false;
+        invalidateHashCode();
         children.add(newChild);
     }
 
@@ -102,7 +102,7 @@ public abstract class ATree<T extends ITree<T>> implements ITree<T> {
     @Override
     public void removeChild(T child) {
         assertChildrenCountInRange(children.size() - 1);
-        hashCodeValid = false;
+        invalidateHashCode();
         if (!children.remove(child)) {
             throw new NoSuchElementException();
         }
@@ -118,7 +118,7 @@ public abstract class ATree<T extends ITree<T>> implements ITree<T> {
     @Override
     public T removeChild(int index) {
         assertChildrenCountInRange(children.size() - 1);
-        hashCodeValid = false;
+        invalidateHashCode();
         return children.remove(index);
     }
 
@@ -136,7 +136,7 @@ public abstract class ATree<T extends ITree<T>> implements ITree<T> {
             final T replacement = mapper.apply(idx, child);
             if (replacement != null && replacement != child) {
                 assertChildValidator(replacement);
-                hashCodeValid = false;
+                invalidateHashCode();
                 it.set(replacement);
                 modified = true;
             }
@@ -158,7 +158,7 @@ public abstract class ATree<T extends ITree<T>> implements ITree<T> {
         if (index == -1) throw new NoSuchElementException();
         assertChildValidator(newChild);
         if (oldChild != newChild) {
-            hashCodeValid = false;
+            invalidateHashCode();
             children.set(index, newChild);
         }
         return oldChild != newChild;
@@ -177,7 +177,7 @@ public abstract class ATree<T extends ITree<T>> implements ITree<T> {
         if (idx < 0 || idx > getChildrenCount()) throw new NoSuchElementException();
         assertChildValidator(newChild);
         if (children.get(idx) != newChild) {
-            hashCodeValid = false;
+            invalidateHashCode();
             children.set(idx, newChild);
         }
         return children.get(idx) != newChild;
@@ -194,6 +194,13 @@ public abstract class ATree<T extends ITree<T>> implements ITree<T> {
         return this == other || (other != null && getClass() == other.getClass() && equalsTree((T) other));
     }
 
+    /**
+     * Invalidates the cached hash code of this node, which is called whenever its children change.
+     */
+    protected void invalidateHashCode() {
+        hashCodeValid = false;
+    }
+
     @Override
     public int hashCodeTree() {
         if (hashCodeValid) return hashCode;
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.Pair;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.base.env.StackTrace;
+import de.featjar.base.tree.Trees;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class AComputationTest {
+
+    private static class ComputeThreadName extends AComputation<String> {
+        @Override
+        public Result<String> compute(List<Object> dependencyList, Progress progress) {
+            return Result.of(Thread.currentThread().getName());
+        }
+    }
+
+    private static class ComputeBlocking extends AComputation<Integer> {
+        private final CountDownLatch started;
+        private final AtomicInteger running;
+
+        private ComputeBlocking(CountDownLatch started, AtomicInteger running) {
+            this.started = started;
+            this.running = running;
+        }
+
+        @Override
+        public Result<Integer> compute(List<Object> dependencyList, Progress progress) {
+            running.incrementAndGet();
+            started.countDown();
+            try {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+                while (System.nanoTime() < deadline) {
+                    checkCancel();
+                    Thread.onSpinWait();
+                }
+                return Result.of(1);
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+
+    private static class ComputeFailing extends AComputation<Integer> {
+        private final CountDownLatch started;
+
+        private ComputeFailing(CountDownLatch started) {
+            this.started = started;
+        }
+
+        @Override
+        public Result<Integer> computeResult(
+                boolean tryHitCache, boolean tryWriteCache, Supplier<Progress> progressSupplier) {
+            try {
+                started.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("failing");
+        }
+
+        @Override
+        public Result<Integer> compute(List<Object> dependencyList, Progress progress) {
+            return Result.of(0);
+        }
+    }
+
+    private static class ComputeStackTrace extends AComputation<StackTrace> {
+        @Override
+        public Result<StackTrace> compute(List<Object> dependencyList, Progress progress) {
+            return Result.of(AComputation.ForkContext.getStackTrace());
+        }
+    }
+
+    private static <T extends IComputation<?>> T withCache(T computation, Cache cache) {
+        Trees.preOrderStream(computation)
+                .filter(node -> node instanceof AComputation)
+                .forEach(node -> ((AComputation<?>) node).setCache(cache));
+        return computation;
+    }
+
+    private static Cache forkJoinCache(ForkJoinPool pool) {
+        return new Cache(new Cache.Configuration().setForkJoinPool(pool));
+    }
+
+    private static void awaitStopped(AtomicInteger running) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (running.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, running.get());
+    }
+
+    @Test
+    void forksDependencies() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ComputePair<Pair<String, String>, Pair<String, String>> computation = withCache(
+                    new ComputePair<>(
+                            new ComputePair<>(new ComputeThreadName(), new ComputeThreadName()),
+                            new ComputePair<>(Computations.of("constant"), new ComputeThreadName())),
+                    forkJoinCache(pool));
+            Pair<Pair<String, String>, Pair<String, String>> result =
+                    computation.computeResult(false, false).get();
+            assertEquals("constant", result.getValue().getKey());
+            for (String threadName : List.of(
+                    result.getKey().getKey(),
+                    result.getKey().getValue(),
+                    result.getValue().getValue())) {
+                assertTrue(threadName.contains("ForkJoinPool"));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void computesSequentiallyWithoutPool() {
+        Pair<String, String> result = withCache(
+                        new ComputePair<>(new ComputeThreadName(), new ComputeThreadName()),
+                        new Cache(new Cache.Configuration()))
+                .computeResult(false, false)
+                .get();
+        assertEquals(new Pair<>(Thread.currentThread().getName(), Thread.currentThread().getName()), result);
+    }
+
+    @Test
+    void exceptionCancelsForkedSiblings() throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            AtomicInteger running = new AtomicInteger();
+            IComputation<Pair<Integer, Integer>> computation = withCache(
+                    new ComputePair<>(new ComputeFailing(started), new ComputeBlocking(started, running)),
+                    forkJoinCache(pool));
+            assertThrows(IllegalStateException.class, () -> computation.computeResult(false, false));
+            awaitStopped(running);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void interruptCancelsForkedComputations() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CountDownLatch started = new CountDownLatch(2);
+            AtomicInteger running = new AtomicInteger();
+            IComputation<Pair<Integer, Integer>> computation = withCache(
+                    new ComputePair<>(new ComputeBlocking(started, running), new ComputeBlocking(started, running)),
+                    forkJoinCache(pool));
+            AtomicReference<Thread> caller = new AtomicReference<>();
+            CompletableFuture<Boolean> isCancelled = CompletableFuture.supplyAsync(() -> {
+                caller.set(Thread.currentThread());
+                try {
+                    computation.computeResult(false, false);
+                    return false;
+                } catch (CancellationException e) {
+                    return Thread.interrupted();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            caller.get().interrupt();
+            assertTrue(isCancelled.get(5, TimeUnit.SECONDS));
+            awaitStopped(running);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void stackTraceOfForkingThreadIsOnlyCapturedOnDemand() {
+        boolean captureStackTraces = Problem.isCaptureStackTraces();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (boolean isCaptured : new boolean[] {false, true}) {
+                Problem.setCaptureStackTraces(isCaptured);
+                Pair<StackTrace, StackTrace> stackTraces = withCache(
+                                new ComputePair<>(new ComputeStackTrace(), new ComputeStackTrace()),
+                                forkJoinCache(pool))
+                        .computeResult(true, true)
+                        .get();
+                for (StackTrace stackTrace : List.of(stackTraces.getKey(), stackTraces.getValue())) {
+                    assertEquals(
+                            isCaptured,
+                            stackTrace.getAll().stream()
+                                    .anyMatch(element -> element.getMethodName()
+                                            .equals("stackTraceOfForkingThreadIsOnlyCapturedOnDemand")));
+                }
+            }
+            assertFalse(new ComputeStackTrace().computeResult(false, false).get().getAll().isEmpty());
+        } finally {
+            Problem.setCaptureStackTraces(captureStackTraces);
+            pool.shutdownNow();
+        }
+    }
+}
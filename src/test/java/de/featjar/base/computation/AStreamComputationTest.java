@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.base.data.Void;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class AStreamComputationTest {
+
+    private static class ComputeRange extends AStreamComputation<Integer> {
+        protected static final Dependency<Object> COUNT = Dependency.newDependency();
+
+        protected final AtomicInteger produced = new AtomicInteger();
+        protected final CountDownLatch done = new CountDownLatch(1);
+        protected final boolean isFailing;
+
+        private ComputeRange(int count, boolean isFailing) {
+            super(Computations.of(count));
+            this.isFailing = isFailing;
+            setCache(new Cache(new Cache.Configuration()));
+        }
+
+        @Override
+        protected Result<Void> produce(List<Object> dependencyList, Progress progress, Consumer<Integer> consumer) {
+            try {
+                int count = (Integer) COUNT.getValue(dependencyList);
+                for (int i = 0; i < count; i++) {
+                    checkCancel();
+                    consumer.accept(i);
+                    produced.incrementAndGet();
+                }
+                return isFailing ? Result.empty(new Problem("production failed")) : Result.ofVoid();
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    private static class CollectingSubscriber implements Flow.Subscriber<List<Integer>> {
+        protected final List<List<Integer>> chunks = new CopyOnWriteArrayList<>();
+        protected final CompletableFuture<Void> completion = new CompletableFuture<>();
+        protected final long initialRequest;
+        protected final int cancelAfter;
+        protected volatile Flow.Subscription subscription;
+
+        private CollectingSubscriber(long initialRequest, int cancelAfter) {
+            this.initialRequest = initialRequest;
+            this.cancelAfter = cancelAfter;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(List<Integer> chunk) {
+            chunks.add(chunk);
+            if (chunks.size() == cancelAfter) {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(null);
+        }
+
+        protected List<Integer> getElements() {
+            return chunks.stream().flatMap(List::stream).collect(Collectors.toList());
+        }
+    }
+
+    private static List<Integer> range(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    void publishesChunksAndCompletes() throws Exception {
+        ComputeRange computation = new ComputeRange(10, false);
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE, -1);
+        computation.publish(4, 16).subscribe(subscriber);
+        subscriber.completion.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7), List.of(8, 9)), subscriber.chunks);
+        assertEquals(range(10), computation.computeResult(false, false).get());
+    }
+
+    @Test
+    void propagatesProductionFailure() throws Exception {
+        ComputeRange computation = new ComputeRange(10, true);
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE, -1);
+        computation.publish(4, 16).subscribe(subscriber);
+        ExecutionException exception = assertThrows(
+                ExecutionException.class, () -> subscriber.completion.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause().getMessage().contains("production failed"));
+        List<Integer> elements = subscriber.getElements();
+        assertTrue(elements.size() <= 8);
+        assertEquals(range(elements.size()), elements);
+        assertTrue(computation.computeResult(false, false).isEmpty());
+    }
+
+    @Test
+    void appliesBackpressure() throws Exception {
+        ComputeRange computation = new ComputeRange(1000, false);
+        CollectingSubscriber subscriber = new CollectingSubscriber(1, -1);
+        computation.publish(1, 2).subscribe(subscriber);
+        Thread.sleep(200);
+        assertEquals(List.of(0), subscriber.getElements());
+        assertTrue(computation.produced.get() < 10);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.completion.get(5, TimeUnit.SECONDS);
+        assertEquals(range(1000), subscriber.getElements());
+    }
+
+    @Test
+    void cancellationStopsProduction() throws Exception {
+        ComputeRange computation = new ComputeRange(1_000_000, false);
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE, 1);
+        computation.publish(1, 2).subscribe(subscriber);
+        assertTrue(computation.done.await(5, TimeUnit.SECONDS));
+        assertTrue(computation.produced.get() < 1_000_000);
+        assertEquals(1, subscriber.chunks.size());
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.Result;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import net.tascalate.concurrent.CompletableTask;
+import net.tascalate.concurrent.DependentPromise;
+import org.junit.jupiter.api.Test;
+
+class CacheShardTest {
+
+    private static FutureResult<Integer> futureResult(int value) {
+        return new FutureResult<>(Result.of(value), new Progress());
+    }
+
+    private static CacheShard retainingShard(CacheShard.Retention retention, List<IComputation<?>> evicted) {
+        return new CacheShard(
+                new CacheShard.Configuration().setRetention(retention),
+                (computation, futureResult) -> evicted.add(computation));
+    }
+
+    private static void putUnreachable(CacheShard shard, IComputation<?> computation) {
+        shard.putIfAbsent(computation, new FutureResult<>(Result.of(new int[1024]), new Progress()));
+    }
+
+    private static void awaitReclaimed(CacheShard shard, IComputation<?> computation) throws InterruptedException {
+        for (int i = 0; i < 100 && shard.get(computation) != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        List<IComputation<?>> evicted = new ArrayList<>();
+        CacheShard shard = new CacheShard(
+                new CacheShard.Configuration().setCapacity(2),
+                (computation, futureResult) -> evicted.add(computation));
+        IComputation<Integer> first = new ComputeConstant<>(1);
+        IComputation<Integer> second = new ComputeConstant<>(2);
+        IComputation<Integer> third = new ComputeConstant<>(3);
+        assertNull(shard.putIfAbsent(first, futureResult(1)));
+        assertNull(shard.putIfAbsent(second, futureResult(2)));
+        assertTrue(shard.has(first));
+        assertNull(shard.putIfAbsent(third, futureResult(3)));
+        assertEquals(List.of(second), evicted);
+        assertEquals(2, shard.size());
+        assertTrue(shard.has(first));
+        assertFalse(shard.has(second));
+    }
+
+    @Test
+    void evictsFirstInFirstOut() {
+        List<IComputation<?>> evicted = new ArrayList<>();
+        CacheShard shard = new CacheShard(
+                new CacheShard.Configuration()
+                        .setCapacity(2)
+                        .setEvictionStrategy(CacheShard.EvictionStrategy.FIFO),
+                (computation, futureResult) -> evicted.add(computation));
+        IComputation<Integer> first = new ComputeConstant<>(1);
+        shard.putIfAbsent(first, futureResult(1));
+        shard.putIfAbsent(new ComputeConstant<>(2), futureResult(2));
+        shard.get(first);
+        shard.putIfAbsent(new ComputeConstant<>(3), futureResult(3));
+        assertEquals(List.of(first), evicted);
+    }
+
+    @Test
+    void dropsHitCounterOnEviction() {
+        CacheShard shard =
+                new CacheShard(new CacheShard.Configuration().setCapacity(1), (computation, futureResult) -> {});
+        IComputation<Integer> first = new ComputeConstant<>(1);
+        shard.putIfAbsent(first, futureResult(1));
+        shard.hit(first);
+        shard.hit(first);
+        assertEquals(2, shard.getNumberOfHits(first));
+        shard.putIfAbsent(new ComputeConstant<>(2), futureResult(2));
+        assertEquals(0, shard.getNumberOfHits(first));
+        assertTrue(shard.hitStatistics.isEmpty());
+    }
+
+    @Test
+    void doesNotCountHitsOfUncachedComputations() {
+        CacheShard shard = new CacheShard(new CacheShard.Configuration(), (computation, futureResult) -> {});
+        IComputation<Integer> computation = new ComputeConstant<>(1);
+        shard.hit(computation);
+        assertEquals(0, shard.getNumberOfHits(computation));
+        assertTrue(shard.getHitCounter(computation).isEmpty());
+        assertTrue(shard.hitStatistics.isEmpty());
+        shard.putIfAbsent(computation, futureResult(1));
+        shard.getHitCounter(computation).get().increment();
+        assertEquals(1, shard.getNumberOfHits(computation));
+    }
+
+    @Test
+    void dropsHitCounterOnRemoval() {
+        CacheShard shard = new CacheShard(new CacheShard.Configuration(), (computation, futureResult) -> {});
+        IComputation<Integer> computation = new ComputeConstant<>(1);
+        FutureResult<Integer> futureResult = futureResult(1);
+        shard.putIfAbsent(computation, futureResult);
+        shard.hit(computation);
+        assertFalse(shard.remove(computation, futureResult(1)));
+        assertEquals(1, shard.getNumberOfHits(computation));
+        assertTrue(shard.remove(computation, futureResult));
+        assertTrue(shard.hitStatistics.isEmpty());
+    }
+
+    @Test
+    void keepsFirstFutureResult() {
+        CacheShard shard = new CacheShard(new CacheShard.Configuration(), (computation, futureResult) -> {});
+        IComputation<Integer> computation = new ComputeConstant<>(1);
+        FutureResult<Integer> futureResult = futureResult(1);
+        long generation = shard.getGeneration();
+        assertNull(shard.putIfAbsent(computation, futureResult));
+        assertSame(futureResult, shard.putIfAbsent(computation, futureResult(2)));
+        assertSame(futureResult, shard.get(computation));
+        assertTrue(shard.replace(computation, futureResult(2)));
+        assertTrue(shard.getGeneration() > generation);
+    }
+
+    @Test
+    void weaklyRetainedResultIsReclaimed() throws InterruptedException {
+        List<IComputation<?>> evicted = new ArrayList<>();
+        CacheShard shard = retainingShard(CacheShard.Retention.WEAK, evicted);
+        IComputation<Integer> computation = new ComputeConstant<>(1);
+        putUnreachable(shard, computation);
+        shard.hit(computation);
+        long generation = shard.getGeneration();
+        awaitReclaimed(shard, computation);
+        assertNull(shard.get(computation));
+        shard.expungeReclaimedEntries();
+        assertFalse(shard.has(computation));
+        assertEquals(0, shard.size());
+        assertEquals(List.of(computation), evicted);
+        assertTrue(shard.hitStatistics.isEmpty());
+        assertTrue(shard.getGeneration() > generation);
+        assertNull(shard.putIfAbsent(computation, futureResult(2)));
+    }
+
+    @Test
+    void weaklyRetainedResultIsKeptWhileReachable() throws InterruptedException {
+        CacheShard shard = retainingShard(CacheShard.Retention.WEAK, new ArrayList<>());
+        IComputation<Integer> computation = new ComputeConstant<>(1);
+        FutureResult<Integer> futureResult = futureResult(1);
+        Result<Integer> result = futureResult.get();
+        shard.putIfAbsent(computation, futureResult);
+        assertTrue(shard.computationMap.get(computation) instanceof CacheShard.ReferenceEntry);
+        futureResult = null;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertSame(result, shard.get(computation).get());
+        assertTrue(shard.remove(computation, shard.get(computation)));
+    }
+
+    @Test
+    void softlyAndStronglyRetainedResultsSurviveCollection() throws InterruptedException {
+        for (CacheShard.Retention retention : List.of(CacheShard.Retention.SOFT, CacheShard.Retention.STRONG)) {
+            CacheShard shard = retainingShard(retention, new ArrayList<>());
+            IComputation<Integer> computation = new ComputeConstant<>(1);
+            putUnreachable(shard, computation);
+            for (int i = 0; i < 5; i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            shard.expungeReclaimedEntries();
+            assertTrue(shard.has(computation));
+            assertTrue(shard.get(computation).get().isPresent());
+        }
+    }
+
+    @Test
+    void pendingResultIsRetainedStronglyUntilDone() throws InterruptedException {
+        CacheShard shard = retainingShard(CacheShard.Retention.WEAK, new ArrayList<>());
+        IComputation<Integer> computation = new ComputeConstant<>(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            FutureResult<Integer> futureResult = new FutureResult<>(
+                    DependentPromise.from(CompletableTask.submit(
+                            () -> {
+                                latch.await();
+                                return Result.of(1);
+                            },
+                            executor)),
+                    new Progress());
+            shard.putIfAbsent(computation, futureResult);
+            assertSame(futureResult, shard.computationMap.get(computation));
+            latch.countDown();
+            assertEquals(1, (int) futureResult.get().get());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!(shard.computationMap.get(computation) instanceof CacheShard.ReferenceEntry)
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(shard.computationMap.get(computation) instanceof CacheShard.ReferenceEntry);
+            assertSame(futureResult, shard.get(computation));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.featjar.base.data.Pair;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CacheSnapshotTest {
+
+    private static class Token implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final int id;
+
+        private Token(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public String toString() {
+            return "token";
+        }
+    }
+
+    private static byte[] encode(Object object) {
+        return CacheSnapshot.ResultCodec.SERIALIZABLE.encode(object).get();
+    }
+
+    private static void checkSnapshot(boolean memoryMapped) throws IOException {
+        ComputeConstant<Token> first = new ComputeConstant<>(new Token(1));
+        ComputeConstant<Token> second = new ComputeConstant<>(new Token(2));
+        ComputeConstant<Integer> other = new ComputeConstant<>(5);
+        assertEquals(first.getFingerprint(), second.getFingerprint());
+        Path path = Files.createTempFile("snapshot", ".bin");
+        try {
+            int written = CacheSnapshot.write(
+                    path,
+                    List.of(
+                            new Pair<>(first, encode("first")),
+                            new Pair<>(second, encode("second")),
+                            new Pair<>(first, encode("duplicate")),
+                            new Pair<>(other, encode("other")),
+                            new Pair<>(new ComputeConstant<>(new Object()), encode("unserializable"))));
+            assertEquals(3, written);
+            CacheSnapshot snapshot = CacheSnapshot.read(path, CacheSnapshot.ResultCodec.SERIALIZABLE, memoryMapped);
+            assertEquals(3, snapshot.size());
+            assertEquals("first", snapshot.get(first).get());
+            assertEquals("second", snapshot.get(second).get());
+            assertEquals("other", snapshot.get(new ComputeConstant<>(5)).get());
+            assertFalse(snapshot.get(new ComputeConstant<>(new Token(3))).isPresent());
+            assertFalse(snapshot.get(new ComputeConstant<>(6)).isPresent());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void loaded() throws IOException {
+        checkSnapshot(false);
+    }
+
+    @Test
+    void memoryMapped() throws IOException {
+        checkSnapshot(true);
+    }
+
+    @Test
+    void empty() throws IOException {
+        Path path = Files.createTempFile("snapshot", ".bin");
+        try {
+            assertEquals(0, CacheSnapshot.write(path, List.of()));
+            CacheSnapshot snapshot = CacheSnapshot.read(path, CacheSnapshot.ResultCodec.SERIALIZABLE, true);
+            assertEquals(0, snapshot.size());
+            assertFalse(snapshot.get(new ComputeConstant<>(5)).isPresent());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void invalid() throws IOException {
+        Path path = Files.createTempFile("snapshot", ".bin");
+        try {
+            Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+            assertThrows(
+                    IOException.class,
+                    () -> CacheSnapshot.read(path, CacheSnapshot.ResultCodec.SERIALIZABLE, false));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
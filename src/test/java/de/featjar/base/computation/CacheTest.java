@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CacheTest {
+
+    private static class ComputeCounter extends AComputation<Integer> {
+        protected final AtomicInteger counter = new AtomicInteger();
+
+        private ComputeCounter(Cache cache) {
+            setCache(cache);
+        }
+
+        @Override
+        public Result<Integer> compute(List<Object> dependencyList, Progress progress) {
+            return Result.of(counter.incrementAndGet());
+        }
+    }
+
+    private static class ComputeFailing extends AComputation<Integer> {
+        protected final AtomicInteger counter = new AtomicInteger();
+        protected final int failures;
+
+        private ComputeFailing(Cache cache, int failures) {
+            this.failures = failures;
+            setCache(cache);
+        }
+
+        @Override
+        public Result<Integer> compute(List<Object> dependencyList, Progress progress) {
+            int attempt = counter.incrementAndGet();
+            return attempt <= failures ? Result.empty(new Problem("failure " + attempt)) : Result.of(attempt);
+        }
+    }
+
+    private static FutureResult<Integer> futureResult(int value) {
+        return new FutureResult<>(Result.of(value), new Progress());
+    }
+
+    private static Cache.Configuration cacheAll() {
+        return new Cache.Configuration().setCachePolicy(Cache.CachePolicy.CACHE_ALL);
+    }
+
+    private static int compute(IComputation<Integer> computation) {
+        return computation.computeResult(true, true).get();
+    }
+
+    private static boolean isLocallyCached(Cache cache, IComputation<?> computation) {
+        Cache.LocalEntry[] localEntries = cache.localEntries.get();
+        return localEntries != null
+                && Arrays.stream(localEntries)
+                        .anyMatch(entry -> entry != null && entry.computation == computation && entry.isValid());
+    }
+
+    private static void awaitCached(Cache cache, IComputation<Integer> computation, int value)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.get(computation).get().get().get() != value && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(value, (int) cache.get(computation).get().get().get());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void countsHitsOfCachedComputations() {
+        for (int localCacheSize : new int[] {0, 4}) {
+            Cache cache = new Cache(new Cache.Configuration().setLocalCacheSize(localCacheSize));
+            IComputation<Integer> computation = new ComputeConstant<>(1);
+            assertTrue(cache.tryHit(computation).isEmpty());
+            assertEquals(0, (long) cache.getNumberOfHits(computation));
+            cache.put(computation, futureResult(1));
+            for (int i = 0; i < 3; i++) {
+                assertEquals(1, (int) cache.tryHit(computation).get().get().get());
+            }
+            assertEquals(3, (long) cache.getNumberOfHits(computation));
+            assertEquals(Map.of(computation, 3L), cache.getHitStatistics());
+            Map<IComputation<?>, FutureResult<?>> computationMap = cache.getComputationMap();
+            assertEquals(1, computationMap.size());
+            assertTrue(computationMap.containsKey(computation));
+            assertThrows(UnsupportedOperationException.class, computationMap::clear);
+        }
+    }
+
+    @Test
+    void expiredEntryIsRecomputed() throws InterruptedException {
+        Cache cache = new Cache(cacheAll().setTimeToLive(Duration.ofMillis(100)));
+        ComputeCounter computation = new ComputeCounter(cache);
+        assertEquals(1, compute(computation));
+        assertEquals(1, compute(computation));
+        Thread.sleep(150);
+        assertEquals(2, compute(computation));
+        assertEquals(2, compute(computation));
+        assertEquals(2, computation.counter.get());
+    }
+
+    @Test
+    void entryWithoutTimeToLiveDoesNotExpire() throws InterruptedException {
+        Cache cache = new Cache(cacheAll());
+        ComputeCounter computation = new ComputeCounter(cache);
+        assertEquals(1, compute(computation));
+        Thread.sleep(50);
+        assertEquals(1, compute(computation));
+        assertTrue(cache.entryTimes.isEmpty());
+    }
+
+    @Test
+    void staleEntryIsServedWhileRefreshing() throws InterruptedException {
+        Cache cache = new Cache(cacheAll().setRefreshAfterWrite(Duration.ofMillis(100)));
+        ComputeCounter computation = new ComputeCounter(cache);
+        assertEquals(1, compute(computation));
+        assertEquals(1, compute(computation));
+        Thread.sleep(150);
+        assertEquals(1, compute(computation));
+        awaitCached(cache, computation, 2);
+        assertEquals(2, compute(computation));
+        assertEquals(2, computation.counter.get());
+    }
+
+    @Test
+    void explicitRefreshReplacesEntry() throws InterruptedException {
+        Cache cache = new Cache(cacheAll());
+        ComputeCounter computation = new ComputeCounter(cache);
+        assertFalse(cache.refresh(computation));
+        assertEquals(1, compute(computation));
+        assertTrue(cache.refresh(computation));
+        awaitCached(cache, computation, 2);
+        assertEquals(2, compute(computation));
+    }
+
+    @Test
+    void failureIsRetriedWithoutNegativeCaching() {
+        Cache cache = new Cache(cacheAll());
+        ComputeFailing computation = new ComputeFailing(cache, 2);
+        assertTrue(computation.computeResult(true, true).isEmpty());
+        assertTrue(cache.has(computation));
+        assertTrue(computation.computeResult(true, true).isEmpty());
+        assertEquals(3, compute(computation));
+        assertEquals(3, computation.counter.get());
+    }
+
+    @Test
+    void cachedFailureIsServedThenEvicted() throws InterruptedException {
+        Cache cache = new Cache(cacheAll().setFailureBackoff(Duration.ofMillis(200)));
+        ComputeFailing computation = new ComputeFailing(cache, 1);
+        Result<Integer> failure = computation.computeResult(true, true);
+        assertTrue(failure.isEmpty());
+        Result<Integer> cachedFailure = computation.computeResult(true, true);
+        assertTrue(cachedFailure.isEmpty());
+        assertEquals(failure.getProblems(), cachedFailure.getProblems());
+        assertEquals("failure 1", cachedFailure.getProblems().get(0).getMessage());
+        assertEquals(1, computation.counter.get());
+        Thread.sleep(300);
+        assertEquals(2, compute(computation));
+        assertEquals(2, compute(computation));
+        assertEquals(2, computation.counter.get());
+        assertTrue(cache.failureTimes.isEmpty());
+    }
+
+    @Test
+    void consecutiveFailuresDoubleBackoff() throws InterruptedException {
+        Cache cache = new Cache(cacheAll().setFailureBackoff(Duration.ofMillis(200), Duration.ofMillis(400)));
+        ComputeFailing computation = new ComputeFailing(cache, Integer.MAX_VALUE);
+        computation.computeResult(true, true);
+        computation.computeResult(true, true);
+        Thread.sleep(300);
+        computation.computeResult(true, true);
+        computation.computeResult(true, true);
+        assertEquals(2, computation.counter.get());
+        Thread.sleep(300);
+        computation.computeResult(true, true);
+        assertEquals(2, computation.counter.get());
+        Thread.sleep(200);
+        computation.computeResult(true, true);
+        assertEquals(3, computation.counter.get());
+    }
+
+    @Test
+    void removingFailureRetriesImmediately() {
+        Cache cache = new Cache(cacheAll().setFailureBackoff(Duration.ofMinutes(1)));
+        ComputeFailing computation = new ComputeFailing(cache, 1);
+        computation.computeResult(true, true);
+        assertTrue(computation.computeResult(true, true).isEmpty());
+        assertTrue(cache.remove(computation));
+        assertTrue(cache.failureTimes.isEmpty());
+        assertEquals(2, compute(computation));
+    }
+
+    @Test
+    void localCacheIsInvalidatedAfterClear() {
+        Cache cache = new Cache(cacheAll().setLocalCacheSize(3));
+        assertEquals(4, cache.getConfiguration().localCacheSize);
+        ComputeCounter computation = new ComputeCounter(cache);
+        assertEquals(1, compute(computation));
+        assertFalse(isLocallyCached(cache, computation));
+        assertEquals(1, compute(computation));
+        assertTrue(isLocallyCached(cache, computation));
+        assertEquals(1, compute(computation));
+        cache.clear();
+        assertFalse(isLocallyCached(cache, computation));
+        assertEquals(2, compute(computation));
+        assertEquals(2, computation.counter.get());
+    }
+
+    @Test
+    void localCacheIsInvalidatedAfterRemoval() {
+        Cache cache = new Cache(cacheAll().setLocalCacheSize(4));
+        ComputeCounter computation = new ComputeCounter(cache);
+        ComputeFailing otherComputation = new ComputeFailing(cache, 0);
+        compute(computation);
+        compute(otherComputation);
+        compute(computation);
+        compute(otherComputation);
+        assertTrue(isLocallyCached(cache, computation));
+        assertTrue(isLocallyCached(cache, otherComputation));
+        assertTrue(cache.remove(otherComputation));
+        assertFalse(isLocallyCached(cache, computation));
+        assertEquals(1, compute(computation));
+        assertEquals(2, compute(otherComputation));
+    }
+
+    @Test
+    void localCacheIsPerThread() throws Exception {
+        Cache cache = new Cache(cacheAll().setLocalCacheSize(4));
+        ComputeCounter computation = new ComputeCounter(cache);
+        compute(computation);
+        compute(computation);
+        assertTrue(isLocallyCached(cache, computation));
+        assertFalse(CompletableFuture.supplyAsync(() -> isLocallyCached(cache, computation))
+                .get());
+        assertEquals(1, (int) CompletableFuture.supplyAsync(() -> compute(computation)).get());
+        assertEquals(2, (long) cache.getNumberOfHits(computation));
+    }
+
+    @Test
+    void localCacheRespectsTimeToLive() throws InterruptedException {
+        Cache cache = new Cache(cacheAll().setLocalCacheSize(4).setTimeToLive(Duration.ofMillis(100)));
+        ComputeCounter computation = new ComputeCounter(cache);
+        compute(computation);
+        compute(computation);
+        assertTrue(isLocallyCached(cache, computation));
+        Thread.sleep(150);
+        assertFalse(isLocallyCached(cache, computation));
+        assertEquals(2, compute(computation));
+    }
+
+    @Test
+    void localCacheDoesNotStoreFailures() {
+        Cache cache = new Cache(cacheAll().setLocalCacheSize(4).setFailureBackoff(Duration.ofMinutes(1)));
+        ComputeFailing computation = new ComputeFailing(cache, 1);
+        computation.computeResult(true, true);
+        assertTrue(computation.computeResult(true, true).isEmpty());
+        assertFalse(isLocallyCached(cache, computation));
+    }
+}
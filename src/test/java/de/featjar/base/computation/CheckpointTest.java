@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.Result;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CheckpointTest {
+
+    private static class Point implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final int x;
+
+        private Point(int x) {
+            this.x = x;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Point && x == ((Point) o).x;
+        }
+
+        @Override
+        public int hashCode() {
+            return x;
+        }
+    }
+
+    private static class SingleCheckpointStore implements ICheckpointStore {
+        private byte[] checkpoint;
+
+        @Override
+        public void save(long fingerprint, byte[] checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        public Result<byte[]> load(long fingerprint) {
+            return Result.ofNullable(checkpoint);
+        }
+
+        @Override
+        public void delete(long fingerprint) {
+            checkpoint = null;
+        }
+    }
+
+    private static class MemoryCheckpointStore implements ICheckpointStore {
+        private final Map<Long, byte[]> checkpoints = new HashMap<>();
+        private int saves;
+
+        @Override
+        public void save(long fingerprint, byte[] checkpoint) {
+            saves++;
+            checkpoints.put(fingerprint, checkpoint);
+        }
+
+        @Override
+        public Result<byte[]> load(long fingerprint) {
+            return Result.ofNullable(checkpoints.get(fingerprint));
+        }
+
+        @Override
+        public void delete(long fingerprint) {
+            checkpoints.remove(fingerprint);
+        }
+    }
+
+    @Test
+    void savesAtMilestones() {
+        MemoryCheckpointStore store = new MemoryCheckpointStore();
+        int[] state = {0};
+        Checkpoint<Integer> checkpoint = new Checkpoint<Integer>(
+                        new ComputeConstant<>(1), new Progress(), store, Duration.ZERO)
+                .setState(() -> state[0]);
+        for (int i = 1; i <= 3; i++) {
+            state[0] = 10 * i;
+            checkpoint.getProgress().setCurrentStep(i);
+        }
+        assertEquals(3, store.saves);
+        checkpoint.getProgress().setCurrentStep(3);
+        assertEquals(3, store.saves);
+
+        Checkpoint<Integer> resumed =
+                new Checkpoint<>(new ComputeConstant<>(1), new Progress(), store, Duration.ZERO);
+        assertEquals(30, (int) resumed.restore().get());
+        assertEquals(3, resumed.getProgress().getCurrentStep());
+    }
+
+    @Test
+    void restoreDoesNotSave() {
+        MemoryCheckpointStore store = new MemoryCheckpointStore();
+        Checkpoint<Integer> checkpoint = new Checkpoint<Integer>(
+                        new ComputeConstant<>(1), new Progress(), store, Duration.ZERO)
+                .setState(() -> 5);
+        checkpoint.getProgress().setCurrentStep(7);
+        assertEquals(1, store.saves);
+
+        Checkpoint<Integer> resumed = new Checkpoint<Integer>(
+                        new ComputeConstant<>(1), new Progress(), store, Duration.ZERO)
+                .setState(() -> -1);
+        assertEquals(5, (int) resumed.restore().get());
+        assertEquals(7, resumed.getProgress().getCurrentStep());
+        assertEquals(1, store.saves);
+        assertEquals(5, (int) resumed.restore().get());
+    }
+
+    @Test
+    void respectsInterval() {
+        MemoryCheckpointStore store = new MemoryCheckpointStore();
+        Checkpoint<Integer> checkpoint = new Checkpoint<Integer>(
+                        new ComputeConstant<>(1), new Progress(), store, Duration.ofDays(1))
+                .setState(() -> 1);
+        checkpoint.getProgress().setCurrentStep(1);
+        checkpoint.getProgress().setCurrentStep(2);
+        assertEquals(0, store.saves);
+        assertTrue(checkpoint.save());
+        assertEquals(1, store.saves);
+    }
+
+    @Test
+    void completeDeletesCheckpoint() {
+        MemoryCheckpointStore store = new MemoryCheckpointStore();
+        Checkpoint<Integer> checkpoint = new Checkpoint<Integer>(
+                        new ComputeConstant<>(1), new Progress(), store, Duration.ZERO)
+                .setState(() -> 1);
+        assertTrue(checkpoint.save());
+        checkpoint.complete();
+        assertFalse(checkpoint.restore().isPresent());
+    }
+
+    @Test
+    void disabledWithoutStore() {
+        Checkpoint<Integer> checkpoint = new Checkpoint<Integer>(
+                        new ComputeConstant<>(1), new Progress(), null, Duration.ZERO)
+                .setState(() -> 1);
+        checkpoint.getProgress().setCurrentStep(1);
+        assertFalse(checkpoint.save());
+        assertFalse(checkpoint.restore().isPresent());
+    }
+
+    @Test
+    void collidingCheckpointIsNotRestored() {
+        SingleCheckpointStore store = new SingleCheckpointStore();
+        Checkpoint<Integer> checkpoint = new Checkpoint<Integer>(
+                        new ComputeConstant<>(1), new Progress(), store, Duration.ZERO)
+                .setState(() -> 5);
+        assertTrue(checkpoint.save());
+
+        Checkpoint<String> other = new Checkpoint<>(new ComputeConstant<>(2), new Progress(), store, Duration.ZERO);
+        Result<String> restored = other.restore();
+        assertFalse(restored.isPresent());
+        assertFalse(restored.getProblems().isEmpty());
+        assertEquals(0, other.getProgress().getCurrentStep());
+    }
+
+    @Test
+    void resumesComputationWithoutStableFingerprint() {
+        MemoryCheckpointStore store = new MemoryCheckpointStore();
+        IComputation<Point> computation = new ComputeConstant<>(new Point(1));
+        IComputation<Point> equalComputation = new ComputeConstant<>(new Point(1));
+        assertFalse(computation.getFingerprint() == equalComputation.getFingerprint());
+        Checkpoint<Integer> checkpoint = new Checkpoint<Integer>(computation, new Progress(), store, Duration.ZERO)
+                .setState(() -> 5);
+        assertTrue(checkpoint.save());
+
+        Checkpoint<Integer> resumed = new Checkpoint<>(equalComputation, new Progress(), store, Duration.ZERO);
+        assertEquals(5, (int) resumed.restore().get());
+        Checkpoint<Integer> other =
+                new Checkpoint<>(new ComputeConstant<>(new Point(2)), new Progress(), store, Duration.ZERO);
+        assertFalse(other.restore().isPresent());
+    }
+
+    @Test
+    void disabledForUnserializableComputation() {
+        MemoryCheckpointStore store = new MemoryCheckpointStore();
+        Checkpoint<Integer> checkpoint = new Checkpoint<Integer>(
+                        new ComputeConstant<>(new Object()), new Progress(), store, Duration.ZERO)
+                .setState(() -> 1);
+        checkpoint.getProgress().setCurrentStep(1);
+        assertFalse(checkpoint.save());
+        assertEquals(0, store.saves);
+        assertFalse(checkpoint.restore().isPresent());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import de.featjar.base.data.Pair;
+import org.junit.jupiter.api.Test;
+
+class ComputationInternerTest {
+
+    private static IComputation<Pair<Pair<Integer, Integer>, Integer>> tree(int value) {
+        return new ComputePair<>(new ComputePair<>(Computations.of(1), Computations.of(2)), Computations.of(value));
+    }
+
+    private static void internUnreachable(ComputationInterner interner) {
+        interner.intern(tree(3));
+    }
+
+    @Test
+    void equalSubtreesAreShared() {
+        ComputationInterner interner = new ComputationInterner();
+        IComputation<Pair<Pair<Integer, Integer>, Integer>> tree = tree(3);
+        assertSame(tree, interner.intern(tree));
+        assertSame(tree, interner.intern(tree));
+        assertEquals(5, interner.size());
+        assertSame(tree, interner.intern(tree(3)));
+        assertEquals(5, interner.size());
+
+        IComputation<Pair<Pair<Integer, Integer>, Integer>> otherTree = tree(4);
+        IComputation<?> otherSubtree = otherTree.getChildren().get(0);
+        assertSame(otherTree, interner.intern(otherTree));
+        assertEquals(7, interner.size());
+        assertSame(tree.getChildren().get(0), otherTree.getChildren().get(0));
+        assertNotSame(otherSubtree, otherTree.getChildren().get(0));
+        assertSame(tree.getChildren().get(0).getChildren().get(0), otherSubtree.getChildren().get(0));
+    }
+
+    @Test
+    void internsWithConfiguredInterner() {
+        ComputationInterner interner = new ComputationInterner();
+        Cache cache = new Cache(new Cache.Configuration().setInterner(interner));
+        IComputation<Pair<Pair<Integer, Integer>, Integer>> tree = tree(3);
+        ((AComputation<?>) tree).setCache(cache);
+        IComputation<Pair<Pair<Integer, Integer>, Integer>> otherTree = tree(3);
+        ((AComputation<?>) otherTree).setCache(cache);
+        assertSame(tree, tree.intern());
+        assertSame(tree, otherTree.intern());
+        IComputation<Integer> computation = Computations.of(1);
+        assertSame(computation, computation.intern());
+    }
+
+    @Test
+    void unreachableComputationsAreDiscarded() throws InterruptedException {
+        ComputationInterner interner = new ComputationInterner();
+        IComputation<Pair<Pair<Integer, Integer>, Integer>> tree = tree(4);
+        interner.intern(tree);
+        internUnreachable(interner);
+        assertEquals(7, interner.size());
+        for (int i = 0; i < 100 && interner.size() > 5; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(5, interner.size());
+        assertSame(tree, interner.intern(tree(4)));
+        IComputation<Pair<Pair<Integer, Integer>, Integer>> otherTree = tree(3);
+        assertSame(otherTree, interner.intern(otherTree));
+        assertSame(tree.getChildren().get(0), otherTree.getChildren().get(0));
+    }
+
+    @Test
+    void clearDiscardsAllComputations() {
+        ComputationInterner interner = new ComputationInterner();
+        IComputation<Pair<Pair<Integer, Integer>, Integer>> tree = tree(3);
+        interner.intern(tree);
+        interner.clear();
+        assertEquals(0, interner.size());
+        IComputation<Pair<Pair<Integer, Integer>, Integer>> otherTree = tree(3);
+        assertSame(otherTree, interner.intern(otherTree));
+        assertNotSame(tree.getChildren().get(0), otherTree.getChildren().get(0));
+    }
+}
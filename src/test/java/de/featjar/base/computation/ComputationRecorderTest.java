@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.Result;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ComputationRecorderTest {
+
+    private static final AtomicInteger computations = new AtomicInteger();
+
+    public static class ComputeCounted extends AComputation<Object> {
+        protected static final Dependency<Object> VALUE = Dependency.newDependency();
+
+        public ComputeCounted(IComputation<?> value) {
+            super(value);
+        }
+
+        @Override
+        public Result<Object> compute(List<Object> dependencyList, Progress progress) {
+            computations.incrementAndGet();
+            return Result.of(List.of(VALUE.getValue(dependencyList)));
+        }
+    }
+
+    private static class Token implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final int id;
+
+        private Token(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Token && id == ((Token) o).id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "token";
+        }
+    }
+
+    private static class Point implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final int x;
+
+        private Point(int x) {
+            this.x = x;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Point && x == ((Point) o).x;
+        }
+
+        @Override
+        public int hashCode() {
+            return x;
+        }
+    }
+
+    private static Result<Object> compute(IComputation<Object> computation, Object value) {
+        return ComputationRecorder.compute(computation, Arrays.asList(value), new Progress());
+    }
+
+    @Test
+    void replaysRecordedResults() throws IOException {
+        Path path = Files.createTempFile("recording", ".bin");
+        try {
+            try (ComputationRecorder recorder = ComputationRecorder.record(path)) {
+                assertEquals(recorder, ComputationRecorder.getActiveRecorder().get());
+                assertEquals(List.of(1), compute(new ComputeCounted(Computations.of(1)), 1).get());
+                assertEquals(List.of("a"), compute(new ComputeCounted(Computations.of("a")), "a").get());
+            }
+            assertTrue(ComputationRecorder.getActiveRecorder().isEmpty());
+
+            int computed = computations.get();
+            try (ComputationRecorder recorder = ComputationRecorder.replay(path)) {
+                assertEquals(2, recorder.getExecutions().size());
+                assertEquals(0, recorder.getExecutions().get(0).getSequenceNumber());
+                assertEquals(
+                        ComputeCounted.class.getName(),
+                        recorder.getExecutions().get(1).getComputationClass());
+                assertTrue(recorder.getExecutions().get(1).hasResult());
+                assertEquals(List.of(1), compute(new ComputeCounted(Computations.of(1)), 1).get());
+                assertEquals(computed, computations.get());
+                assertEquals(List.of(2), compute(new ComputeCounted(Computations.of(2)), 2).get());
+                assertEquals(computed + 1, computations.get());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void replaysOnlyEqualComputations() throws IOException {
+        ComputeCounted computation = new ComputeCounted(Computations.of(new Token(1)));
+        ComputeCounted collidingComputation = new ComputeCounted(Computations.of(new Token(2)));
+        assertEquals(computation.getFingerprint(), collidingComputation.getFingerprint());
+        ComputeCounted unstableComputation = new ComputeCounted(Computations.of(new Point(1)));
+        ComputeCounted equalUnstableComputation = new ComputeCounted(Computations.of(new Point(1)));
+        assertNotEquals(unstableComputation.getFingerprint(), equalUnstableComputation.getFingerprint());
+        Path path = Files.createTempFile("recording", ".bin");
+        try {
+            try (ComputationRecorder recorder = ComputationRecorder.record(path)) {
+                compute(computation, "first");
+                compute(unstableComputation, "unstable");
+                compute(new ComputeCounted(Computations.of(new Object())), "unserializable");
+            }
+            try (ComputationRecorder recorder = ComputationRecorder.replay(path)) {
+                assertEquals(3, recorder.getExecutions().size());
+                assertFalse(recorder.getExecutions().get(2).hasComputation());
+                assertEquals(List.of("first"), recorder.getResult(computation).get());
+                assertFalse(recorder.getResult(collidingComputation).isPresent());
+                assertEquals(List.of("unstable"), recorder.getResult(equalUnstableComputation).get());
+                assertFalse(recorder.getResult(new ComputeCounted(Computations.of(new Object())))
+                        .isPresent());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void replaysComputationInIsolation() throws IOException {
+        Path path = Files.createTempFile("recording", ".bin");
+        try {
+            IComputation<Object> child = new ComputeCounted(Computations.of(1));
+            try (ComputationRecorder recorder = ComputationRecorder.record(path)) {
+                compute(child, 1);
+            }
+            try (ComputationRecorder recorder = ComputationRecorder.replay(path)) {
+                assertEquals(
+                        List.of(List.of(1)),
+                        recorder.replay(new ComputeCounted(new ComputeCounted(Computations.of(1))))
+                                .get());
+                assertFalse(recorder.replay(new ComputeCounted(new ComputeCounted(Computations.of(2))))
+                        .isPresent());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void appendsExecutionsAsTheyComplete() throws IOException {
+        Path path = Files.createTempFile("recording", ".bin");
+        Path truncatedPath = Files.createTempFile("recording", ".bin");
+        try {
+            try (ComputationRecorder recorder = ComputationRecorder.record(path)) {
+                compute(new ComputeCounted(Computations.of(1)), 1);
+                compute(new ComputeCounted(Computations.of(2)), 2);
+                try (ComputationRecorder replayer = ComputationRecorder.replay(path)) {
+                    assertEquals(2, replayer.getExecutions().size());
+                }
+            }
+            byte[] bytes = Files.readAllBytes(path);
+            Files.write(truncatedPath, Arrays.copyOf(bytes, bytes.length - 3));
+            try (ComputationRecorder replayer = ComputationRecorder.replay(truncatedPath)) {
+                assertEquals(1, replayer.getExecutions().size());
+                assertEquals(List.of(1), replayer.getResult(new ComputeCounted(Computations.of(1))).get());
+            }
+        } finally {
+            Files.delete(path);
+            Files.delete(truncatedPath);
+        }
+    }
+
+    @Test
+    void invalidRecording() throws IOException {
+        Path path = Files.createTempFile("recording", ".bin");
+        try {
+            Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+            assertThrows(IOException.class, () -> ComputationRecorder.replay(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.Result;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class ComputationWorkerPoolTest {
+
+    public static class ComputePrinted extends AComputation<String> {
+        protected static final Dependency<Object> MESSAGE = Dependency.newDependency();
+
+        public ComputePrinted(IComputation<String> message) {
+            super(message);
+        }
+
+        @Override
+        public Result<String> compute(List<Object> dependencyList, Progress progress) {
+            String message = (String) MESSAGE.getValue(dependencyList);
+            System.out.println(message);
+            return Result.of(message);
+        }
+    }
+
+    public static class ComputeSlowly extends AComputation<Long> {
+        protected static final Dependency<Object> MILLISECONDS = Dependency.newDependency();
+
+        public ComputeSlowly(IComputation<Long> milliseconds) {
+            super(milliseconds);
+        }
+
+        @Override
+        public Result<Long> compute(List<Object> dependencyList, Progress progress) {
+            long milliseconds = (Long) MILLISECONDS.getValue(dependencyList);
+            try {
+                Thread.sleep(milliseconds);
+            } catch (InterruptedException e) {
+                return Result.empty(e);
+            }
+            return Result.of(milliseconds);
+        }
+    }
+
+    @Test
+    void printingComputationDoesNotCorruptResponse() {
+        try (ComputationWorkerPool pool = new ComputationWorkerPool(1)) {
+            for (String message : List.of("first", "second")) {
+                Result<String> result = pool.computeResult(new ComputePrinted(Computations.of(message)));
+                assertEquals(message, result.get());
+            }
+            assertEquals(1, pool.getStatistics().getCreated());
+        }
+    }
+
+    @Test
+    void unserializableComputationIsNotSent() {
+        try (ComputationWorkerPool pool = new ComputationWorkerPool(1)) {
+            assertFalse(pool.computeResult(Computations.of(1).mapResult(getClass(), "1", i -> i + 1))
+                    .isPresent());
+            assertEquals(0, pool.getStatistics().getCreated());
+        }
+    }
+
+    @Test
+    void closeStopsBorrowedWorkers() throws Exception {
+        ComputationWorkerPool pool = new ComputationWorkerPool(1);
+        CompletableFuture<Result<Long>> result =
+                CompletableFuture.supplyAsync(() -> pool.computeResult(new ComputeSlowly(Computations.of(1000L))));
+        while (pool.getStatistics().getInUse() == 0) {
+            Thread.sleep(10);
+        }
+        pool.close();
+        assertEquals(1000L, (long) result.get().get());
+        assertEquals(0, pool.getStatistics().getResources());
+        assertEquals(1, pool.getStatistics().getRemoved());
+        assertTrue(pool.computeResult(new ComputeSlowly(Computations.of(0L))).isEmpty());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.base.env.Process;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import org.junit.jupiter.api.Test;
+
+class ComputeRetryTest {
+
+    private static class ComputeFlaky extends AComputation<Integer> {
+        protected static final Dependency<Object> INPUT = Dependency.newDependency();
+
+        private final Problem[] failures;
+        private int attempts;
+
+        private ComputeFlaky(IComputation<Integer> input, Problem... failures) {
+            super(input);
+            this.failures = failures;
+        }
+
+        @Override
+        public Result<Integer> compute(List<Object> dependencyList, Progress progress) {
+            int attempt = attempts++;
+            if (attempt < failures.length) {
+                return Result.empty(failures[attempt]);
+            }
+            return Result.of((Integer) INPUT.getValue(dependencyList));
+        }
+    }
+
+    private static ComputeRetry.RetryPolicy policy(int maximumAttempts) {
+        return new ComputeRetry.RetryPolicy()
+                .setMaximumAttempts(maximumAttempts)
+                .setBackoff(Duration.ZERO, Duration.ZERO);
+    }
+
+    private static Problem ioProblem() {
+        return new Problem(new IOException("transient"));
+    }
+
+    @Test
+    void retriesUntilSuccess() {
+        ComputeFlaky computation = new ComputeFlaky(Computations.of(5), ioProblem(), ioProblem());
+        Result<Integer> result = new ComputeRetry<>(computation, policy(3)).computeResult(false, false);
+        assertEquals(5, (int) result.get());
+        assertEquals(3, computation.attempts);
+    }
+
+    @Test
+    void stopsAfterMaximumAttempts() {
+        ComputeFlaky computation = new ComputeFlaky(Computations.of(5), ioProblem(), ioProblem(), ioProblem());
+        Result<Integer> result = new ComputeRetry<>(computation, policy(2)).computeResult(false, false);
+        assertFalse(result.isPresent());
+        assertEquals(2, computation.attempts);
+    }
+
+    @Test
+    void retriesOnlyTransientProblems() {
+        ComputeFlaky computation = new ComputeFlaky(Computations.of(5), new Problem("permanent"));
+        ComputeRetry.RetryPolicy policy = policy(3).setTransient(ComputeRetry.RetryPolicy.IO_PROBLEMS);
+        assertFalse(new ComputeRetry<>(computation, policy)
+                .computeResult(false, false)
+                .isPresent());
+        assertEquals(1, computation.attempts);
+    }
+
+    @Test
+    void retriesProcessExitFailures() {
+        Problem exitProblem = new Problem(new Process.ExitException(Path.of("solver"), 137));
+        assertTrue(ComputeRetry.RetryPolicy.PROCESS_PROBLEMS.test(exitProblem));
+        assertFalse(ComputeRetry.RetryPolicy.PROCESS_PROBLEMS.test(ioProblem()));
+        assertFalse(ComputeRetry.RetryPolicy.IO_PROBLEMS.test(exitProblem));
+        ComputeFlaky computation = new ComputeFlaky(Computations.of(5), exitProblem);
+        ComputeRetry.RetryPolicy policy = policy(3).setTransient(ComputeRetry.RetryPolicy.PROCESS_PROBLEMS);
+        assertEquals(5, (int) new ComputeRetry<>(computation, policy).computeResult(false, false).get());
+        assertEquals(2, computation.attempts);
+    }
+
+    @Test
+    void interruptedBackoffCancels() {
+        ComputeFlaky computation = new ComputeFlaky(Computations.of(5), ioProblem());
+        ComputeRetry<Integer> retry = new ComputeRetry<>(
+                computation, new ComputeRetry.RetryPolicy().setBackoff(Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        Thread.currentThread().interrupt();
+        assertThrows(CancellationException.class, () -> retry.compute(List.of(5), new Progress()));
+        assertTrue(Thread.interrupted());
+        assertEquals(1, computation.attempts);
+    }
+
+    @Test
+    void backoffDoublesUpToMaximum() {
+        ComputeRetry.RetryPolicy policy =
+                new ComputeRetry.RetryPolicy().setBackoff(Duration.ofMillis(100), Duration.ofMillis(350));
+        assertEquals(Duration.ofMillis(100), policy.getBackoff(1));
+        assertEquals(Duration.ofMillis(200), policy.getBackoff(2));
+        assertEquals(Duration.ofMillis(350), policy.getBackoff(3));
+        assertEquals(Duration.ofMillis(350), policy.getBackoff(100));
+    }
+
+    @Test
+    void equalsRetriedComputation() {
+        ComputeFlaky computation = new ComputeFlaky(Computations.of(5));
+        ComputeRetry<Integer> retry = new ComputeRetry<>(computation, policy(3));
+        assertEquals(computation.getChildren(), retry.getChildren());
+        assertTrue(retry.equalsNode(new ComputeRetry<>(computation, policy(5))));
+    }
+}
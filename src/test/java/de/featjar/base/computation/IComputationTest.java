@@ -285,4 +285,18 @@ class IComputationTest {
         }
         assertFalse(computation1.completed);
     }
+
+    @Test
+    void serializedComputationIsEqual() {
+        IComputation<List<?>> computation = Computations.allOf(
+                Computations.of(1), new ComputePair<>(Computations.of("a"), Computations.of(2L)));
+        IComputation<?> deserializedComputation =
+                ComputationSerializer.deserialize(computation.serialize()).get();
+        assertTrue(computation.equalsTree(deserializedComputation));
+        assertEquals(computation.getFingerprint(), deserializedComputation.getFingerprint());
+        IComputation<Integer> unserializableComputation =
+                Computations.of(1).flatMapResult(getClass(), "1", i -> Result.of(i));
+        assertFalse(ComputationSerializer.serialize(unserializableComputation).isPresent());
+        assertEquals(0, unserializableComputation.serialize().length);
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.Result;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ResourcePoolTest {
+
+    @Test
+    void reusesIdleResource() {
+        AtomicInteger created = new AtomicInteger();
+        ResourcePool<Integer> pool = new ResourcePool<>(created::incrementAndGet, 4);
+        assertEquals(1, (int) pool.use(resource -> resource).get());
+        assertEquals(1, (int) pool.use(resource -> resource).get());
+        assertEquals(1, created.get());
+        assertEquals(2, pool.getStatistics().getBorrows());
+        assertEquals(1, pool.getStatistics().getThreadLocalHits());
+        assertEquals(0, pool.getStatistics().getInUse());
+    }
+
+    @Test
+    void neverExceedsSize() throws InterruptedException {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger inUse = new AtomicInteger();
+        AtomicInteger maximumInUse = new AtomicInteger();
+        ResourcePool<Integer> pool = new ResourcePool<>(created::incrementAndGet, 3);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 200; j++) {
+                    pool.use(resource -> {
+                        maximumInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                        Thread.yield();
+                        inUse.decrementAndGet();
+                        return resource;
+                    });
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(created.get() <= 3);
+        assertTrue(maximumInUse.get() <= 3);
+        assertEquals(8 * 200, pool.getStatistics().getBorrows());
+    }
+
+    @Test
+    void timesOutWhenExhausted() throws InterruptedException {
+        ResourcePool<Object> pool = new ResourcePool<>(Object::new, 1);
+        CountDownLatch borrowed = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread thread = new Thread(() -> pool.use(resource -> {
+            borrowed.countDown();
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return resource;
+        }));
+        thread.start();
+        borrowed.await();
+        Result<Object> result = pool.use(resource -> resource, Duration.ofMillis(10));
+        assertFalse(result.isPresent());
+        assertEquals(1, pool.getStatistics().getTimeouts());
+        done.countDown();
+        thread.join();
+        assertTrue(pool.use(resource -> resource, Duration.ofMillis(10)).isPresent());
+    }
+
+    @Test
+    void replacesInvalidResource() {
+        AtomicInteger created = new AtomicInteger();
+        List<Integer> destroyed = new ArrayList<>();
+        ResourcePool<Integer> pool = new ResourcePool<>(created::incrementAndGet, 2)
+                .setValidator(resource -> resource != 1)
+                .setDestroyer(destroyed::add);
+        assertEquals(1, (int) pool.use(resource -> resource).get());
+        int resource = pool.use(r -> r).get();
+        assertNotEquals(1, resource);
+        assertEquals(List.of(1), destroyed);
+        assertEquals(1, pool.getStatistics().getRemoved());
+    }
+
+    @Test
+    void evictsIdleResources() {
+        List<Integer> destroyed = new ArrayList<>();
+        AtomicInteger created = new AtomicInteger();
+        ResourcePool<Integer> pool = new ResourcePool<>(created::incrementAndGet, 2)
+                .setIdleTimeout(Duration.ZERO)
+                .setDestroyer(destroyed::add);
+        pool.use(resource -> resource);
+        assertEquals(1, pool.evictIdle());
+        assertEquals(List.of(1), destroyed);
+        assertEquals(0, pool.getStatistics().getResources());
+        assertEquals(2, (int) pool.use(resource -> resource).get());
+    }
+
+    @Test
+    void propagatesFailure() {
+        ResourcePool<Object> pool = new ResourcePool<>(Object::new, 1);
+        Result<Object> result = pool.use(resource -> {
+            throw new IllegalStateException();
+        });
+        assertFalse(result.isPresent());
+        assertEquals(0, pool.getStatistics().getInUse());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CompressedIntegerListTest {
+
+    private static final int[] VARINT_BOUNDARIES = {
+        0, 1, -1, 127, 128, -128, 16383, 16384, 2097151, 2097152, 268435455, 268435456,
+        Integer.MAX_VALUE, -Integer.MAX_VALUE, Integer.MIN_VALUE
+    };
+
+    private static int[] sortByAbsoluteValue(int[] integers) {
+        return Arrays.stream(integers)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer integer) -> Math.abs((long) integer))
+                        .thenComparingInt(integer -> integer))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static void checkList(int[] integers) {
+        CompressedIntegerList compressedIntegerList = new CompressedIntegerList(integers);
+        int[] expected = sortByAbsoluteValue(integers);
+        assertEquals(integers.length, compressedIntegerList.size());
+        assertEquals(integers.length == 0, compressedIntegerList.isEmpty());
+        assertArrayEquals(expected, compressedIntegerList.toArray());
+        assertArrayEquals(expected, compressedIntegerList.stream().toArray());
+        assertEquals(new IntegerList(expected), compressedIntegerList.toIntegerList());
+        assertEquals(
+                Arrays.stream(integers).filter(integer -> integer < 0).count(), compressedIntegerList.countNegatives());
+        for (int integer : integers) {
+            assertTrue(compressedIntegerList.contains(integer));
+        }
+        assertTrue(compressedIntegerList.containsAll(integers));
+        assertTrue(compressedIntegerList.containsAll());
+    }
+
+    @Test
+    void varintBoundaries() {
+        checkList(VARINT_BOUNDARIES);
+        for (int integer : VARINT_BOUNDARIES) {
+            checkList(new int[] {integer});
+        }
+        CompressedIntegerList compressedIntegerList = new CompressedIntegerList(VARINT_BOUNDARIES);
+        assertFalse(compressedIntegerList.contains(2));
+        assertFalse(compressedIntegerList.contains(-127));
+        assertFalse(compressedIntegerList.contains(Integer.MAX_VALUE - 1));
+        assertFalse(compressedIntegerList.containsAll(0, 2));
+        assertFalse(new CompressedIntegerList(Integer.MIN_VALUE).contains(Integer.MAX_VALUE));
+        assertFalse(new CompressedIntegerList(Integer.MAX_VALUE).contains(Integer.MIN_VALUE));
+    }
+
+    @Test
+    void randomLists() {
+        Random random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            int[] integers = random.ints(random.nextInt(150), -1000, 1000).toArray();
+            checkList(integers);
+            CompressedIntegerList compressedIntegerList = new CompressedIntegerList(integers);
+            int[] query = random.ints(random.nextInt(5), -1000, 1000).toArray();
+            assertEquals(
+                    Arrays.stream(query).allMatch(q -> Arrays.stream(integers).anyMatch(integer -> integer == q)),
+                    compressedIntegerList.containsAll(query));
+        }
+        checkList(random.ints(1000).toArray());
+    }
+
+    @Test
+    void emptyList() {
+        checkList(new int[0]);
+        CompressedIntegerList compressedIntegerList = new CompressedIntegerList(new IntegerList());
+        assertFalse(compressedIntegerList.contains(0));
+        assertFalse(compressedIntegerList.containsAll(0));
+        assertEquals(0, compressedIntegerList.getEncodedSize());
+        PrimitiveIterator.OfInt iterator = compressedIntegerList.iterator();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::nextInt);
+    }
+
+    @Test
+    void duplicates() {
+        checkList(new int[] {3, -3, 3, 0, 0, -3});
+        assertFalse(new CompressedIntegerList(3, 3).contains(-3));
+    }
+
+    @Test
+    void compactEncoding() {
+        int[] clause = new int[100];
+        for (int i = 0; i < clause.length; i++) {
+            clause[i] = (i % 2 == 0 ? 1 : -1) * (1000 + i);
+        }
+        assertTrue(new CompressedIntegerList(clause).getEncodedSize() <= 2 + clause.length + 2 * Long.BYTES);
+    }
+
+    @Test
+    void equality() throws IOException, ClassNotFoundException {
+        CompressedIntegerList compressedIntegerList = new CompressedIntegerList(5, -1, Integer.MIN_VALUE, 0);
+        assertEquals(new CompressedIntegerList(0, Integer.MIN_VALUE, -1, 5), compressedIntegerList);
+        assertEquals(
+                new CompressedIntegerList(0, Integer.MIN_VALUE, -1, 5).hashCode(), compressedIntegerList.hashCode());
+        assertFalse(compressedIntegerList.equals(new CompressedIntegerList(5, 1, Integer.MIN_VALUE, 0)));
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(byteStream)) {
+            out.writeObject(compressedIntegerList);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(byteStream.toByteArray()))) {
+            CompressedIntegerList deserialized = (CompressedIntegerList) in.readObject();
+            assertEquals(compressedIntegerList, deserialized);
+            assertEquals(compressedIntegerList.hashCode(), deserialized.hashCode());
+            assertArrayEquals(compressedIntegerList.toArray(), deserialized.toArray());
+        }
+    }
+}
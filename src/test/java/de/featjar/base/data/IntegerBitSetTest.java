@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class IntegerBitSetTest {
+
+    @Test
+    void addAndRemove() {
+        IntegerBitSet integerBitSet = new IntegerBitSet();
+        assertTrue(integerBitSet.isEmpty());
+        assertTrue(integerBitSet.add(1));
+        assertFalse(integerBitSet.add(1));
+        assertTrue(integerBitSet.add(-1));
+        assertTrue(integerBitSet.add(63));
+        assertTrue(integerBitSet.add(64));
+        assertTrue(integerBitSet.add(-1000));
+        assertEquals(5, integerBitSet.size());
+        assertEquals(3, integerBitSet.countPositives());
+        assertEquals(2, integerBitSet.countNegatives());
+        assertTrue(integerBitSet.contains(64));
+        assertFalse(integerBitSet.contains(-64));
+        assertTrue(integerBitSet.containsNegated(1000));
+        assertFalse(integerBitSet.contains(100000));
+        assertTrue(integerBitSet.remove(-1));
+        assertFalse(integerBitSet.remove(-1));
+        assertFalse(integerBitSet.remove(100000));
+        assertArrayEquals(new int[] {1, 63, 64, -1000}, integerBitSet.get());
+        integerBitSet.clear();
+        assertTrue(integerBitSet.isEmpty());
+    }
+
+    @Test
+    void rejectsInvalidIntegers() {
+        IntegerBitSet integerBitSet = new IntegerBitSet();
+        assertThrows(IllegalArgumentException.class, () -> integerBitSet.add(0));
+        assertThrows(IllegalArgumentException.class, () -> integerBitSet.add(Integer.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> IntegerBitSet.of(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> IntegerBitSet.of(Integer.MIN_VALUE));
+        assertFalse(integerBitSet.contains(0));
+        assertFalse(integerBitSet.contains(Integer.MIN_VALUE));
+        assertFalse(integerBitSet.contains(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void orderedByAbsoluteValue() {
+        IntegerBitSet integerBitSet = IntegerBitSet.of(5, -3, 3, -7, 1);
+        assertArrayEquals(new int[] {1, -3, 3, 5, -7}, integerBitSet.get());
+        assertArrayEquals(new int[] {1, 3, 5}, integerBitSet.getPositiveValues());
+        assertArrayEquals(new int[] {-3, -7}, integerBitSet.getNegativeValues());
+        assertEquals(new IntegerList(1, -3, 3, 5, -7), integerBitSet.toIntegerList());
+        assertEquals(integerBitSet, IntegerBitSet.of(integerBitSet.toIntegerList()));
+        assertEquals(IntegerBitSet.of(-5, 3, -3, 7, -1), integerBitSet.negate());
+    }
+
+    @Test
+    void operationsOnSets() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            int[] first = randomLiterals(random, 1 + random.nextInt(200));
+            int[] second = randomLiterals(random, 1 + random.nextInt(200));
+            IntegerBitSet firstSet = IntegerBitSet.of(first);
+            IntegerBitSet secondSet = IntegerBitSet.of(second);
+            Set<Integer> firstReference = toSet(first);
+            Set<Integer> secondReference = toSet(second);
+            assertEquals(firstReference.size(), firstSet.size());
+            assertEquals(firstReference.containsAll(secondReference), firstSet.containsAll(secondSet));
+            assertEquals(firstReference.containsAll(secondReference), firstSet.containsAll(second));
+            assertEquals(
+                    secondReference.stream().anyMatch(firstReference::contains), firstSet.containsAny(secondSet));
+            assertEquals(
+                    secondReference.stream().anyMatch(integer -> firstReference.contains(-integer)),
+                    firstSet.containsAnyNegated(secondSet));
+            assertEquals(
+                    firstSet.containsAnyNegated(secondSet), firstSet.containsAnyNegated(new IntegerList(second)));
+            Set<Integer> intersection = new TreeSet<>(firstReference);
+            intersection.retainAll(secondReference);
+            assertEquals(intersection, toSet(firstSet.retainAll(secondSet).get()));
+            assertArrayEquals(
+                    Arrays.stream(second).filter(firstReference::contains).toArray(), firstSet.retainAll(second));
+            IntegerBitSet copy = new IntegerBitSet(firstSet);
+            copy.addAll(second);
+            assertTrue(copy.containsAll(firstSet));
+            assertTrue(copy.containsAll(secondSet));
+        }
+    }
+
+    @Test
+    void equalityIgnoresCapacity() {
+        IntegerBitSet small = IntegerBitSet.of(1, -2);
+        IntegerBitSet large = new IntegerBitSet(10000);
+        large.addAll(1, -2);
+        assertEquals(small, large);
+        assertEquals(small.hashCode(), large.hashCode());
+        large.add(5000);
+        assertFalse(small.equals(large));
+        assertTrue(large.containsAll(small));
+        assertFalse(small.containsAll(large));
+    }
+
+    private static int[] randomLiterals(Random random, int size) {
+        int[] literals = new int[size];
+        for (int i = 0; i < size; i++) {
+            literals[i] = (1 + random.nextInt(300)) * (random.nextBoolean() ? 1 : -1);
+        }
+        return literals;
+    }
+
+    private static Set<Integer> toSet(int[] integers) {
+        Set<Integer> set = new TreeSet<>();
+        Arrays.stream(integers).forEach(set::add);
+        return set;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IntegerKernelsTest {
+
+    public static class UnrolledKernels extends IntegerKernels {
+        public UnrolledKernels() {}
+
+        @Override
+        public int indexOf(int[] integers, int start, int end, int integer) {
+            int i = start;
+            for (; i + 1 < end; i += 2) {
+                if (integers[i] == integer) {
+                    return i;
+                }
+                if (integers[i + 1] == integer) {
+                    return i + 1;
+                }
+            }
+            return i < end && integers[i] == integer ? i : -1;
+        }
+    }
+
+    private static final int[] EXTREME_VALUES = {0, Integer.MIN_VALUE, -1, 1, Integer.MAX_VALUE, 0, -Integer.MAX_VALUE};
+
+    private static void checkKernels(IntegerKernels kernels, int[] integers) {
+        assertEquals(Arrays.stream(integers).filter(i -> i > 0).count(), kernels.countPositives(integers));
+        assertEquals(Arrays.stream(integers).filter(i -> i < 0).count(), kernels.countNegatives(integers));
+        assertEquals(Arrays.stream(integers).filter(i -> i != 0).count(), kernels.countNonZero(integers));
+        assertArrayEquals(Arrays.stream(integers).map(i -> -i).toArray(), kernels.negate(integers));
+        assertArrayEquals(Arrays.stream(integers).map(Math::abs).toArray(), kernels.abs(integers));
+        for (int start = 0; start <= integers.length; start++) {
+            for (int end = start; end <= integers.length; end++) {
+                int[] range = Arrays.copyOfRange(integers, start, end);
+                assertEquals(
+                        Arrays.stream(range).filter(i -> i > 0).count(), kernels.countPositives(integers, start, end));
+                assertEquals(
+                        Arrays.stream(range).filter(i -> i < 0).count(), kernels.countNegatives(integers, start, end));
+                assertEquals(
+                        Arrays.stream(range).filter(i -> i != 0).count(), kernels.countNonZero(integers, start, end));
+                for (int integer : EXTREME_VALUES) {
+                    int index = -1;
+                    for (int i = start; i < end && index < 0; i++) {
+                        if (integers[i] == integer) {
+                            index = i;
+                        }
+                    }
+                    assertEquals(index, kernels.indexOf(integers, start, end, integer));
+                }
+            }
+        }
+    }
+
+    @Test
+    void scalarKernelsByDefault() {
+        assertSame(IntegerKernels.class, IntegerKernels.get().getClass());
+    }
+
+    @Test
+    void extremeValues() {
+        checkKernels(IntegerKernels.get(), EXTREME_VALUES);
+        checkKernels(IntegerKernels.get(), new int[0]);
+    }
+
+    @Test
+    void randomValues() {
+        Random random = new Random(1);
+        for (int i = 0; i < 20; i++) {
+            checkKernels(IntegerKernels.get(), random.ints(random.nextInt(40), -3, 3).toArray());
+        }
+    }
+
+    @Test
+    void countContained() {
+        IntegerKernels kernels = IntegerKernels.get();
+        assertEquals(3, kernels.countContained(new int[] {0, Integer.MIN_VALUE, 2, 2}, new int[] {2, 0, 5}));
+        assertEquals(3, kernels.countContained(EXTREME_VALUES, new int[] {0, Integer.MAX_VALUE}));
+        assertEquals(0, kernels.countContained(new int[0], EXTREME_VALUES));
+        assertEquals(0, kernels.countContained(EXTREME_VALUES, new int[0]));
+    }
+
+    @Test
+    void loadsSubclass() {
+        IntegerKernels kernels = IntegerKernels.load(UnrolledKernels.class.getName(), true);
+        assertSame(UnrolledKernels.class, kernels.getClass());
+        checkKernels(kernels, EXTREME_VALUES);
+        checkKernels(kernels, new Random(1).ints(31, -3, 3).toArray());
+    }
+
+    @Test
+    void loadsSubclassNamedInProperty() {
+        String className = System.getProperty(IntegerKernels.KERNELS_PROPERTY);
+        try {
+            System.setProperty(IntegerKernels.KERNELS_PROPERTY, UnrolledKernels.class.getName());
+            boolean isVectorModulePresent =
+                    ModuleLayer.boot().findModule(IntegerKernels.VECTOR_MODULE).isPresent();
+            assertSame(
+                    isVectorModulePresent ? UnrolledKernels.class : IntegerKernels.class,
+                    IntegerKernels.load().getClass());
+            System.clearProperty(IntegerKernels.KERNELS_PROPERTY);
+            assertSame(IntegerKernels.class, IntegerKernels.load().getClass());
+        } finally {
+            if (className != null) {
+                System.setProperty(IntegerKernels.KERNELS_PROPERTY, className);
+            } else {
+                System.clearProperty(IntegerKernels.KERNELS_PROPERTY);
+            }
+        }
+    }
+
+    @Test
+    void fallsBackToScalarKernels() {
+        assertSame(
+                IntegerKernels.class,
+                IntegerKernels.load(UnrolledKernels.class.getName(), false).getClass());
+        assertSame(IntegerKernels.class, IntegerKernels.load(null, true).getClass());
+        assertSame(
+                IntegerKernels.class,
+                IntegerKernels.load("de.featjar.base.data.MissingKernels", true).getClass());
+        assertSame(IntegerKernels.class, IntegerKernels.load(String.class.getName(), true).getClass());
+    }
+}
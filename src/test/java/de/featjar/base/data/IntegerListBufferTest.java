@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IntegerListBufferTest {
+
+    private static List<int[]> randomLists(Random random, int count, int maximumSize) {
+        List<int[]> lists = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lists.add(random.ints(random.nextInt(maximumSize + 1)).toArray());
+        }
+        lists.add(Arrays.copyOf(new int[] {Integer.MIN_VALUE, 0, Integer.MAX_VALUE}, Math.min(3, maximumSize)));
+        lists.add(new int[0]);
+        return lists;
+    }
+
+    private static IntegerListBuffer build(List<int[]> lists, int segmentCapacity, int offsetSegmentCapacity) {
+        IntegerListBuffer.Builder builder = new IntegerListBuffer.Builder(segmentCapacity, offsetSegmentCapacity);
+        lists.forEach(builder::add);
+        return builder.build();
+    }
+
+    private static void checkBuffer(IntegerListBuffer buffer, List<int[]> lists) {
+        assertEquals(lists.size(), buffer.size());
+        assertEquals(lists.stream().mapToLong(list -> list.length).sum(), buffer.getTotalSize());
+        for (int i = 0; i < lists.size(); i++) {
+            assertEquals(lists.get(i).length, buffer.sizeOf(i));
+            assertArrayEquals(lists.get(i), buffer.getView(i).copy());
+            assertEquals(new IntegerList(lists.get(i)), buffer.getIntegerList(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getView(lists.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.sizeOf(-1));
+    }
+
+    private static IntegerListBuffer saveAndMap(IntegerListBuffer buffer, Path path) throws IOException {
+        buffer.save(path);
+        return IntegerListBuffer.map(path);
+    }
+
+    @Test
+    void defaultCapacities() {
+        List<int[]> lists = randomLists(new Random(1), 100, 20);
+        checkBuffer(build(lists, IntegerListBuffer.DEFAULT_SEGMENT_CAPACITY, 1 << 10), lists);
+        IntegerListBuffer.Builder builder = new IntegerListBuffer.Builder();
+        lists.forEach(list -> builder.add(new IntegerList(list)));
+        checkBuffer(builder.build(), lists);
+        List<IntegerList> integerLists = new ArrayList<>();
+        lists.forEach(list -> integerLists.add(new IntegerList(list)));
+        checkBuffer(IntegerListBuffer.of(integerLists), lists);
+    }
+
+    @Test
+    void segmentBoundaries() {
+        Random random = new Random(2);
+        for (int segmentCapacity : new int[] {1, 3, 8}) {
+            for (int offsetSegmentCapacity : new int[] {1, 2, 4, 16}) {
+                List<int[]> lists = randomLists(random, 50, segmentCapacity);
+                lists.add(new int[segmentCapacity]);
+                lists.add(new int[0]);
+                checkBuffer(build(lists, segmentCapacity, offsetSegmentCapacity), lists);
+            }
+        }
+    }
+
+    @Test
+    void emptyBuffer() throws IOException {
+        IntegerListBuffer buffer = new IntegerListBuffer.Builder(4, 2).build();
+        checkBuffer(buffer, List.of());
+        Path path = Files.createTempFile("buffer", ".bin");
+        try {
+            checkBuffer(saveAndMap(buffer, path), List.of());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void saveAndMap() throws IOException {
+        Random random = new Random(3);
+        Path path = Files.createTempFile("buffer", ".bin");
+        try {
+            List<int[]> lists = randomLists(random, 2000, 7);
+            checkBuffer(saveAndMap(build(lists, 7, 4), path), lists);
+            lists = randomLists(random, 20, 50000);
+            checkBuffer(saveAndMap(build(lists, 50000, 1 << 10), path), lists);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void invalidFiles() throws IOException {
+        Path path = Files.createTempFile("buffer", ".bin");
+        try {
+            Files.write(path, new byte[] {1, 2, 3});
+            assertThrows(IOException.class, () -> IntegerListBuffer.map(path));
+
+            build(List.of(new int[] {1, 2}, new int[] {3}), 4, 2).save(path);
+            byte[] bytes = Files.readAllBytes(path);
+            Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+            assertThrows(IOException.class, () -> IntegerListBuffer.map(path));
+
+            ByteBuffer header = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(8, -1);
+            Files.write(path, bytes);
+            assertThrows(IOException.class, () -> IntegerListBuffer.map(path));
+            header.putInt(8, Integer.MAX_VALUE);
+            Files.write(path, bytes);
+            assertThrows(IOException.class, () -> IntegerListBuffer.map(path));
+            header.putInt(8, 1000);
+            Files.write(path, bytes);
+            assertThrows(IOException.class, () -> IntegerListBuffer.map(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void invalidCapacities() {
+        assertThrows(IllegalArgumentException.class, () -> new IntegerListBuffer.Builder(0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new IntegerListBuffer.Builder(IntegerListBuffer.DEFAULT_SEGMENT_CAPACITY + 1));
+        assertThrows(IllegalArgumentException.class, () -> new IntegerListBuffer.Builder(4, 3));
+        assertThrows(IllegalArgumentException.class, () -> new IntegerListBuffer.Builder(4, 0));
+        assertThrows(IllegalArgumentException.class, () -> new IntegerListBuffer.Builder(4, 2).add(1, 2, 3, 4, 5));
+    }
+}
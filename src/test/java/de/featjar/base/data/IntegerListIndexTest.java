@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class IntegerListIndexTest {
+
+    private static boolean isSubset(IntegerList subset, IntegerList superset) {
+        return subset.stream().allMatch(superset::contains);
+    }
+
+    @Test
+    void subsetsAndSupersets() {
+        IntegerListIndex<IntegerList> index = new IntegerListIndex<>();
+        IntegerList first = new IntegerList(1, -2, 3);
+        IntegerList second = new IntegerList(-2, 3);
+        IntegerList third = new IntegerList(3, 3, 0, Integer.MIN_VALUE);
+        IntegerList empty = new IntegerList();
+        assertEquals(0, index.add(first));
+        assertEquals(1, index.add(second));
+        assertEquals(2, index.add(third));
+        assertEquals(3, index.add(empty));
+        assertEquals(4, index.size());
+        assertArrayEquals(new int[] {0, 1}, index.getSupersetIdentifiers(new IntegerList(3, -2)));
+        assertArrayEquals(new int[] {2}, index.getSupersetIdentifiers(new IntegerList(Integer.MIN_VALUE, 0, 0)));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, index.getSupersetIdentifiers(empty));
+        assertArrayEquals(new int[0], index.getSupersetIdentifiers(new IntegerList(4)));
+        assertArrayEquals(new int[] {1, 3}, index.getSubsetIdentifiers(new IntegerList(3, -2, 5)));
+        assertArrayEquals(new int[] {2, 3}, index.getSubsetIdentifiers(new IntegerList(0, 3, Integer.MIN_VALUE)));
+        assertArrayEquals(new int[] {3}, index.getSubsetIdentifiers(empty));
+        assertEquals(List.of(first, second), index.getSupersets(new IntegerList(-2)));
+        assertEquals(List.of(second, empty), index.getSubsets(second));
+        assertTrue(index.containsSubset(new IntegerList(7)));
+        assertTrue(index.containsSuperset(new IntegerList(1)));
+        assertFalse(index.containsSuperset(new IntegerList(1, 0)));
+    }
+
+    @Test
+    void removal() {
+        IntegerListIndex<IntegerList> index = new IntegerListIndex<>();
+        index.add(new IntegerList(1, 2));
+        index.add(new IntegerList());
+        index.add(new IntegerList(2, 1));
+        assertTrue(index.remove(1));
+        assertFalse(index.remove(1));
+        assertFalse(index.remove(5));
+        assertFalse(index.remove(-1));
+        assertFalse(index.get(1).isPresent());
+        assertEquals(new IntegerList(2, 1), index.get(2).get());
+        assertFalse(index.containsSubset(new IntegerList(3)));
+        assertTrue(index.remove(new IntegerList(2, 1)));
+        assertFalse(index.remove(new IntegerList(2, 1)));
+        assertArrayEquals(new int[] {0}, index.getSupersetIdentifiers(new IntegerList(1)));
+        assertArrayEquals(new int[] {0}, index.getSupersetIdentifiers(new IntegerList()));
+        assertEquals(1, index.size());
+        assertEquals(3, index.add(new IntegerList(2)));
+        assertArrayEquals(new int[] {0, 3}, index.getSubsetIdentifiers(new IntegerList(1, 2)));
+    }
+
+    @Test
+    void randomQueries() {
+        Random random = new Random(1);
+        IntegerListIndex<IntegerList> index = new IntegerListIndex<>();
+        List<IntegerList> lists = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            IntegerList integerList = new IntegerList(random.ints(random.nextInt(6), -10, 10).toArray());
+            lists.add(integerList);
+            assertEquals(i, index.add(integerList));
+        }
+        for (int i = 0; i < 100; i++) {
+            int identifier = random.nextInt(lists.size());
+            assertEquals(lists.get(identifier) != null, index.remove(identifier));
+            lists.set(identifier, null);
+        }
+        for (int i = 0; i < 300; i++) {
+            IntegerList query = new IntegerList(random.ints(random.nextInt(10), -10, 10).toArray());
+            int[] supersets = IntStream.range(0, lists.size())
+                    .filter(j -> lists.get(j) != null && isSubset(query, lists.get(j)))
+                    .toArray();
+            int[] subsets = IntStream.range(0, lists.size())
+                    .filter(j -> lists.get(j) != null && isSubset(lists.get(j), query))
+                    .toArray();
+            assertArrayEquals(supersets, index.getSupersetIdentifiers(query));
+            assertArrayEquals(subsets, index.getSubsetIdentifiers(query));
+            assertEquals(supersets.length > 0, index.containsSuperset(query));
+            assertEquals(subsets.length > 0, index.containsSubset(query));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class IntegerListTest {
+
+    private static boolean contains(int[] integers, int integer) {
+        return Arrays.stream(integers).anyMatch(i -> i == integer);
+    }
+
+    private static void checkSetOperations(int[] elements, int[] integers) {
+        IntegerList integerList = new IntegerList(elements);
+        int[] retained = Arrays.stream(elements).filter(e -> contains(integers, e)).toArray();
+        int[] removed = Arrays.stream(elements).filter(e -> !contains(integers, e)).toArray();
+        int intersection = (int) Arrays.stream(integers).filter(i -> contains(elements, i)).count();
+        assertArrayEquals(retained, integerList.retainAll(integers));
+        assertArrayEquals(removed, integerList.removeAll(integers));
+        assertEquals(intersection, integerList.sizeOfIntersection(integers));
+        assertEquals(integers.length - intersection, integerList.sizeOfDisjoint(integers));
+        assertEquals(intersection == integers.length, integerList.containsAll(integers));
+        assertEquals(intersection > 0, integerList.containsAny(integers));
+        assertEquals(intersection == 0, integerList.containsNone(integers));
+    }
+
+    private static int[] random(Random random, int size, int bound) {
+        return random.ints(size, -bound, bound).toArray();
+    }
+
+    @Test
+    void setOperationsOnSmallLists() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            checkSetOperations(random(random, 8, 10), random(random, 12, 10));
+        }
+    }
+
+    @Test
+    void setOperationsOnSortedLists() {
+        Random random = new Random(2);
+        for (int i = 0; i < 20; i++) {
+            int[] elements = random(random, 200, 1000);
+            int[] integers = random(random, 300, 1000);
+            Arrays.sort(elements);
+            Arrays.sort(integers);
+            checkSetOperations(elements, integers);
+        }
+    }
+
+    @Test
+    void setOperationsOnDenseLists() {
+        Random random = new Random(3);
+        for (int i = 0; i < 20; i++) {
+            checkSetOperations(random(random, 200, 500), random(random, 300, 500));
+        }
+    }
+
+    @Test
+    void setOperationsOnSparseLists() {
+        Random random = new Random(4);
+        for (int i = 0; i < 20; i++) {
+            int[] elements = random.ints(200).toArray();
+            int[] integers = random.ints(300).toArray();
+            elements[0] = Integer.MIN_VALUE;
+            elements[1] = Integer.MAX_VALUE;
+            elements[2] = 0;
+            integers[0] = Integer.MIN_VALUE;
+            integers[1] = 0;
+            System.arraycopy(elements, 100, integers, 100, 50);
+            checkSetOperations(elements, integers);
+        }
+    }
+
+    @Test
+    void setOperationsWithExtremeValues() {
+        int[] elements = new int[300];
+        int[] integers = new int[300];
+        for (int i = 0; i < 300; i++) {
+            elements[i] = Integer.MIN_VALUE + 2 * i;
+            integers[i] = Integer.MIN_VALUE + 3 * i;
+        }
+        checkSetOperations(elements, integers);
+        for (int i = 0; i < 300; i++) {
+            elements[i] = Integer.MAX_VALUE - 2 * i;
+            integers[i] = Integer.MAX_VALUE - 3 * i;
+        }
+        checkSetOperations(elements, integers);
+    }
+
+    @Test
+    void setOperationsOnEmptyLists() {
+        checkSetOperations(new int[0], new int[0]);
+        checkSetOperations(new int[0], new int[] {0, 1, -1});
+        checkSetOperations(new int[] {0, 1, -1}, new int[0]);
+        assertTrue(new IntegerList().isEmpty());
+        assertTrue(new IntegerList(1, 2).containsAll());
+        assertFalse(new IntegerList(1, 2).containsAny());
+    }
+
+    @Test
+    void mergeKeepsFirstOccurrences() {
+        List<IntegerList> integerLists = List.of(
+                new IntegerList(3, -1, 0),
+                new IntegerList(),
+                new IntegerList(-1, Integer.MIN_VALUE, 3, Integer.MAX_VALUE),
+                new IntegerList(0, Integer.MIN_VALUE, 2));
+        assertArrayEquals(
+                new int[] {3, -1, 0, Integer.MIN_VALUE, Integer.MAX_VALUE, 2}, IntegerList.merge(integerLists));
+        assertArrayEquals(new int[0], IntegerList.merge(List.of()));
+        assertArrayEquals(new int[0], IntegerList.mergeInt(List.of(new int[0], new int[0])));
+    }
+
+    @Test
+    void mergeLargeLists() {
+        Random random = new Random(5);
+        List<int[]> integerLists = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            integerLists.add(random.ints(1000, -100000, 100000).toArray());
+        }
+        int[] expected = integerLists.stream().flatMapToInt(Arrays::stream).distinct().toArray();
+        assertArrayEquals(expected, IntegerList.mergeInt(integerLists));
+    }
+
+    @Test
+    void mergeParallel() {
+        Random random = new Random(6);
+        List<IntegerList> integerLists = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            integerLists.add(new IntegerList(random.ints(500, -5000, 5000).toArray()));
+        }
+        integerLists.add(new IntegerList(0, Integer.MIN_VALUE));
+        integerLists.add(new IntegerList());
+        int[] expected = integerLists.stream()
+                .flatMapToInt(IntegerList::stream)
+                .distinct()
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer integer) -> Math.abs((long) integer))
+                        .thenComparingInt(integer -> integer))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        assertArrayEquals(expected, IntegerList.mergeParallel(integerLists));
+        assertArrayEquals(
+                expected,
+                IntegerList.mergeParallelInt(
+                        integerLists.stream().map(IntegerList::get).collect(Collectors.toList())));
+        assertArrayEquals(new int[0], IntegerList.mergeParallel(List.of()));
+        assertArrayEquals(new int[0], IntegerList.mergeParallel(List.of(new IntegerList())));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import org.junit.jupiter.api.Test;
+
+class IntegerListViewTest {
+
+    private static final int[] ARRAY = {7, 0, -1, 2, Integer.MIN_VALUE, -1, 3, Integer.MAX_VALUE};
+
+    private static IntegerListView directView(int[] integers) {
+        IntBuffer buffer = ByteBuffer.allocateDirect(integers.length * Integer.BYTES).asIntBuffer();
+        buffer.put(integers).flip();
+        return new IntegerListView(buffer);
+    }
+
+    private static void checkView(IntegerListView view, int[] integers) {
+        assertEquals(integers.length, view.size());
+        assertEquals(integers.length == 0, view.isEmpty());
+        assertArrayEquals(integers, view.copy());
+        assertArrayEquals(integers, view.stream().toArray());
+        assertEquals(new IntegerList(integers), view.toIntegerList());
+        assertEquals(new IntegerList(integers).hashCode(), view.hashCode());
+        int positives = 0;
+        int negatives = 0;
+        for (int i = 0; i < integers.length; i++) {
+            assertEquals(integers[i], view.get(i));
+            assertEquals(new IntegerList(integers).indexOf(integers[i]), view.indexOf(integers[i]));
+            positives += integers[i] > 0 ? 1 : 0;
+            negatives += integers[i] < 0 ? 1 : 0;
+        }
+        assertEquals(positives, view.countPositives());
+        assertEquals(negatives, view.countNegatives());
+        assertEquals(-1, view.indexOf(5));
+        assertTrue(view.containsAll());
+    }
+
+    @Test
+    void arrayViews() {
+        checkView(new IntegerListView(ARRAY), ARRAY);
+        checkView(new IntegerListView(ARRAY, 2, 4), new int[] {-1, 2, Integer.MIN_VALUE, -1});
+        checkView(new IntegerListView(ARRAY, 8, 0), new int[0]);
+        checkView(new IntegerListView(new IntegerList(ARRAY)), ARRAY);
+        checkView(new IntegerListView(IntBuffer.wrap(ARRAY, 3, 4)), new int[] {2, Integer.MIN_VALUE, -1, 3});
+    }
+
+    @Test
+    void directViews() {
+        checkView(directView(ARRAY), ARRAY);
+        checkView(directView(new int[0]), new int[0]);
+        checkView(directView(ARRAY).subView(1, 5), new int[] {0, -1, 2, Integer.MIN_VALUE});
+    }
+
+    @Test
+    void subViews() {
+        IntegerListView view = new IntegerListView(ARRAY, 1, 6);
+        IntegerListView subView = view.subView(2, 5);
+        checkView(subView, new int[] {2, Integer.MIN_VALUE, -1});
+        assertEquals(1, subView.indexOf(Integer.MIN_VALUE));
+        assertEquals(2, subView.indexOf(-1));
+        assertFalse(subView.contains(7));
+        assertTrue(subView.containsNegated(1));
+        checkView(subView.subView(1, 1), new int[0]);
+        checkView(view.subView(0, 6).subView(5, 6), new int[] {3});
+    }
+
+    @Test
+    void equality() {
+        IntegerListView view = new IntegerListView(ARRAY, 2, 3);
+        assertEquals(view, new IntegerListView(-1, 2, Integer.MIN_VALUE));
+        assertEquals(view, directView(new int[] {-1, 2, Integer.MIN_VALUE}));
+        assertEquals(view, new IntegerListView(ARRAY).subView(2, 5));
+        assertFalse(view.equals(new IntegerListView(ARRAY, 2, 2)));
+        assertFalse(view.equals(new IntegerList(-1, 2, Integer.MIN_VALUE)));
+    }
+
+    @Test
+    void invalidRanges() {
+        assertThrows(IndexOutOfBoundsException.class, () -> new IntegerListView(ARRAY, 5, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> new IntegerListView(ARRAY, -1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> new IntegerListView(ARRAY).subView(3, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> new IntegerListView(ARRAY, 0, 2).subView(0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> new IntegerListView(ARRAY, 0, 2).get(2));
+    }
+}
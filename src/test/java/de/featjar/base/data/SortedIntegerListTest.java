@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SortedIntegerListTest {
+
+    private static final int[] EXTREME_VALUES = {Integer.MAX_VALUE, 0, -1, Integer.MIN_VALUE, 1, 0, Integer.MAX_VALUE};
+
+    @Test
+    void sortsACopy() {
+        int[] array = {3, -1, 2};
+        SortedIntegerList sortedIntegerList = new SortedIntegerList(array);
+        assertArrayEquals(new int[] {-1, 2, 3}, sortedIntegerList.get());
+        assertArrayEquals(new int[] {3, -1, 2}, array);
+        assertArrayEquals(new int[] {-1, 2, 3}, new SortedIntegerList(new IntegerList(array)).get());
+    }
+
+    @Test
+    void indexOf() {
+        SortedIntegerList sortedIntegerList = new SortedIntegerList(EXTREME_VALUES);
+        assertEquals(0, sortedIntegerList.indexOf(Integer.MIN_VALUE));
+        assertEquals(1, sortedIntegerList.indexOf(-1));
+        assertEquals(4, sortedIntegerList.indexOf(1));
+        assertEquals(-1, sortedIntegerList.indexOf(2));
+        assertEquals(-1, sortedIntegerList.indexOf(Integer.MAX_VALUE - 1));
+        assertArrayEquals(new int[] {2, 3}, sortedIntegerList.indicesOf(0));
+        assertArrayEquals(new int[] {5, 6}, sortedIntegerList.indicesOf(Integer.MAX_VALUE));
+        assertArrayEquals(new int[] {0}, sortedIntegerList.indicesOf(Integer.MIN_VALUE));
+        assertArrayEquals(new int[0], sortedIntegerList.indicesOf(5));
+        assertEquals(-1, new SortedIntegerList().indexOf(0));
+        assertArrayEquals(new int[0], new SortedIntegerList().indicesOf(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void gallop() {
+        Random random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            int[] array = random.ints(random.nextInt(100), -50, 50).sorted().toArray();
+            int start = array.length == 0 ? 0 : random.nextInt(array.length + 1);
+            int end = start + random.nextInt(array.length - start + 1);
+            int integer = random.nextInt(120) - 60;
+            int expected = start;
+            while (expected < end && array[expected] < integer) {
+                expected++;
+            }
+            assertEquals(expected, SortedIntegerList.gallop(array, start, end, integer));
+            assertEquals(expected, SortedIntegerList.lowerBound(array, start, end, integer));
+            if (end == array.length) {
+                assertEquals(expected, SortedIntegerList.gallop(array, start, integer));
+            }
+        }
+    }
+
+    @Test
+    void subsetTests() {
+        Random random = new Random(2);
+        for (int i = 0; i < 500; i++) {
+            int[] first = random.ints(random.nextInt(60), -30, 30).toArray();
+            int[] second = random.ints(random.nextInt(8), -30, 30).toArray();
+            SortedIntegerList firstList = new SortedIntegerList(first);
+            SortedIntegerList secondList = new SortedIntegerList(second);
+            boolean containsAll = Arrays.stream(second).allMatch(integer -> firstList.indexOf(integer) >= 0);
+            boolean containsAny = Arrays.stream(second).anyMatch(integer -> firstList.indexOf(integer) >= 0);
+            assertEquals(containsAll, firstList.containsAll(secondList));
+            assertEquals(containsAll, secondList.isSubsetOf(firstList));
+            assertEquals(containsAll, new IntegerList(first).containsAll(second));
+            assertEquals(containsAny, firstList.containsAny(secondList));
+            assertEquals(containsAny, secondList.containsAny(firstList));
+        }
+    }
+
+    @Test
+    void subsetTestsWithEmptyLists() {
+        SortedIntegerList empty = new SortedIntegerList();
+        SortedIntegerList nonEmpty = new SortedIntegerList(EXTREME_VALUES);
+        assertTrue(empty.containsAll(empty));
+        assertTrue(nonEmpty.containsAll(empty));
+        assertFalse(empty.containsAll(nonEmpty));
+        assertTrue(empty.isSubsetOf(nonEmpty));
+        assertFalse(empty.containsAny(nonEmpty));
+        assertFalse(nonEmpty.containsAny(empty));
+        assertTrue(nonEmpty.containsAll(new SortedIntegerList(Integer.MIN_VALUE, Integer.MAX_VALUE)));
+        assertFalse(nonEmpty.containsAll(new SortedIntegerList(Integer.MIN_VALUE, 2)));
+    }
+
+    @Test
+    void signs() {
+        SortedIntegerList sortedIntegerList = new SortedIntegerList(EXTREME_VALUES);
+        assertEquals(2, sortedIntegerList.countNegatives());
+        assertEquals(3, sortedIntegerList.countPositives());
+        assertEquals(5, sortedIntegerList.countNonZero());
+        assertArrayEquals(new int[] {Integer.MIN_VALUE, -1}, sortedIntegerList.getNegativeValues());
+        assertArrayEquals(new int[] {1, Integer.MAX_VALUE, Integer.MAX_VALUE}, sortedIntegerList.getPositiveValues());
+        assertArrayEquals(new int[] {Integer.MIN_VALUE, -1}, sortedIntegerList.viewOfNegativeValues().copy());
+        assertArrayEquals(
+                new int[] {1, Integer.MAX_VALUE, Integer.MAX_VALUE},
+                sortedIntegerList.viewOfPositiveValues().copy());
+        SortedIntegerList empty = new SortedIntegerList();
+        assertEquals(0, empty.countNonZero());
+        assertEquals(0, empty.viewOfPositiveValues().size());
+    }
+}
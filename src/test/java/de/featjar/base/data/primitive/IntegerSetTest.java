@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class IntegerSetTest {
+
+    static int[] collidingKeys(int count, int capacity, int slot) {
+        int[] keys = new int[count];
+        int j = 0;
+        for (int key = 1; j < count; key++) {
+            if ((IntegerToIntegerMap.hash(key) & (capacity - 1)) == slot) {
+                keys[j++] = key;
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    void zeroAndExtremeValues() {
+        IntegerSet set = new IntegerSet();
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.add(Integer.MIN_VALUE));
+        assertTrue(set.add(Integer.MAX_VALUE));
+        assertTrue(set.add(-1));
+        assertEquals(4, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertFalse(set.contains(1));
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertFalse(set.contains(0));
+        assertTrue(set.remove(Integer.MIN_VALUE));
+        assertFalse(set.contains(Integer.MIN_VALUE));
+        int[] elements = set.toArray();
+        Arrays.sort(elements);
+        assertArrayEquals(new int[] {-1, Integer.MAX_VALUE}, elements);
+    }
+
+    @Test
+    void backwardShiftDeletion() {
+        IntegerSet set = new IntegerSet(4);
+        int capacity = set.keys.length;
+        int[] keys = collidingKeys(3, capacity, capacity - 1);
+        int[] others = collidingKeys(2, capacity, 0);
+        set.addAll(keys);
+        set.addAll(others);
+        assertTrue(set.remove(keys[0]));
+        assertFalse(set.contains(keys[0]));
+        assertTrue(set.contains(keys[1]));
+        assertTrue(set.contains(keys[2]));
+        assertTrue(set.contains(others[0]));
+        assertTrue(set.contains(others[1]));
+        assertTrue(set.remove(others[0]));
+        assertTrue(set.contains(others[1]));
+        assertTrue(set.contains(keys[2]));
+        assertTrue(set.remove(keys[2]));
+        assertTrue(set.contains(keys[1]));
+        assertTrue(set.contains(others[1]));
+        assertEquals(2, set.size());
+        assertEquals(capacity, set.keys.length);
+    }
+
+    @Test
+    void randomOperations() {
+        Random random = new Random(1);
+        IntegerSet set = new IntegerSet();
+        Set<Integer> reference = new HashSet<>();
+        for (int i = 0; i < 100000; i++) {
+            int element = random.nextInt(2000) - 1000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(element), set.remove(element));
+            } else {
+                assertEquals(reference.add(element), set.add(element));
+            }
+            assertEquals(reference.size(), set.size());
+        }
+        for (int element = -1000; element < 1000; element++) {
+            assertEquals(reference.contains(element), set.contains(element));
+        }
+        assertEquals(reference, new HashSet<>(Arrays.asList(set.toIntStream().boxed().toArray(Integer[]::new))));
+    }
+
+    @Test
+    void equality() {
+        IntegerSet set = new IntegerSet(0, Integer.MIN_VALUE, 5);
+        IntegerSet other = new IntegerSet(1000);
+        other.addAll(5, Integer.MIN_VALUE, 0);
+        assertEquals(set, other);
+        assertEquals(set.hashCode(), other.hashCode());
+        other.remove(0);
+        assertFalse(set.equals(other));
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(5));
+        assertEquals(new IntegerSet(), set);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IntegerToIntegerMapTest {
+
+    @Test
+    void zeroAndExtremeKeys() {
+        IntegerToIntegerMap map = new IntegerToIntegerMap();
+        assertEquals(-1, map.get(0, -1));
+        map.put(0, 0);
+        assertTrue(map.containsKey(0));
+        assertEquals(0, map.get(0, -1));
+        map.put(0, 7);
+        map.put(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        map.put(Integer.MAX_VALUE, Integer.MIN_VALUE);
+        assertEquals(3, map.size());
+        assertEquals(7, map.get(0, -1));
+        assertEquals(Integer.MAX_VALUE, map.get(Integer.MIN_VALUE, -1));
+        assertEquals(Integer.MIN_VALUE, map.get(Integer.MAX_VALUE, -1));
+        assertEquals(8, map.addTo(0, 1));
+        assertEquals(3, map.addTo(-5, 3));
+        assertTrue(map.remove(0));
+        assertFalse(map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertTrue(map.remove(Integer.MIN_VALUE));
+        assertFalse(map.containsKey(Integer.MIN_VALUE));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void backwardShiftDeletion() {
+        IntegerToIntegerMap map = new IntegerToIntegerMap(4);
+        int capacity = map.keys.length;
+        int[] keys = IntegerSetTest.collidingKeys(3, capacity, capacity - 1);
+        int[] others = IntegerSetTest.collidingKeys(2, capacity, 0);
+        for (int key : keys) {
+            map.put(key, -key);
+        }
+        for (int key : others) {
+            map.put(key, -key);
+        }
+        assertTrue(map.remove(keys[1]));
+        assertTrue(map.remove(others[0]));
+        assertEquals(-keys[0], map.get(keys[0], 0));
+        assertEquals(-keys[2], map.get(keys[2], 0));
+        assertEquals(-others[1], map.get(others[1], 0));
+        assertFalse(map.containsKey(keys[1]));
+        assertFalse(map.containsKey(others[0]));
+        assertEquals(3, map.size());
+        assertEquals(capacity, map.keys.length);
+    }
+
+    @Test
+    void randomOperations() {
+        Random random = new Random(1);
+        IntegerToIntegerMap map = new IntegerToIntegerMap();
+        Map<Integer, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(2000) - 1000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key) != null, map.remove(key));
+            } else {
+                int value = random.nextInt();
+                reference.put(key, value);
+                map.put(key, value);
+            }
+            assertEquals(reference.size(), map.size());
+        }
+        for (int key = -1000; key < 1000; key++) {
+            assertEquals((int) reference.getOrDefault(key, 42), map.get(key, 42));
+        }
+        assertEquals(reference.size(), map.keys().length);
+        for (int key : map.keys()) {
+            assertTrue(reference.containsKey(key));
+        }
+    }
+
+    @Test
+    void equality() {
+        IntegerToIntegerMap map = new IntegerToIntegerMap();
+        IntegerToIntegerMap other = new IntegerToIntegerMap(1000);
+        map.put(0, 1);
+        map.put(Integer.MIN_VALUE, 2);
+        other.put(Integer.MIN_VALUE, 2);
+        other.put(0, 1);
+        assertEquals(map, other);
+        assertEquals(map.hashCode(), other.hashCode());
+        other.put(0, 3);
+        assertFalse(map.equals(other));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(Integer.MIN_VALUE));
+        assertEquals(new IntegerToIntegerMap(), map);
+    }
+
+    @Test
+    void capacity() {
+        assertEquals(IntegerToIntegerMap.MAXIMUM_CAPACITY, IntegerToIntegerMap.capacity(1 << 29));
+        assertEquals(IntegerToIntegerMap.MAXIMUM_CAPACITY, IntegerToIntegerMap.capacity(Integer.MAX_VALUE));
+        for (int expectedSize = 0; expectedSize < 1000; expectedSize++) {
+            int capacity = IntegerToIntegerMap.capacity(expectedSize);
+            assertEquals(1, Integer.bitCount(capacity));
+            assertFalse(IntegerToIntegerMap.isFull(expectedSize, capacity));
+        }
+        assertTrue(IntegerToIntegerMap.isFull(7, 8));
+        assertFalse(IntegerToIntegerMap.isFull(6, 8));
+        assertFalse(IntegerToIntegerMap.isFull(
+                IntegerToIntegerMap.MAXIMUM_CAPACITY / 4 * 3, IntegerToIntegerMap.MAXIMUM_CAPACITY));
+        assertEquals(16, IntegerToIntegerMap.grow(8));
+        assertThrows(
+                IllegalStateException.class, () -> IntegerToIntegerMap.grow(IntegerToIntegerMap.MAXIMUM_CAPACITY));
+    }
+}
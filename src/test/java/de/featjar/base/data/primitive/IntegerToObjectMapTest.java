@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2024 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-base.
+ *
+ * base is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * base is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with base. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-base> for further information.
+ */
+package de.featjar.base.data.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IntegerToObjectMapTest {
+
+    @Test
+    void zeroAndExtremeKeys() {
+        IntegerToObjectMap<String> map = new IntegerToObjectMap<>();
+        assertNull(map.get(0));
+        assertNull(map.put(0, "zero"));
+        assertEquals("zero", map.put(0, "0"));
+        assertNull(map.put(Integer.MIN_VALUE, "min"));
+        assertNull(map.put(Integer.MAX_VALUE, "max"));
+        assertEquals(3, map.size());
+        assertEquals("0", map.get(0));
+        assertEquals("min", map.get(Integer.MIN_VALUE));
+        assertEquals("max", map.computeIfAbsent(Integer.MAX_VALUE, key -> "other"));
+        assertEquals("-1", map.computeIfAbsent(-1, String::valueOf));
+        assertEquals("0", map.remove(0));
+        assertNull(map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals("min", map.remove(Integer.MIN_VALUE));
+        assertFalse(map.containsKey(Integer.MIN_VALUE));
+        assertEquals(2, map.size());
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    void backwardShiftDeletion() {
+        IntegerToObjectMap<Integer> map = new IntegerToObjectMap<>(4);
+        int capacity = map.keys.length;
+        int[] keys = IntegerSetTest.collidingKeys(3, capacity, capacity - 1);
+        int[] others = IntegerSetTest.collidingKeys(2, capacity, 0);
+        for (int key : keys) {
+            map.put(key, -key);
+        }
+        for (int key : others) {
+            map.put(key, -key);
+        }
+        assertEquals(-keys[0], (int) map.remove(keys[0]));
+        assertEquals(-keys[1], (int) map.get(keys[1]));
+        assertEquals(-keys[2], (int) map.get(keys[2]));
+        assertEquals(-others[0], (int) map.get(others[0]));
+        assertEquals(-others[1], (int) map.remove(others[1]));
+        assertEquals(-others[0], (int) map.get(others[0]));
+        assertEquals(3, map.size());
+        assertEquals(3, map.values().size());
+        assertEquals(capacity, map.keys.length);
+        int occupied = 0;
+        for (int i = 0; i < capacity; i++) {
+            assertEquals(map.keys[i] == 0, map.values[i] == null);
+            occupied += map.keys[i] != 0 ? 1 : 0;
+        }
+        assertEquals(3, occupied);
+    }
+
+    @Test
+    void randomOperations() {
+        Random random = new Random(1);
+        IntegerToObjectMap<Integer> map = new IntegerToObjectMap<>();
+        Map<Integer, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(2000) - 1000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), map.remove(key));
+            } else {
+                int value = random.nextInt();
+                assertEquals(reference.put(key, value), map.put(key, value));
+            }
+            assertEquals(reference.size(), map.size());
+        }
+        for (int key = -1000; key < 1000; key++) {
+            assertEquals(reference.get(key), map.get(key));
+        }
+        assertEquals(reference.size(), map.keys().length);
+        assertEquals(new HashSet<>(reference.values()), new HashSet<>(map.values()));
+    }
+
+    @Test
+    void equality() {
+        IntegerToObjectMap<String> map = new IntegerToObjectMap<>();
+        IntegerToObjectMap<String> other = new IntegerToObjectMap<>(1000);
+        map.put(0, "a");
+        map.put(Integer.MIN_VALUE, "b");
+        other.put(Integer.MIN_VALUE, "b");
+        other.put(0, "a");
+        assertEquals(map, other);
+        assertEquals(map.hashCode(), other.hashCode());
+        other.put(0, "c");
+        assertFalse(map.equals(other));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(Integer.MIN_VALUE));
+        assertEquals(new IntegerToObjectMap<String>(), map);
+    }
+}